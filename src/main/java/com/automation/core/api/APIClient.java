@@ -1,25 +1,46 @@
 package com.automation.core.api;
 
+import com.automation.core.api.replay.ApiReplay;
 import com.automation.core.config.ConfigManager;
+import com.automation.core.load.LoadRecorder;
 import com.automation.core.logging.LogManager;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.RequestSpecification;
 
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * REST client with per-thread state and no RestAssured globals.
+ *
+ * Each base URL (api.base.url, api.base.url.<service> or a custom URL) has an immutable RequestSpecification template
+ * built once and shared by all threads. A thread selects a base URL, layers its own headers/auth on a spec derived from
+ * that template, and every request is sent from a fresh copy of that spec, so parallel scenarios against different
+ * services cannot overwrite each other's base URL, and query params or bodies never leak into the next request.
+ * Templates send through the service's keep-alive connection pool (see ApiConnectionPool). With api.engine=async,
+ * get/post/put/delete go through the non-blocking AsyncAPIClient instead. With api.replay.mode=record or replay,
+ * templates send through the local record/replay server (see ApiReplay). GETs can be served from the opt-in
+ * ResponseCache.
+ */
 public class APIClient {
+    private static final Map<String, RequestSpecification> templates = new ConcurrentHashMap<>();
     private static final ThreadLocal<RequestSpecification> requestSpec = new ThreadLocal<>();
     private static final ThreadLocal<String> currentBaseUrl = new ThreadLocal<>();
 
     public static void initializeAPIClient() {
         String baseUrl = ConfigManager.getInstance().getApiBaseUrl();
-        RestAssured.baseURI = baseUrl;
-        requestSpec.set(RestAssured.given().header("Content-Type", "application/json"));
-        currentBaseUrl.set(baseUrl);
+        select(null, baseUrl, null);
         LogManager.info("API Client initialized with base URL: " + baseUrl);
     }
 
+    /**
+     * The current thread's request specification (base URL, headers and auth). Changes made to it apply to all
+     * later requests of this thread until the next service switch or clearRequestSpec().
+     */
     public static RequestSpecification getRequestSpec() {
         if (requestSpec.get() == null) {
             initializeAPIClient();
@@ -28,38 +49,25 @@ public class APIClient {
     }
 
     public static APIClient withBaseUrl(String serviceName) {
-        String baseUrl = ConfigManager.getInstance().getApiBaseUrl(serviceName);
-        RestAssured.baseURI = baseUrl;
-        requestSpec.set(RestAssured.given().header("Content-Type", "application/json"));
-        currentBaseUrl.set(baseUrl);
-        LogManager.info("API Client switched to service: " + serviceName + " with base URL: " + baseUrl);
-        return new APIClient();
+        return withBaseUrl(serviceName, null);
     }
 
     public static APIClient withBaseUrl(String serviceName, Map<String, String> headers) {
         String baseUrl = ConfigManager.getInstance().getApiBaseUrl(serviceName);
-        RestAssured.baseURI = baseUrl;
-        RequestSpecification spec = RestAssured.given().header("Content-Type", "application/json");
-        if (headers != null) {
-            spec.headers(headers);
-        }
-        requestSpec.set(spec);
-        currentBaseUrl.set(baseUrl);
+        select(serviceName, baseUrl, headers);
         LogManager.info("API Client switched to service: " + serviceName + " with base URL: " + baseUrl);
         return new APIClient();
     }
 
     public static APIClient withCustomBaseUrl(String customUrl) {
-        RestAssured.baseURI = customUrl;
-        requestSpec.set(RestAssured.given().header("Content-Type", "application/json"));
-        currentBaseUrl.set(customUrl);
+        select(null, customUrl, null);
         LogManager.info("API Client using custom base URL: " + customUrl);
         return new APIClient();
     }
 
     public static Response get(String endpoint) {
         LogManager.info("GET Request: " + getFullUrl(endpoint));
-        Response response = getRequestSpec().get(endpoint);
+        Response response = AsyncAPIClient.isEnabled() ? AsyncAPIClient.get(endpoint) : newRequest().get(endpoint);
         LogManager.info("Response Status: " + response.getStatusCode());
         return response;
     }
@@ -70,7 +78,8 @@ public class APIClient {
 
     public static Response get(String endpoint, Map<String, String> queryParams) {
         LogManager.info("GET Request: " + getFullUrl(endpoint) + " with params: " + queryParams);
-        Response response = getRequestSpec().queryParams(queryParams).get(endpoint);
+        Response response = AsyncAPIClient.isEnabled()
+                ? AsyncAPIClient.get(endpoint, queryParams) : newRequest().queryParams(queryParams).get(endpoint);
         LogManager.info("Response Status: " + response.getStatusCode());
         return response;
     }
@@ -81,7 +90,7 @@ public class APIClient {
 
     public static Response post(String endpoint, Object body) {
         LogManager.info("POST Request: " + getFullUrl(endpoint));
-        Response response = getRequestSpec().body(body).post(endpoint);
+        Response response = AsyncAPIClient.isEnabled() ? AsyncAPIClient.post(endpoint, body) : newRequest().body(body).post(endpoint);
         LogManager.info("Response Status: " + response.getStatusCode());
         return response;
     }
@@ -92,7 +101,7 @@ public class APIClient {
 
     public static Response put(String endpoint, Object body) {
         LogManager.info("PUT Request: " + getFullUrl(endpoint));
-        Response response = getRequestSpec().body(body).put(endpoint);
+        Response response = AsyncAPIClient.isEnabled() ? AsyncAPIClient.put(endpoint, body) : newRequest().body(body).put(endpoint);
         LogManager.info("Response Status: " + response.getStatusCode());
         return response;
     }
@@ -103,7 +112,7 @@ public class APIClient {
 
     public static Response delete(String endpoint) {
         LogManager.info("DELETE Request: " + getFullUrl(endpoint));
-        Response response = getRequestSpec().delete(endpoint);
+        Response response = AsyncAPIClient.isEnabled() ? AsyncAPIClient.delete(endpoint) : newRequest().delete(endpoint);
         LogManager.info("Response Status: " + response.getStatusCode());
         return response;
     }
@@ -112,6 +121,14 @@ public class APIClient {
         return delete(endpoint);
     }
 
+    /**
+     * A fresh request for the current thread: a copy of its spec that can take a body, params or multipart parts
+     * without changing later requests.
+     */
+    public static RequestSpecification newRequest() {
+        return RestAssured.given().spec(getRequestSpec());
+    }
+
     public static void setHeader(String key, String value) {
         requestSpec.set(getRequestSpec().header(key, value));
     }
@@ -125,11 +142,51 @@ public class APIClient {
         currentBaseUrl.remove();
     }
 
-    private static String getFullUrl(String endpoint) {
+    /**
+     * Base URL used by the current thread, or the configured api.base.url when none was selected.
+     */
+    public static String getCurrentBaseUrl() {
         String baseUrl = currentBaseUrl.get();
-        if (baseUrl == null) {
-            baseUrl = RestAssured.baseURI;
+        return baseUrl != null ? baseUrl : ConfigManager.getInstance().getApiBaseUrl();
+    }
+
+    /**
+     * The current thread's spec with the headers, cookies and auth it has been given so far, or null when the thread
+     * has not used APIClient yet.
+     */
+    static FilterableRequestSpecification currentSpec() {
+        return (FilterableRequestSpecification) requestSpec.get();
+    }
+
+    /**
+     * Shared immutable template for a service (null = default) and base URL; copy it with
+     * RestAssured.given().spec(...) before use.
+     */
+    static RequestSpecification templateFor(String service, String baseUrl) {
+        if (baseUrl == null || baseUrl.isEmpty()) {
+            throw new RuntimeException("API base URL is not configured. Set api.base.url or select a service");
         }
-        return baseUrl + endpoint;
+        return templates.computeIfAbsent(service + "|" + baseUrl, key -> new RequestSpecBuilder()
+                .setBaseUri(ApiReplay.route(baseUrl))
+                .addHeader("Content-Type", ConfigManager.getInstance().getProperty("api.content.type", "application/json"))
+                .setConfig(RestAssuredConfig.config().httpClient(ApiConnectionPool.httpClientConfigFor(service)))
+                .addFilter(LoadRecorder.filter())
+                .addFilter(ResponseCache.filter(service))
+                .addFilter(ApiConnectionPool.releaseConnectionFilter())
+                .build());
+    }
+
+    private static void select(String service, String baseUrl, Map<String, String> headers) {
+        RequestSpecification spec = RestAssured.given().spec(templateFor(service, baseUrl))
+                .headers(ApiReplay.scenarioHeaders());
+        if (headers != null) {
+            spec.headers(headers);
+        }
+        requestSpec.set(spec);
+        currentBaseUrl.set(baseUrl);
+    }
+
+    private static String getFullUrl(String endpoint) {
+        return getCurrentBaseUrl() + endpoint;
     }
 }
@@ -0,0 +1,317 @@
+package com.automation.core.api;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keep-alive HTTP connection pool per API service, shared by all RestAssured requests to that service.
+ * RestAssured otherwise builds a new HttpClient (and a new TCP/TLS connection) for every request.
+ *
+ * Settings (api.pool.<service>.<key> overrides api.pool.<key>; also in <env>.properties):
+ *   api.pool.enabled=true
+ *   api.pool.max.per.route=20         connections per host
+ *   api.pool.max.total=100            connections per service
+ *   api.pool.keepalive.ms=30000       keep-alive when the server sends no Keep-Alive header
+ *   api.pool.idle.evict.ms=30000      idle connections older than this are closed
+ *   api.connect.timeout=<api.timeout> connect and pool lease timeout; api.timeout is the read timeout
+ *                                     (values below 1000 are seconds)
+ *
+ * Cookies are not stored on the shared client and credentials are kept per thread and cleared at scenario end, so
+ * pooling does not share session state between scenarios. Requests without a service use the "default" pool.
+ */
+public class ApiConnectionPool {
+    private static final String DEFAULT_POOL = "default";
+    private static final Map<String, ApiConnectionPool> pools = new ConcurrentHashMap<>();
+    // RestAssured keeps the connection leased until the body is read; reading it here returns it to the pool even
+    // when a step only checks the status code. The body stays available on the response.
+    private static final Filter RELEASE_CONNECTION = new AsyncFilter() {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec, FilterContext context) {
+            Response response = context.next(requestSpec, responseSpec);
+            response.asByteArray();
+            return response;
+        }
+
+        @Override
+        public CompletableFuture<Response> filterAsync(FilterableRequestSpecification request,
+                                                       Supplier<CompletableFuture<Response>> next) {
+            return next.get(); // async responses hold no pooled connection
+        }
+    };
+    private static ScheduledExecutorService evictor;
+
+    private final String name;
+    @SuppressWarnings("deprecation") // RestAssured 5.3.2 needs an AbstractHttpClient, which only takes this manager
+    private final PoolingClientConnectionManager manager;
+    private final HttpClientConfig httpClientConfig;
+    private final long idleEvictMillis;
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+    private final AtomicInteger tlsHandshakes = new AtomicInteger();
+
+    private ApiConnectionPool(String name) {
+        this.name = name;
+        int maxPerRoute = Integer.parseInt(setting(name, "max.per.route", "20"));
+        int maxTotal = Integer.parseInt(setting(name, "max.total", "100"));
+        long keepAliveMillis = Long.parseLong(setting(name, "keepalive.ms", "30000"));
+        this.idleEvictMillis = Long.parseLong(setting(name, "idle.evict.ms", "30000"));
+        int readTimeout = toMillis(ConfigManager.getInstance().getApiTimeout());
+        int connectTimeout = toMillis(ConfigManager.getInstance().getIntProperty("api.connect.timeout", readTimeout));
+
+        this.manager = newConnectionManager();
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setMaxTotal(Math.max(maxTotal, maxPerRoute));
+        HttpClient client = newHttpClient(manager, keepAliveMillis);
+
+        // RestAssured copies these onto the client before every request
+        this.httpClientConfig = HttpClientConfig.httpClientConfig()
+                .setParam("http.connection.timeout", connectTimeout)
+                .setParam("http.socket.timeout", readTimeout)
+                .setParam("http.conn-manager.timeout", (long) connectTimeout)
+                .httpClientFactory(() -> client)
+                .reuseHttpClientInstance();
+        LogManager.info("API connection pool '" + name + "' created: maxPerRoute=" + maxPerRoute + ", maxTotal="
+                + manager.getMaxTotal() + ", keepAlive=" + keepAliveMillis + " ms, idleEvict=" + idleEvictMillis + " ms");
+    }
+
+    /**
+     * HttpClientConfig for requests to the service (null = default pool), or RestAssured's default per-request
+     * client when api.pool.enabled=false.
+     */
+    public static HttpClientConfig httpClientConfigFor(String service) {
+        if (!ConfigManager.getInstance().getBooleanProperty("api.pool.enabled", true)) {
+            return HttpClientConfig.httpClientConfig();
+        }
+        String key = service != null ? service : DEFAULT_POOL;
+        ApiConnectionPool pool = pools.get(key);
+        if (pool == null) {
+            synchronized (ApiConnectionPool.class) {
+                pool = pools.computeIfAbsent(key, ApiConnectionPool::new);
+                startEvictor();
+            }
+        }
+        return pool.httpClientConfig;
+    }
+
+    /**
+     * Filter that reads each response body so its connection goes back to the pool; added to every APIClient template.
+     */
+    public static Filter releaseConnectionFilter() {
+        return RELEASE_CONNECTION;
+    }
+
+    /**
+     * One line per pool: leased/available/pending connections, connections opened and TLS handshakes.
+     */
+    public static String getStatistics() {
+        if (pools.isEmpty()) {
+            return "API connection pools: none created";
+        }
+        return pools.values().stream().map(ApiConnectionPool::describe).collect(Collectors.joining("\n"));
+    }
+
+    public static void logStatistics() {
+        if (!pools.isEmpty()) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    /**
+     * Closes all pooled connections. Called at suite end.
+     */
+    public static synchronized void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        for (ApiConnectionPool pool : pools.values()) {
+            pool.manager.shutdown();
+        }
+        pools.clear();
+    }
+
+    /**
+     * Drops the credentials the current thread set on any pool. Called at scenario end.
+     */
+    public static void clearThreadCredentials() {
+        ThreadCredentialsProvider.delegate.remove();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public int getTlsHandshakes() {
+        return tlsHandshakes.get();
+    }
+
+    public PoolStats getPoolStats() {
+        return manager.getTotalStats();
+    }
+
+    private String describe() {
+        PoolStats stats = manager.getTotalStats();
+        return "API connection pool '" + name + "': leased=" + stats.getLeased() + ", available=" + stats.getAvailable()
+                + ", pending=" + stats.getPending() + ", max=" + stats.getMax()
+                + ", opened=" + connectionsOpened.get() + ", tlsHandshakes=" + tlsHandshakes.get();
+    }
+
+    private static void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            for (ApiConnectionPool pool : pools.values()) {
+                try {
+                    pool.manager.closeExpiredConnections();
+                    pool.manager.closeIdleConnections(pool.idleEvictMillis, TimeUnit.MILLISECONDS);
+                } catch (Exception e) {
+                    LogManager.debug("Idle connection eviction failed for pool " + pool.name + ": " + e.getMessage());
+                }
+            }
+        }, 5, 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The env files give api.timeout in seconds (api.timeout=30), config.properties in ms (api.timeout=30000).
+     */
+    static int toMillis(int timeout) {
+        return timeout < 1000 ? timeout * 1000 : timeout;
+    }
+
+    private static String setting(String pool, String key, String defaultValue) {
+        ConfigManager config = ConfigManager.getInstance();
+        String value = config.getProperty("api.pool." + pool + "." + key);
+        return value != null ? value.trim() : config.getProperty("api.pool." + key, defaultValue).trim();
+    }
+
+    /**
+     * Pooling manager that counts physical connections; every new https connection costs a full TLS handshake.
+     */
+    @SuppressWarnings("deprecation") // RestAssured 5.3.2 needs an AbstractHttpClient, which only takes this manager
+    private PoolingClientConnectionManager newConnectionManager() {
+        return new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault()) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry registry) {
+                return new DefaultClientConnectionOperator(registry) {
+                    @Override
+                    public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                               HttpContext context, HttpParams params) throws IOException {
+                        super.openConnection(connection, target, local, context, params);
+                        connectionsOpened.incrementAndGet();
+                        if ("https".equalsIgnoreCase(target.getSchemeName())) {
+                            tlsHandshakes.incrementAndGet();
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("deprecation") // RestAssured 5.3.2 casts the factory's client to AbstractHttpClient
+    private static HttpClient newHttpClient(PoolingClientConnectionManager manager, long keepAliveMillis) {
+        DefaultHttpClient client = new DefaultHttpClient(manager);
+        client.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMillis;
+        });
+        client.setCookieStore(new NoCookieStore());
+        client.setCredentialsProvider(new ThreadCredentialsProvider());
+        return client;
+    }
+
+    /**
+     * RestAssured manages cookies itself; the shared client must not carry cookies between scenarios.
+     */
+    private static class NoCookieStore implements CookieStore {
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public List<Cookie> getCookies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean clearExpired(Date date) {
+            return false;
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+
+    /**
+     * Credentials set by non-preemptive auth stay with the thread that set them until clearThreadCredentials().
+     */
+    private static class ThreadCredentialsProvider implements CredentialsProvider {
+        private static final ThreadLocal<BasicCredentialsProvider> delegate =
+                ThreadLocal.withInitial(BasicCredentialsProvider::new);
+
+        @Override
+        public void setCredentials(AuthScope scope, Credentials credentials) {
+            delegate.get().setCredentials(scope, credentials);
+        }
+
+        @Override
+        public Credentials getCredentials(AuthScope scope) {
+            return delegate.get().getCredentials(scope);
+        }
+
+        @Override
+        public void clear() {
+            delegate.get().clear();
+        }
+    }
+}
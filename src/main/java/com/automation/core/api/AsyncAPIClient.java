@@ -0,0 +1,380 @@
+package com.automation.core.api;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.load.LoadRecorder;
+import com.automation.core.logging.LogManager;
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking REST engine on java.net.http. Requests return CompletableFutures and no thread waits while a request
+ * is in flight, so thousands of requests can be outstanding at once. Results are plain RestAssured Responses
+ * (status, headers, body, jsonPath), so APIReusable assertions work unchanged; getTime() is not measured.
+ *
+ * Each request is the calling thread's APIClient spec (base URL, headers, cookies, auth, query params, body serialized
+ * by RestAssured's ObjectMapper). RestAssured prepares it on the calling thread, then the spec's filters (load
+ * recording, response cache, connection release) run as AsyncFilters around HttpClient.sendAsync; only the HTTP
+ * exchange differs from the blocking path.
+ *   api.engine=async                  route APIClient.get/post/put/delete through this engine (default restassured)
+ *   api.async.http.version=HTTP_2     HTTP_2 (falls back to HTTP/1.1 when the server does not offer it) or HTTP_1_1
+ *
+ * A spec with a filter that is not an AsyncFilter (a logging filter, say) cannot be run without blocking: such requests
+ * run whole on the async executor, which holds a thread for each of them while it waits (a virtual thread on Java 21+).
+ * Multipart uploads and digest, form, NTLM, OAuth 1 or certificate auth need api.engine=restassured.
+ */
+public class AsyncAPIClient {
+    // java.net.http sets these itself and rejects them as request headers
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(
+            Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+    // last filter of a request with blocking filters: sends the prepared request and waits for the response
+    private static final Filter BLOCKING_DISPATCH = (requestSpec, responseSpec, context) -> {
+        try {
+            return exchange(requestSpec).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    };
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static volatile HttpClient client;
+    private static ExecutorService executor;
+
+    private AsyncAPIClient() {}
+
+    /**
+     * True when api.engine=async.
+     */
+    public static boolean isEnabled() {
+        return "async".equalsIgnoreCase(ConfigManager.getInstance().getProperty("api.engine", "restassured").trim());
+    }
+
+    public static CompletableFuture<Response> getAsync(String endpoint) {
+        return sendAsync("GET", endpoint, APIClient.newRequest());
+    }
+
+    public static CompletableFuture<Response> getAsync(String endpoint, Map<String, String> queryParams) {
+        return sendAsync("GET", endpoint, APIClient.newRequest().queryParams(queryParams));
+    }
+
+    public static CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return sendAsync("POST", endpoint, body);
+    }
+
+    public static CompletableFuture<Response> putAsync(String endpoint, Object body) {
+        return sendAsync("PUT", endpoint, body);
+    }
+
+    public static CompletableFuture<Response> deleteAsync(String endpoint) {
+        return sendAsync("DELETE", endpoint, APIClient.newRequest());
+    }
+
+    public static Response get(String endpoint) {
+        return await(getAsync(endpoint), endpoint);
+    }
+
+    public static Response get(String endpoint, Map<String, String> queryParams) {
+        return await(getAsync(endpoint, queryParams), endpoint);
+    }
+
+    public static Response post(String endpoint, Object body) {
+        return await(postAsync(endpoint, body), endpoint);
+    }
+
+    public static Response put(String endpoint, Object body) {
+        return await(putAsync(endpoint, body), endpoint);
+    }
+
+    public static Response delete(String endpoint) {
+        return await(deleteAsync(endpoint), endpoint);
+    }
+
+    /**
+     * Sends a request from the current thread's spec without blocking; body is set as with RestAssured's body(),
+     * null for none.
+     */
+    public static CompletableFuture<Response> sendAsync(String method, String endpoint, Object body) {
+        RequestSpecification request = APIClient.newRequest();
+        if (body != null) {
+            request.body(body);
+        }
+        return sendAsync(method, endpoint, request);
+    }
+
+    /**
+     * Sends a request built from APIClient.newRequest() (with its own params, body or filters) without blocking.
+     */
+    public static CompletableFuture<Response> sendAsync(String method, String endpoint, RequestSpecification request) {
+        if (!nonBlocking(request)) {
+            RequestSpecification dispatched = request.filter(BLOCKING_DISPATCH);
+            ResponseCache.ScenarioState cacheState = ResponseCache.currentScenario();
+            long loadDelay = LoadRecorder.iterationDelayNanos();
+            return CompletableFuture.supplyAsync(() -> LoadRecorder.withIterationDelay(loadDelay,
+                    () -> cacheState.call(() -> dispatched.request(method.toUpperCase(), endpoint))), executor());
+        }
+        Dispatch dispatch = new Dispatch();
+        try {
+            request.filter(dispatch).request(method.toUpperCase(), endpoint);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return dispatch.response;
+    }
+
+    private static boolean nonBlocking(RequestSpecification request) {
+        if (!(request instanceof FilterableRequestSpecification)) {
+            return false;
+        }
+        for (Filter filter : ((FilterableRequestSpecification) request).getDefinedFilters()) {
+            if (!(filter instanceof AsyncFilter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases the completion threads. Called at suite end; the next request creates a new client.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        client = null;
+    }
+
+    private static ExecutorService executor() {
+        client();
+        return executor;
+    }
+
+    private static HttpClient client() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (AsyncAPIClient.class) {
+                current = client;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    int timeout = ApiConnectionPool.toMillis(config.getApiTimeout());
+                    int connectTimeout = ApiConnectionPool.toMillis(config.getIntProperty("api.connect.timeout", timeout));
+                    HttpClient.Version version = HttpClient.Version.valueOf(
+                            config.getProperty("api.async.http.version", "HTTP_2").trim().toUpperCase());
+                    executor = createExecutor();
+                    current = HttpClient.newBuilder()
+                            .version(version)
+                            .connectTimeout(Duration.ofMillis(connectTimeout))
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .executor(executor)
+                            .build();
+                    client = current;
+                    LogManager.info("Async API engine started: " + version + ", connect timeout " + connectTimeout + " ms");
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Runs the HTTP client's completions and the AsyncFilter stages after them, plus whole requests with blocking
+     * filters. Virtual thread per task on Java 21+, looked up reflectively because the build targets Java 11; otherwise
+     * a growing daemon pool, which stays small unless blocking-filter requests pile up.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LogManager.info("Async API engine using virtual threads");
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "api-async-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Sends the fully prepared request (URI with query params, headers, cookies, auth, serialized body).
+     */
+    private static CompletableFuture<Response> exchange(FilterableRequestSpecification spec) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(spec.getURI()))
+                .timeout(Duration.ofMillis(ApiConnectionPool.toMillis(ConfigManager.getInstance().getApiTimeout())))
+                .method(spec.getMethod(), bodyPublisher(spec));
+        for (Header header : spec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase())) {
+                request.header(header.getName(), header.getValue());
+            }
+        }
+        if (spec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : spec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            request.header("Cookie", String.join("; ", cookies));
+        }
+        String authorization = authorization(spec.getAuthenticationScheme());
+        if (authorization != null) {
+            request.setHeader("Authorization", authorization);
+        }
+        String description = spec.getMethod() + " " + spec.getURI();
+        return client().sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray()).handle((http, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                throw new CompletionException(new RuntimeException(description + " failed: " + reason, cause));
+            }
+            return toResponse(http);
+        });
+    }
+
+    /**
+     * Authorization header for the spec's auth. Challenged basic auth is sent preemptively, as java.net.http has no
+     * per-request challenge handling.
+     */
+    private static String authorization(AuthenticationScheme scheme) {
+        if (scheme == null || scheme instanceof NoAuthScheme || scheme instanceof ExplicitNoAuthScheme) {
+            return null;
+        }
+        if (scheme instanceof PreemptiveBasicAuthScheme) {
+            PreemptiveBasicAuthScheme basic = (PreemptiveBasicAuthScheme) scheme;
+            return basic(basic.getUserName(), basic.getPassword());
+        }
+        if (scheme instanceof BasicAuthScheme) {
+            BasicAuthScheme basic = (BasicAuthScheme) scheme;
+            return basic(basic.getUserName(), basic.getPassword());
+        }
+        if (scheme instanceof PreemptiveOAuth2HeaderScheme) {
+            return "Bearer " + ((PreemptiveOAuth2HeaderScheme) scheme).getAccessToken();
+        }
+        throw new RuntimeException(scheme.getClass().getSimpleName() + " is not supported by api.engine=async; "
+                + "use api.engine=restassured");
+    }
+
+    private static String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HttpRequest.BodyPublisher bodyPublisher(FilterableRequestSpecification spec) {
+        if (!spec.getMultiPartParams().isEmpty()) {
+            throw new RuntimeException("Multipart requests are not supported by api.engine=async; "
+                    + "use api.engine=restassured");
+        }
+        Object body = spec.getBody();
+        if (body == null && !spec.getFormParams().isEmpty()) {
+            body = formBody(spec.getFormParams());
+        }
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    private static String formBody(Map<String, String> params) {
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (form.length() > 0) {
+                form.append('&');
+            }
+            form.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+        }
+        return form.toString();
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> http) {
+        List<Header> headers = new ArrayList<>();
+        http.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+            }
+        });
+        String version = http.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        return new ResponseBuilder()
+                .setStatusCode(http.statusCode())
+                .setStatusLine(version + " " + http.statusCode())
+                .setHeaders(new Headers(headers))
+                .setContentType(http.headers().firstValue("Content-Type").orElse(""))
+                .setBody(http.body())
+                .build();
+    }
+
+    /**
+     * First filter of a non-blocking request: composes the spec's AsyncFilters around sendAsync and keeps the future,
+     * then ends RestAssured's chain with a placeholder so nothing else is sent.
+     */
+    private static final class Dispatch implements OrderedFilter {
+        private CompletableFuture<Response> response;
+
+        @Override
+        public int getOrder() {
+            return HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                               FilterContext context) {
+            Supplier<CompletableFuture<Response>> chain = () -> exchange(requestSpec);
+            List<Filter> filters = requestSpec.getDefinedFilters();
+            for (int i = filters.size() - 1; i >= 0; i--) {
+                if (filters.get(i) instanceof AsyncFilter) {
+                    AsyncFilter filter = (AsyncFilter) filters.get(i);
+                    Supplier<CompletableFuture<Response>> next = chain;
+                    chain = () -> filter.filterAsync(requestSpec, next);
+                }
+            }
+            response = chain.get();
+            return new ResponseBuilder().setStatusCode(204).setStatusLine("HTTP/1.1 204 Dispatched").build();
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> future, String endpoint) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for response from " + endpoint, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Async request to " + endpoint + " failed: " + e.getCause(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.automation.core.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A RestAssured filter that AsyncAPIClient can run without blocking: filterAsync wraps the response future of the rest
+ * of the chain instead of a blocking call. A request whose spec holds any filter that is not an AsyncFilter takes the
+ * blocking path on the async executor instead.
+ */
+public interface AsyncFilter extends Filter {
+
+    /**
+     * Same contract as filter(); next starts the rest of the chain and returns its response future.
+     */
+    CompletableFuture<Response> filterAsync(FilterableRequestSpecification request,
+                                            Supplier<CompletableFuture<Response>> next);
+}
@@ -0,0 +1,251 @@
+package com.automation.core.api;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled JSON schemas shared by the whole run. JsonSchemaValidator.matchesJsonSchemaInClasspath read and compiled
+ * the schema file again for every assertion; here each schema is compiled once per path and reused until its file
+ * changes (last-modified time), and $refs are resolved once by the shared factory, relative to the schema's location.
+ *
+ * A schema path is a file path or a classpath resource ("schemas/user-schema.json"). Validation uses the same library
+ * and checked defaults as RestAssured. validateAll checks a batch of bodies in parallel and returns every failure.
+ *
+ *   api.schema.parallelism=4    threads used by validateAll (default: number of CPUs)
+ */
+public final class JsonSchemaCache {
+    private static final Map<String, CompiledSchema> schemas = new ConcurrentHashMap<>();
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong compiles = new AtomicLong();
+    private static final AtomicLong compileNanos = new AtomicLong();
+    private static final AtomicLong validations = new AtomicLong();
+    private static final AtomicLong validationNanos = new AtomicLong();
+    // the factory keeps every schema it dereferenced; replaced when a schema file changes so $refs reload too
+    private static volatile JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+
+    private JsonSchemaCache() {}
+
+    /**
+     * Validates one JSON document. Returns the validation errors, empty when the document matches.
+     */
+    public static List<String> validate(String schemaPath, String json) {
+        return validate(schemaFor(schemaPath), json);
+    }
+
+    /**
+     * Validates a batch of JSON documents against one schema in parallel. Returns the errors of all documents,
+     * each prefixed with the document's 1-based position ("#3 at /id: ..."); empty when all match.
+     */
+    public static List<String> validateAll(String schemaPath, List<String> documents) {
+        JsonSchema schema = schemaFor(schemaPath);
+        int threads = Math.max(1, Math.min(documents.size(),
+                ConfigManager.getInstance().getIntProperty("api.schema.parallelism", Runtime.getRuntime().availableProcessors())));
+        long start = System.nanoTime();
+        List<List<String>> results = new ArrayList<>(Collections.nCopies(documents.size(), null));
+        if (threads == 1) {
+            for (int i = 0; i < documents.size(); i++) {
+                results.set(i, validate(schema, documents.get(i)));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "schema-validate-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<List<String>>> futures = new ArrayList<>(documents.size());
+                for (String document : documents) {
+                    futures.add(executor.submit(() -> validate(schema, document)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    results.set(i, futures.get(i).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while validating JSON documents", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("JSON schema validation worker failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                failed++;
+            }
+            for (String error : results.get(i)) {
+                failures.add("#" + (i + 1) + " " + error);
+            }
+        }
+        LogManager.info("Validated " + documents.size() + " documents against " + schemaPath + " on " + threads
+                + " thread(s) in " + (System.nanoTime() - start) / 1_000_000 + " ms: " + failed + " failed");
+        return failures;
+    }
+
+    /**
+     * Schemas cached, cache hits, compiles and validation time so far.
+     */
+    public static String getStatistics() {
+        long count = validations.get();
+        return String.format("JSON schema cache: %d schema(s), %d hits, %d compiles (%.1f ms), %d validations (%.3f ms mean)",
+                schemas.size(), hits.get(), compiles.get(), compileNanos.get() / 1_000_000.0, count,
+                count == 0 ? 0.0 : validationNanos.get() / 1_000_000.0 / count);
+    }
+
+    public static void logStatistics() {
+        if (compiles.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static List<String> validate(JsonSchema schema, String json) {
+        long start = System.nanoTime();
+        try {
+            if (json == null || json.trim().isEmpty()) {
+                return Collections.singletonList("at /: no JSON document (empty body)");
+            }
+            JsonNode instance;
+            try {
+                instance = JsonLoader.fromString(json);
+            } catch (IOException e) {
+                return Collections.singletonList("at /: not valid JSON: " + e.getMessage());
+            }
+            // deep check: report errors inside members too, not only the first failing level
+            ProcessingReport report;
+            try {
+                report = schema.validate(instance, true);
+            } catch (ProcessingException e) {
+                return Collections.singletonList("at /: " + e.getProcessingMessage().getMessage());
+            }
+            if (report.isSuccess()) {
+                return Collections.emptyList();
+            }
+            List<String> errors = new ArrayList<>();
+            for (ProcessingMessage message : report) {
+                if (message.getLogLevel().compareTo(LogLevel.ERROR) >= 0) {
+                    String pointer = message.asJson().path("instance").path("pointer").asText();
+                    errors.add("at " + (pointer.isEmpty() ? "/" : pointer) + ": " + message.getMessage());
+                }
+            }
+            return errors;
+        } finally {
+            validations.incrementAndGet();
+            validationNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static JsonSchema schemaFor(String schemaPath) {
+        CompiledSchema compiled = schemas.get(schemaPath);
+        if (compiled != null && compiled.lastModified == lastModified(compiled.location)) {
+            hits.incrementAndGet();
+            return compiled.schema;
+        }
+        synchronized (JsonSchemaCache.class) {
+            compiled = schemas.get(schemaPath);
+            if (compiled != null) {
+                if (compiled.lastModified == lastModified(compiled.location)) {
+                    hits.incrementAndGet();
+                    return compiled.schema;
+                }
+                LogManager.info("JSON schema changed, recompiling: " + schemaPath);
+                factory = JsonSchemaFactory.byDefault();
+                schemas.clear();
+            }
+            compiled = compile(schemaPath);
+            schemas.put(schemaPath, compiled);
+            return compiled.schema;
+        }
+    }
+
+    private static CompiledSchema compile(String schemaPath) {
+        long start = System.nanoTime();
+        URL location = locate(schemaPath);
+        long lastModified = lastModified(location);
+        try {
+            ProcessingReport syntax = factory.getSyntaxValidator().validateSchema(JsonLoader.fromURL(location));
+            if (!syntax.isSuccess()) {
+                throw new RuntimeException("Invalid JSON schema " + schemaPath + ": " + syntax);
+            }
+            JsonSchema schema = factory.getJsonSchema(location.toURI().toString());
+            compiles.incrementAndGet();
+            compileNanos.addAndGet(System.nanoTime() - start);
+            LogManager.debug("Compiled JSON schema " + schemaPath + " from " + location);
+            return new CompiledSchema(schema, location, lastModified);
+        } catch (IOException | ProcessingException | URISyntaxException e) {
+            throw new RuntimeException("Failed to load JSON schema " + schemaPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static URL locate(String schemaPath) {
+        try {
+            Path file = Paths.get(schemaPath);
+            if (Files.isRegularFile(file)) {
+                return file.toUri().toURL();
+            }
+        } catch (IOException | RuntimeException e) {
+            // not a usable file path; try the classpath
+        }
+        String resource = schemaPath.startsWith("/") ? schemaPath.substring(1) : schemaPath;
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
+        if (url == null) {
+            throw new RuntimeException("JSON schema not found on the classpath or file system: " + schemaPath);
+        }
+        return url;
+    }
+
+    /**
+     * Last-modified time of a schema file; 0 for schemas inside jars, which do not change during a run.
+     */
+    private static long lastModified(URL location) {
+        if (!"file".equals(location.getProtocol())) {
+            return 0;
+        }
+        try {
+            return Files.getLastModifiedTime(Paths.get(location.toURI())).toMillis();
+        } catch (IOException | URISyntaxException e) {
+            return -1;
+        }
+    }
+
+    private static final class CompiledSchema {
+        final JsonSchema schema;
+        final URL location;
+        final long lastModified;
+
+        CompiledSchema(JsonSchema schema, URL location, long lastModified) {
+            this.schema = schema;
+            this.location = location;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.automation.core.api;
+
+import com.automation.core.api.replay.ApiReplay;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.load.LoadRecorder;
+import com.automation.core.logging.LogManager;
+import com.automation.core.reporting.ExtentReporter;
+import io.qameta.allure.Allure;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends independent API requests concurrently, at most maxConcurrency in flight, and returns the responses in
+ * request order with per-request timings.
+ *
+ * Each request is a copy of the APIClient template for its base URL (the request's service from
+ * api.base.url.<service>, or the caller's current APIClient base URL), so workers never touch RestAssured globals.
+ * Headers, cookies and auth the caller set on its APIClient spec (setHeader, setHeaders, getRequestSpec().auth())
+ * are read on the calling thread and added to each template copy before the request's own headers.
+ *
+ * api.parallel.concurrency=8    default number of requests in flight
+ */
+public class ParallelRequestRunner {
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private ParallelRequestRunner() {}
+
+    public static Result execute(List<Request> requests) {
+        return execute(requests, ConfigManager.getInstance().getIntProperty("api.parallel.concurrency", 8));
+    }
+
+    public static Result execute(List<Request> requests, int maxConcurrency) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("No requests to send");
+        }
+        String defaultBaseUrl = APIClient.getCurrentBaseUrl();
+        FilterableRequestSpecification caller = APIClient.currentSpec();
+        long loadDelay = LoadRecorder.iterationDelayNanos();
+        Map<String, RequestSpecification> templates = new HashMap<>();
+        int threads = Math.max(1, Math.min(maxConcurrency, requests.size()));
+        LogManager.info("Sending " + requests.size() + " requests with concurrency " + threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "api-parallel-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Response[] responses = new Response[requests.size()];
+        long[] durations = new long[requests.size()];
+        Throwable[] errors = new Throwable[requests.size()];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                int index = i;
+                Request request = requests.get(i);
+                String baseUrl = request.service != null
+                        ? ConfigManager.getInstance().getApiBaseUrl(request.service) : defaultBaseUrl;
+                RequestSpecification template = templates.computeIfAbsent(request.service + "|" + baseUrl,
+                        key -> withCaller(APIClient.templateFor(request.service, baseUrl), caller));
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        responses[index] = LoadRecorder.withIterationDelay(loadDelay, () -> send(request, template));
+                    } catch (Throwable t) {
+                        errors[index] = t;
+                    } finally {
+                        durations[index] = (System.nanoTime() - requestStart) / 1_000_000;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel requests", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel request worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        Result result = new Result(requests, responses, durations, errors, (System.nanoTime() - start) / 1_000_000);
+        LogManager.info(result.getSummary());
+        result.report();
+        return result;
+    }
+
+    /**
+     * The template plus the headers, cookies and auth of the calling thread's APIClient spec and the current replay
+     * scenario header. The caller's own replay header is dropped so a spec selected in an earlier scenario does not
+     * send a stale one.
+     */
+    private static RequestSpecification withCaller(RequestSpecification template, FilterableRequestSpecification caller) {
+        RequestSpecBuilder builder = new RequestSpecBuilder().addRequestSpecification(template);
+        if (caller != null) {
+            for (Header header : caller.getHeaders()) {
+                if (!header.getName().equalsIgnoreCase(ApiReplay.SCENARIO_HEADER)) {
+                    builder.addHeader(header.getName(), header.getValue());
+                }
+            }
+            if (caller.getCookies().exist()) {
+                builder.addCookies(caller.getCookies());
+            }
+            builder.setAuth(caller.getAuthenticationScheme());
+        }
+        return builder.addHeaders(ApiReplay.scenarioHeaders()).build();
+    }
+
+    private static Response send(Request request, RequestSpecification template) {
+        RequestSpecification spec = RestAssured.given().spec(template);
+        if (!request.headers.isEmpty()) {
+            spec.headers(request.headers);
+        }
+        if (request.body != null && !request.body.isEmpty()) {
+            spec.body(request.body);
+        }
+        return spec.request(request.method, request.endpoint);
+    }
+
+    /**
+     * One request of a fan-out. Expectations are JSON path -> expected value checks evaluated per row.
+     */
+    public static class Request {
+        private final String method;
+        private final String endpoint;
+        private String service;
+        private String body;
+        private Integer expectedStatus;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final Map<String, String> expectations = new LinkedHashMap<>();
+
+        public Request(String method, String endpoint) {
+            this.method = method.toUpperCase();
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Builds a request from a table or CSV row. Columns: method (default GET), endpoint, service, body,
+         * status; "header:<name>" columns add headers and "$.<path>" / "jsonPath:<path>" columns add expectations.
+         */
+        public static Request fromRow(Map<String, String> row) {
+            String endpoint = row.get("endpoint");
+            if (endpoint == null || endpoint.isEmpty()) {
+                throw new IllegalArgumentException("Parallel request row has no endpoint: " + row);
+            }
+            String method = row.getOrDefault("method", "");
+            Request request = new Request(method.isEmpty() ? "GET" : method, endpoint);
+            for (Map.Entry<String, String> column : row.entrySet()) {
+                String name = column.getKey();
+                String value = column.getValue();
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+                if (name.equals("service")) {
+                    request.service(value);
+                } else if (name.equals("body")) {
+                    request.body(value);
+                } else if (name.startsWith("header:")) {
+                    request.header(name.substring("header:".length()), value);
+                } else if (name.startsWith("$.")) {
+                    request.expect(name.substring(2), value);
+                } else if (name.startsWith("jsonPath:")) {
+                    request.expect(name.substring("jsonPath:".length()), value);
+                } else if (name.equals("status")) {
+                    request.expectStatus(Integer.parseInt(value.trim()));
+                }
+            }
+            return request;
+        }
+
+        public Request service(String service) {
+            this.service = service;
+            return this;
+        }
+
+        public Request body(String body) {
+            this.body = body;
+            return this;
+        }
+
+        public Request header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        public Request expectStatus(int status) {
+            this.expectedStatus = status;
+            return this;
+        }
+
+        /**
+         * Expected string value of a JSON path in this request's response.
+         */
+        public Request expect(String jsonPath, String expectedValue) {
+            expectations.put(jsonPath, expectedValue);
+            return this;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public Map<String, String> getExpectations() {
+            return Collections.unmodifiableMap(expectations);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + (service != null ? service + ":" : "") + endpoint;
+        }
+    }
+
+    /**
+     * Responses, timings and errors of a fan-out, indexed like the requests.
+     */
+    public static class Result {
+        private final List<Request> requests;
+        private final Response[] responses;
+        private final long[] durations;
+        private final Throwable[] errors;
+        private final long totalMillis;
+
+        Result(List<Request> requests, Response[] responses, long[] durations, Throwable[] errors, long totalMillis) {
+            this.requests = Collections.unmodifiableList(new ArrayList<>(requests));
+            this.responses = responses;
+            this.durations = durations;
+            this.errors = errors;
+            this.totalMillis = totalMillis;
+        }
+
+        public int size() {
+            return responses.length;
+        }
+
+        public Request getRequest(int index) {
+            return requests.get(index);
+        }
+
+        /**
+         * Response for the request at index, or null if that request failed with an exception.
+         */
+        public Response getResponse(int index) {
+            return responses[index];
+        }
+
+        public List<Response> getResponses() {
+            return Collections.unmodifiableList(Arrays.asList(responses));
+        }
+
+        public long getDurationMillis(int index) {
+            return durations[index];
+        }
+
+        public Throwable getError(int index) {
+            return errors[index];
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        /**
+         * Latency percentile (0-100) over all requests, nearest-rank.
+         */
+        public long getPercentile(double percentile) {
+            long[] sorted = durations.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+        }
+
+        /**
+         * Descriptions of requests that failed or did not return the expected status; empty when all match.
+         */
+        public List<String> getStatusMismatches(int expectedStatus) {
+            List<String> mismatches = new ArrayList<>();
+            for (int i = 0; i < responses.length; i++) {
+                if (errors[i] != null) {
+                    mismatches.add("#" + (i + 1) + " " + requests.get(i) + " failed: " + errors[i].getMessage());
+                } else if (responses[i].getStatusCode() != expectedStatus) {
+                    mismatches.add("#" + (i + 1) + " " + requests.get(i) + " returned " + responses[i].getStatusCode());
+                }
+            }
+            return mismatches;
+        }
+
+        /**
+         * Evaluates each request's own expectations against its response; returns the failures.
+         */
+        public List<String> getExpectationFailures() {
+            List<String> failures = new ArrayList<>();
+            for (int i = 0; i < responses.length; i++) {
+                Request request = requests.get(i);
+                if (request.expectations.isEmpty() && request.expectedStatus == null) {
+                    continue;
+                }
+                if (errors[i] != null) {
+                    failures.add("#" + (i + 1) + " " + request + " failed: " + errors[i].getMessage());
+                    continue;
+                }
+                if (request.expectedStatus != null && responses[i].getStatusCode() != request.expectedStatus) {
+                    failures.add("#" + (i + 1) + " " + request + " status: expected " + request.expectedStatus
+                            + " but was " + responses[i].getStatusCode());
+                }
+                for (Map.Entry<String, String> expectation : request.expectations.entrySet()) {
+                    String actual = ResponseDocument.of(responses[i]).getString(expectation.getKey());
+                    if (!expectation.getValue().equals(actual)) {
+                        failures.add("#" + (i + 1) + " " + request + " " + expectation.getKey()
+                                + ": expected '" + expectation.getValue() + "' but was '" + actual + "'");
+                    }
+                }
+            }
+            return failures;
+        }
+
+        public String getSummary() {
+            long errorCount = Arrays.stream(errors).filter(Objects::nonNull).count();
+            return "Parallel requests: " + responses.length + " in " + totalMillis + " ms"
+                    + " | p50=" + getPercentile(50) + " ms, p95=" + getPercentile(95) + " ms, max=" + getPercentile(100)
+                    + " ms" + (errorCount > 0 ? " | errors=" + errorCount : "");
+        }
+
+        /**
+         * Writes the per-request timing table to ExtentReports and Allure for the calling scenario.
+         */
+        void report() {
+            String[][] table = new String[responses.length + 1][];
+            table[0] = new String[]{"#", "Request", "Status", "Time (ms)"};
+            StringBuilder csv = new StringBuilder("index,method,endpoint,status,millis\n");
+            for (int i = 0; i < responses.length; i++) {
+                String status = errors[i] != null ? "ERROR: " + errors[i].getMessage()
+                        : String.valueOf(responses[i].getStatusCode());
+                table[i + 1] = new String[]{String.valueOf(i + 1), requests.get(i).toString(), status,
+                        String.valueOf(durations[i])};
+                csv.append(i + 1).append(',').append(requests.get(i).method).append(',')
+                        .append(requests.get(i).endpoint).append(',')
+                        .append(errors[i] != null ? "ERROR" : status).append(',').append(durations[i]).append('\n');
+            }
+            ExtentReporter.logInfo(getSummary());
+            ExtentReporter.logTable(table);
+            try {
+                Allure.addAttachment("Parallel request timings", "text/csv", csv.toString(), "csv");
+            } catch (Exception e) {
+                LogManager.debug("Could not attach parallel request timings to Allure: " + e.getMessage());
+            }
+        }
+    }
+}
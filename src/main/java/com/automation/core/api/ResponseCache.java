@@ -0,0 +1,478 @@
+package com.automation.core.api;
+
+import com.automation.core.api.replay.ApiReplay;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.automation.core.logging.UnifiedLogger;
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in cache of successful GET responses shared by all scenarios, so reference data (/users/1, config endpoints)
+ * is fetched once per run instead of once per scenario.
+ *
+ * GETs are cached for the services in api.cache.services ("default" = api.base.url, "*" = all) and for scenarios
+ * tagged with one of api.cache.tags. The key is the full URL with sorted query parameters, the api.cache.key.headers
+ * values, the request's cookies and form params, and the credentials set with auth() (basic user name with a password
+ * hash, OAuth 2 token hash), so different users or content types never share an entry. GETs with other auth schemes
+ * (digest, form, OAuth 1, certificate, NTLM) are never cached. The blocking and async engines share the cache. Entries expire after the TTL and the least
+ * recently used are evicted beyond the entry or memory limit. A POST/PUT/PATCH/DELETE drops cached entries at and
+ * below its URL path. Responses with Cache-Control: no-store are never cached.
+ *
+ *   api.cache.services=              comma-separated service names
+ *   api.cache.tags=@CacheResponses   scenario tags that turn the cache on
+ *   api.cache.ttl.seconds=300
+ *   api.cache.max.entries=500
+ *   api.cache.max.mb=64              memory ceiling for cached bodies and headers
+ *   api.cache.key.headers=Accept,Authorization
+ */
+public final class ResponseCache {
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private static final ThreadLocal<Boolean> scenarioEnabled = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> bypassed = new ThreadLocal<>();
+    private static final ThreadLocal<AtomicLongArray> scenarioCounts = new ThreadLocal<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong bypasses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+    private static long totalBytes;
+    private static volatile Settings settings;
+
+    private ResponseCache() {}
+
+    /**
+     * RestAssured filter for one service's APIClient template (service null = api.base.url).
+     */
+    static Filter filter(String service) {
+        return new CacheFilter(service == null ? "default" : service);
+    }
+
+    /**
+     * Turns the cache on for the current scenario when it has one of api.cache.tags. Called before each scenario.
+     */
+    public static void beginScenario(Collection<String> tags) {
+        scenarioEnabled.set(tags.stream().anyMatch(settings().tags::contains));
+        bypassed.remove();
+        scenarioCounts.set(new AtomicLongArray(2));
+    }
+
+    /**
+     * Reports the scenario's hits and misses and resets its cache switches. Called after each scenario.
+     */
+    public static void endScenario() {
+        AtomicLongArray counts = scenarioCounts.get();
+        if (counts != null && counts.get(0) + counts.get(1) > 0) {
+            UnifiedLogger.info("Response cache: " + counts.get(0) + " hits, " + counts.get(1) + " misses");
+        }
+        scenarioCounts.remove();
+        scenarioEnabled.remove();
+        bypassed.remove();
+    }
+
+    /**
+     * For the rest of the scenario, GETs go to the server (and refresh the cache) instead of being served from it.
+     */
+    public static void bypassForScenario() {
+        bypassed.set(Boolean.TRUE);
+    }
+
+    /**
+     * The current thread's scenario switches, for requests whose filters run on another thread (AsyncAPIClient).
+     */
+    static ScenarioState currentScenario() {
+        return new ScenarioState(scenarioEnabled.get(), bypassed.get(), scenarioCounts.get());
+    }
+
+    public static synchronized void invalidateAll() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * Drops entries for an endpoint (relative to the current base URL, or absolute) and everything below it.
+     */
+    public static void invalidate(String endpoint) {
+        String url = endpoint.startsWith("http://") || endpoint.startsWith("https://")
+                ? endpoint : ApiReplay.route(APIClient.getCurrentBaseUrl()) + endpoint;
+        invalidateUrl(url);
+    }
+
+    public static String getStatistics() {
+        synchronized (ResponseCache.class) {
+            return "Response cache: " + hits.get() + " hits, " + misses.get() + " misses, " + bypasses.get()
+                    + " bypassed, " + entries.size() + " entries (" + totalBytes / 1024 + " KB), " + evictions.get()
+                    + " evicted, " + invalidations.get() + " invalidated";
+        }
+    }
+
+    public static void logStatistics() {
+        if (hits.get() + misses.get() + bypasses.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static boolean isActive(String service) {
+        Set<String> services = settings().services;
+        return Boolean.TRUE.equals(scenarioEnabled.get()) || services.contains(service) || services.contains("*");
+    }
+
+    private static synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static synchronized void put(String key, Entry entry) {
+        Settings limits = settings();
+        if (entry.size > limits.maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+        totalBytes += entry.size;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > limits.maxEntries || totalBytes > limits.maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size;
+        }
+    }
+
+    private static synchronized void invalidateUrl(String url) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        String prefix = pathOf(url);
+        List<String> stale = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            String cachedPath = entry.getValue().path;
+            if (cachedPath.equals(prefix) || cachedPath.startsWith(prefix + "/")) {
+                stale.add(entry.getKey());
+            }
+        }
+        stale.forEach(ResponseCache::remove);
+        invalidations.addAndGet(stale.size());
+    }
+
+    /**
+     * URL without query string or trailing slash.
+     */
+    private static String pathOf(String url) {
+        int query = url.indexOf('?');
+        String path = query >= 0 ? url.substring(0, query) : url;
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * GET + URL with query parameters sorted + the configured key headers + cookies, form params and credentials;
+     * null when the request's auth cannot be represented in a key.
+     */
+    private static String key(FilterableRequestSpecification requestSpec) {
+        String credentials = credentials(requestSpec.getAuthenticationScheme());
+        if (credentials == null) {
+            return null;
+        }
+        String uri = requestSpec.getURI();
+        int query = uri.indexOf('?');
+        StringBuilder key = new StringBuilder("GET ");
+        if (query >= 0) {
+            List<String> params = new ArrayList<>(Arrays.asList(uri.substring(query + 1).split("&")));
+            Collections.sort(params);
+            key.append(uri, 0, query).append('?').append(String.join("&", params));
+        } else {
+            key.append(uri);
+        }
+        Headers headers = requestSpec.getHeaders();
+        for (String name : settings().keyHeaders) {
+            if (headers.hasHeaderWithName(name)) {
+                key.append('\n').append(name).append(": ").append(String.join(",", headers.getValues(name)));
+            }
+        }
+        if (!credentials.isEmpty()) {
+            key.append("\nauth: ").append(credentials);
+        }
+        if (requestSpec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            Collections.sort(cookies);
+            key.append("\ncookie: ").append(String.join("; ", cookies));
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            key.append("\nform: ").append(new TreeMap<>(requestSpec.getFormParams()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Key part for auth(): "" for none, a scheme with user and secret hash, or null for schemes the key cannot hold.
+     */
+    private static String credentials(AuthenticationScheme scheme) {
+        if (scheme == null || scheme instanceof NoAuthScheme || scheme instanceof ExplicitNoAuthScheme) {
+            return "";
+        }
+        if (scheme instanceof PreemptiveBasicAuthScheme) {
+            PreemptiveBasicAuthScheme basic = (PreemptiveBasicAuthScheme) scheme;
+            return "basic " + basic.getUserName() + " " + sha256(basic.getUserName() + ":" + basic.getPassword());
+        }
+        if (scheme instanceof BasicAuthScheme) {
+            BasicAuthScheme basic = (BasicAuthScheme) scheme;
+            return "basic " + basic.getUserName() + " " + sha256(basic.getUserName() + ":" + basic.getPassword());
+        }
+        if (scheme instanceof PreemptiveOAuth2HeaderScheme) {
+            return "bearer " + sha256(((PreemptiveOAuth2HeaderScheme) scheme).getAccessToken());
+        }
+        return null;
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean noStore(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        return cacheControl != null && cacheControl.toLowerCase().contains("no-store");
+    }
+
+    private static void count(int index) {
+        AtomicLongArray counts = scenarioCounts.get();
+        if (counts != null) {
+            counts.incrementAndGet(index);
+        }
+    }
+
+    private static Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            current = new Settings(ConfigManager.getInstance());
+            settings = current;
+        }
+        return current;
+    }
+
+    private static final class Settings {
+        final Set<String> services;
+        final Set<String> tags;
+        final List<String> keyHeaders;
+        final long ttlNanos;
+        final int maxEntries;
+        final long maxBytes;
+
+        Settings(ConfigManager config) {
+            services = split(config.getProperty("api.cache.services", ""));
+            tags = split(config.getProperty("api.cache.tags", "@CacheResponses"));
+            keyHeaders = new ArrayList<>(split(config.getProperty("api.cache.key.headers", "Accept,Authorization")));
+            ttlNanos = config.getIntProperty("api.cache.ttl.seconds", 300) * 1_000_000_000L;
+            maxEntries = config.getIntProperty("api.cache.max.entries", 500);
+            maxBytes = config.getIntProperty("api.cache.max.mb", 64) * 1024L * 1024L;
+        }
+
+        private static Set<String> split(String value) {
+            return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
+
+    /**
+     * Serves GET hits from the cache and stores 2xx GET responses; other methods invalidate their URL. The lookup runs on
+     * the thread that sends the request, so the scenario switches apply; storing may run on a completion thread.
+     */
+    private static final class CacheFilter implements AsyncFilter {
+        private final String service;
+
+        CacheFilter(String service) {
+            this.service = service;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                               FilterContext context) {
+            String key = cacheKey(requestSpec);
+            Response cached = key == null ? null : lookup(key, requestSpec);
+            if (cached != null) {
+                return cached;
+            }
+            return store(requestSpec, key, context.next(requestSpec, responseSpec));
+        }
+
+        @Override
+        public CompletableFuture<Response> filterAsync(FilterableRequestSpecification request,
+                                                       Supplier<CompletableFuture<Response>> next) {
+            String key = cacheKey(request);
+            Response cached = key == null ? null : lookup(key, request);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return next.get().thenApply(response -> store(request, key, response));
+        }
+
+        /**
+         * Key of a cacheable GET, or null when the request bypasses the cache.
+         */
+        private String cacheKey(FilterableRequestSpecification requestSpec) {
+            if (!"GET".equalsIgnoreCase(requestSpec.getMethod()) || !isActive(service)) {
+                return null;
+            }
+            return key(requestSpec);
+        }
+
+        private static Response lookup(String key, FilterableRequestSpecification requestSpec) {
+            if (Boolean.TRUE.equals(bypassed.get())) {
+                bypasses.incrementAndGet();
+                return null;
+            }
+            Entry cached = get(key);
+            if (cached != null) {
+                count(0);
+                hits.incrementAndGet();
+                LogManager.info("Response cache hit: " + requestSpec.getURI());
+                return cached.toResponse();
+            }
+            count(1);
+            misses.incrementAndGet();
+            return null;
+        }
+
+        private static Response store(FilterableRequestSpecification requestSpec, String key, Response response) {
+            String method = requestSpec.getMethod();
+            if (!"GET".equalsIgnoreCase(method)) {
+                if (!"HEAD".equalsIgnoreCase(method) && !"OPTIONS".equalsIgnoreCase(method)) {
+                    invalidateUrl(requestSpec.getURI());
+                }
+            } else if (key != null && response.getStatusCode() >= 200 && response.getStatusCode() < 300
+                    && !noStore(response)) {
+                put(key, new Entry(response, pathOf(requestSpec.getURI())));
+            }
+            return response;
+        }
+    }
+
+    /**
+     * A scenario's cache switches and hit/miss counters, applied to a worker thread for the duration of one request.
+     */
+    static final class ScenarioState {
+        private final Boolean enabled;
+        private final Boolean bypass;
+        private final AtomicLongArray counts;
+
+        private ScenarioState(Boolean enabled, Boolean bypass, AtomicLongArray counts) {
+            this.enabled = enabled;
+            this.bypass = bypass;
+            this.counts = counts;
+        }
+
+        <T> T call(Supplier<T> action) {
+            scenarioEnabled.set(enabled);
+            bypassed.set(bypass);
+            scenarioCounts.set(counts);
+            try {
+                return action.get();
+            } finally {
+                scenarioEnabled.remove();
+                bypassed.remove();
+                scenarioCounts.remove();
+            }
+        }
+    }
+
+    /**
+     * A cached response, rebuilt as a fresh Response for every hit.
+     */
+    private static final class Entry {
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final Cookies cookies;
+        final String contentType;
+        final byte[] body;
+        final String path;
+        final long size;
+        final long expiresAt;
+
+        Entry(Response response, String path) {
+            statusCode = response.getStatusCode();
+            statusLine = response.getStatusLine();
+            headers = response.getHeaders();
+            cookies = response.getDetailedCookies();
+            contentType = response.getContentType();
+            body = response.asByteArray();
+            this.path = path;
+            long headerBytes = 0;
+            for (Header header : headers) {
+                headerBytes += header.getName().length() + header.getValue().length();
+            }
+            size = body.length + headerBytes * 2 + 256;
+            expiresAt = System.nanoTime() + settings().ttlNanos;
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setCookies(cookies)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.automation.core.api;
+
+import io.restassured.internal.common.path.ObjectConverter;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON body of a response, parsed once and shared by every JSON path assertion and save-to-context step on it.
+ * response.jsonPath() parses the whole body again on every call and evaluates each path as a Groovy expression;
+ * a scenario with 30 assertions on a 2 MB body parsed it 30 times.
+ *
+ * The document is cached per thread for the last response it was asked about, so a new response (new request)
+ * replaces it; the hooks clear it after each scenario. Plain paths (a.b[0].c, items.id, [1].name) are compiled once,
+ * cached by string and evaluated directly on the parsed tree; anything else (size(), find { }, ...) goes to the
+ * document's own RestAssured JsonPath, which also parses only once. Values are identical to response.jsonPath().
+ */
+public final class ResponseDocument {
+    private static final ThreadLocal<ResponseDocument> current = new ThreadLocal<>();
+    private static final Map<String, Object[]> compiledPaths = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_PATHS = 2048;
+    // marks a path the direct evaluator does not handle
+    private static final Object[] GPATH = new Object[0];
+    private static final Object UNRESOLVED = new Object();
+    private static final Pattern SEGMENT = Pattern.compile("([A-Za-z_$][A-Za-z0-9_$]*)?((?:\\[-?\\d+])*)");
+    private static final Pattern INDEX = Pattern.compile("\\[(-?\\d+)]");
+
+    private final Response response;
+    private JsonPath jsonPath;
+    private Object root;
+    private boolean parsed;
+
+    private ResponseDocument(Response response) {
+        this.response = response;
+    }
+
+    /**
+     * Parsed document for the response, reused until the thread asks about a different response.
+     */
+    public static ResponseDocument of(Response response) {
+        if (response == null) {
+            throw new IllegalStateException("No response available - send a request first");
+        }
+        ResponseDocument document = current.get();
+        if (document == null || document.response != response) {
+            document = new ResponseDocument(response);
+            current.set(document);
+        }
+        return document;
+    }
+
+    /**
+     * Drops the current thread's document. Called after each scenario.
+     */
+    public static void clear() {
+        current.remove();
+    }
+
+    /**
+     * The document's RestAssured JsonPath (parsed on first use) for lookups not covered here.
+     */
+    public JsonPath jsonPath() {
+        if (jsonPath == null) {
+            jsonPath = response.jsonPath();
+        }
+        return jsonPath;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path) {
+        Object[] segments = compile(path);
+        if (segments != GPATH) {
+            Object value = evaluate(root(), segments);
+            if (value != UNRESOLVED) {
+                return (T) value;
+            }
+        }
+        return jsonPath().get(path);
+    }
+
+    public String getString(String path) {
+        Object value = get(path);
+        return value == null ? null : ObjectConverter.convertObjectTo(value, String.class);
+    }
+
+    public int getInt(String path) {
+        Object value = get(path);
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value instanceof Short || value instanceof Long) {
+            return ((Number) value).intValue();
+        }
+        return ObjectConverter.convertObjectTo(value, Integer.class);
+    }
+
+    public boolean getBoolean(String path) {
+        return ObjectConverter.convertObjectTo(get(path), Boolean.class);
+    }
+
+    public <T> List<T> getList(String path) {
+        return get(path);
+    }
+
+    public <K, V> Map<K, V> getMap(String path) {
+        return get(path);
+    }
+
+    private Object root() {
+        if (!parsed) {
+            root = jsonPath().get();
+            parsed = true;
+        }
+        return root;
+    }
+
+    /**
+     * Path segments (String keys, Integer indexes), or GPATH when the path needs the Groovy evaluator.
+     */
+    static Object[] compile(String path) {
+        Object[] segments = compiledPaths.get(path);
+        if (segments == null) {
+            segments = parse(path);
+            if (compiledPaths.size() >= MAX_CACHED_PATHS) {
+                compiledPaths.clear();
+            }
+            compiledPaths.put(path, segments);
+        }
+        return segments;
+    }
+
+    private static Object[] parse(String path) {
+        String expression = path.trim();
+        if (expression.isEmpty() || expression.equals("$")) {
+            return new Object[0];
+        }
+        if (expression.startsWith("$")) {
+            return GPATH; // GPath gives "$.x" its own meaning; leave it to JsonPath
+        }
+        List<Object> segments = new ArrayList<>();
+        for (String part : expression.split("\\.", -1)) {
+            Matcher segment = SEGMENT.matcher(part);
+            if (part.isEmpty() || !segment.matches() || (segment.group(1) == null && !segments.isEmpty())) {
+                return GPATH;
+            }
+            if (segment.group(1) != null) {
+                segments.add(segment.group(1));
+            }
+            Matcher index = INDEX.matcher(segment.group(2));
+            while (index.find()) {
+                segments.add(Integer.parseInt(index.group(1)));
+            }
+        }
+        return segments.toArray();
+    }
+
+    /**
+     * Walks the parsed tree like GPath: keys on objects, keys on arrays collect that key from every element
+     * (null elements skipped), indexes (negative from the end) on arrays. Returns UNRESOLVED for any case whose
+     * Groovy semantics are not reproduced here, so the caller falls back to JsonPath.
+     */
+    private static Object evaluate(Object root, Object[] segments) {
+        Object node = root;
+        for (Object segment : segments) {
+            if (node == null) {
+                return UNRESOLVED;
+            }
+            if (segment instanceof String) {
+                if (node instanceof Map) {
+                    node = ((Map<?, ?>) node).get(segment);
+                } else if (node instanceof List) {
+                    List<Object> collected = new ArrayList<>();
+                    for (Object element : (List<?>) node) {
+                        if (element == null) {
+                            continue;
+                        }
+                        if (!(element instanceof Map)) {
+                            return UNRESOLVED;
+                        }
+                        collected.add(((Map<?, ?>) element).get(segment));
+                    }
+                    node = collected;
+                } else {
+                    return UNRESOLVED;
+                }
+            } else {
+                if (!(node instanceof List)) {
+                    return UNRESOLVED;
+                }
+                List<?> list = (List<?>) node;
+                int index = (Integer) segment;
+                int position = index < 0 ? list.size() + index : index;
+                if (position < 0 || position >= list.size()) {
+                    return UNRESOLVED;
+                }
+                node = list.get(position);
+            }
+        }
+        return node;
+    }
+}
@@ -3,6 +3,7 @@ package com.automation.core.api;
 import com.automation.core.logging.LogManager;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -15,7 +16,12 @@ public class SOAPClient {
         headers.put("SOAPAction", "");
         
         LogManager.info("Sending SOAP request to: " + endpoint);
-        Response response = RestAssured.given()
+        RequestSpecification request = RestAssured.given();
+        String baseUrl = APIClient.getCurrentBaseUrl();
+        if (baseUrl != null && !endpoint.startsWith("http")) {
+            request.baseUri(baseUrl);
+        }
+        Response response = request
                 .headers(headers)
                 .body(soapEnvelope)
                 .post(endpoint);
@@ -0,0 +1,184 @@
+package com.automation.core.api.replay;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Record/replay of API traffic through a local HTTP server, so API features can run offline at loopback speed.
+ *
+ * With a mode set, APIClient (and everything built on its templates: parallel requests, the async engine) sends to
+ * http://127.0.0.1:port/_/{scheme}/{host}/... instead of the real base URL. In record mode the server forwards each
+ * request upstream and saves request and response under api.replay.dir, one JSON file per normalised request
+ * (see RequestKey), with credentials masked (see Redaction); in replay mode it answers from those files without
+ * touching the network, and a request without a recording gets a 502 naming the missing key. Requests carry the
+ * scenario that sent them, so each scenario replays its own responses in order. Set on the command line
+ * (-Dapi.replay.mode=replay) or in config:
+ *
+ *   api.replay.mode=off                       off, record or replay
+ *   api.replay.dir=target/api-recordings      point it at a versioned directory only after reviewing the recordings
+ *   api.replay.port=0                         0 = any free port
+ *   api.replay.match.headers=Accept           request headers that distinguish recordings; all others (auth tokens,
+ *                                             trace ids, dates) are volatile and ignored
+ *   api.replay.ignore.params=                 query parameters ignored when matching (cache busters, timestamps)
+ *   api.replay.ignore.fields=                 JSON body fields ignored when matching, at any depth (requestId, ...)
+ *   api.replay.latency=none                   replay latency: none, recorded, fixed ms (50) or a range (20-80)
+ *   api.replay.redact.headers=                headers masked in recordings besides Authorization and cookies
+ *   api.replay.redact.fields=password,...     JSON body, form and query fields masked in recordings
+ */
+public final class ApiReplay {
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    /** Request header naming the scenario that sent a request; the server never forwards or records it. */
+    public static final String SCENARIO_HEADER = "X-Api-Replay-Scenario";
+    private static final String DEFAULT_REDACT_FIELDS =
+            "password,secret,client_secret,token,access_token,refresh_token,id_token,api_key,apikey";
+
+    private static final ThreadLocal<String> scenario = new ThreadLocal<>();
+    private static volatile ReplayServer server;
+
+    private ApiReplay() {}
+
+    public static Mode getMode() {
+        String mode = property("api.replay.mode", "off");
+        try {
+            return Mode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid api.replay.mode '" + mode + "'; use off, record or replay");
+        }
+    }
+
+    public static boolean isEnabled() {
+        return getMode() != Mode.OFF;
+    }
+
+    /**
+     * The URL to send to for a base URL: the base URL itself when record/replay is off, otherwise its route through
+     * the local server (started on first use).
+     */
+    public static String route(String baseUrl) {
+        if (baseUrl == null || !isEnabled()) {
+            return baseUrl;
+        }
+        int schemeEnd = baseUrl.indexOf("://");
+        if (schemeEnd < 0) {
+            throw new RuntimeException("API base URL needs a scheme for record/replay: " + baseUrl);
+        }
+        return "http://127.0.0.1:" + server().getPort() + ReplayServer.PREFIX
+                + baseUrl.substring(0, schemeEnd) + "/" + baseUrl.substring(schemeEnd + 3);
+    }
+
+    /**
+     * Marks the current thread's requests as coming from a scenario (e.g. its feature URI and line) and starts its
+     * replay from the first recorded response of every request again. Called before each scenario.
+     */
+    public static void beginScenario(String scenarioId) {
+        if (!isEnabled()) {
+            return;
+        }
+        scenario.set(scenarioId);
+        ReplayServer current = server;
+        if (current != null) {
+            current.resetScenario(scenarioId);
+        }
+    }
+
+    public static void endScenario() {
+        scenario.remove();
+    }
+
+    /**
+     * Headers identifying the current scenario to the replay server; empty when record/replay is off or no scenario
+     * runs on this thread. APIClient adds them to every request.
+     */
+    public static Map<String, String> scenarioHeaders() {
+        String current = scenario.get();
+        return current == null || !isEnabled() ? Collections.emptyMap() : Collections.singletonMap(SCENARIO_HEADER, current);
+    }
+
+    public static String getStatistics() {
+        ReplayServer current = server;
+        return current == null ? "API record/replay: off" : current.getStatistics();
+    }
+
+    public static void logStatistics() {
+        if (server != null) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    /**
+     * Stops the local server. Called at suite end.
+     */
+    public static synchronized void shutdown() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    private static ReplayServer server() {
+        ReplayServer current = server;
+        if (current == null) {
+            synchronized (ApiReplay.class) {
+                current = server;
+                if (current == null) {
+                    current = start();
+                    server = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ReplayServer start() {
+        Mode mode = getMode();
+        String directory = property("api.replay.dir", "target/api-recordings");
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            // without TCP_NODELAY small responses wait ~40 ms for the client's delayed ACK
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            ReplayServer started = new ReplayServer(mode, Paths.get(directory),
+                    Integer.parseInt(property("api.replay.port", "0")),
+                    list("api.replay.match.headers", "Accept", true),
+                    list("api.replay.ignore.params", "", false),
+                    list("api.replay.ignore.fields", "", false),
+                    property("api.replay.latency", "none"),
+                    new Redaction(list("api.replay.redact.headers", "", true),
+                            list("api.replay.redact.fields", DEFAULT_REDACT_FIELDS, true)));
+            LogManager.info("API " + mode.name().toLowerCase() + " server on 127.0.0.1:" + started.getPort()
+                    + ", recordings in " + Paths.get(directory).toAbsolutePath());
+            return started;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start API " + mode.name().toLowerCase() + " server: " + e.getMessage(), e);
+        }
+    }
+
+    private static Set<String> list(String key, String defaultValue, boolean lowerCase) {
+        String value = property(key, defaultValue);
+        if (value.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .map(item -> lowerCase ? item.toLowerCase() : item)
+                .collect(Collectors.toSet());
+    }
+
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = ConfigManager.getInstance().getProperty(key, defaultValue);
+        }
+        return value.trim();
+    }
+}
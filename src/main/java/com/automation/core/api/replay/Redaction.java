@@ -0,0 +1,106 @@
+package com.automation.core.api.replay;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Masks credentials before an exchange is written to a recording: the Authorization, Proxy-Authorization, Cookie and
+ * Set-Cookie headers plus api.replay.redact.headers, and the api.replay.redact.fields values in JSON bodies (at any
+ * depth), form bodies and query strings. Names are compared case-insensitively. Matching is unaffected, since a
+ * recording is found by the key of the live request.
+ */
+final class Redaction {
+    static final String MASK = "[REDACTED]";
+    private static final Set<String> CREDENTIAL_HEADERS = new HashSet<>(Arrays.asList(
+            "authorization", "proxy-authorization", "cookie", "set-cookie"));
+
+    private final Set<String> headers;
+    private final Set<String> fields;
+
+    /**
+     * @param headers extra header names to mask, lower-case
+     * @param fields  body and query parameter names to mask, lower-case
+     */
+    Redaction(Set<String> headers, Set<String> fields) {
+        this.headers = new HashSet<>(CREDENTIAL_HEADERS);
+        this.headers.addAll(headers);
+        this.fields = fields;
+    }
+
+    Map<String, List<String>> headers(Map<String, List<String>> original) {
+        Map<String, List<String>> masked = new LinkedHashMap<>();
+        original.forEach((name, values) -> masked.put(name,
+                headers.contains(name.toLowerCase()) ? List.of(MASK) : values));
+        return masked;
+    }
+
+    String url(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query + 1) + pairs(url.substring(query + 1));
+    }
+
+    /**
+     * JSON or form-encoded body with secret fields masked; other text is returned as is.
+     */
+    String body(String body) {
+        if (body == null || fields.isEmpty()) {
+            return body;
+        }
+        String trimmed = body.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                JsonElement json = JsonParser.parseString(trimmed);
+                return mask(json) ? json.toString() : body;
+            } catch (JsonParseException e) {
+                return body;
+            }
+        }
+        return trimmed.startsWith("<") || !trimmed.contains("=") ? body : pairs(body);
+    }
+
+    private boolean mask(JsonElement element) {
+        boolean changed = false;
+        if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            for (String name : object.keySet()) {
+                if (fields.contains(name.toLowerCase())) {
+                    object.add(name, new JsonPrimitive(MASK));
+                    changed = true;
+                } else {
+                    changed |= mask(object.get(name));
+                }
+            }
+        } else if (element.isJsonArray()) {
+            for (JsonElement item : element.getAsJsonArray()) {
+                changed |= mask(item);
+            }
+        }
+        return changed;
+    }
+
+    private String pairs(String encoded) {
+        if (fields.isEmpty()) {
+            return encoded;
+        }
+        StringJoiner out = new StringJoiner("&");
+        for (String pair : encoded.split("&", -1)) {
+            String name = pair.split("=", 2)[0];
+            boolean secret = fields.contains(URLDecoder.decode(name, StandardCharsets.UTF_8).toLowerCase());
+            out.add(secret ? name + "=" + MASK : pair);
+        }
+        return out.toString();
+    }
+}
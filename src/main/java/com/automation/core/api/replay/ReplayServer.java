@@ -0,0 +1,367 @@
+package com.automation.core.api.replay;
+
+import com.automation.core.logging.LogManager;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loopback HTTP server behind ApiReplay. Requests arrive as /_/{scheme}/{host[:port]}/{path}; in record mode they are
+ * forwarded to that upstream and the exchange is saved, in replay mode the saved response is served.
+ *
+ * A key recorded several times in a run (GET before and after an update) keeps every response in order, tagged with
+ * the scenario that sent it; replay serves each scenario its own responses in the same order and repeats the last one
+ * once they run out. Occurrences are counted per scenario (ApiReplay.SCENARIO_HEADER) and reset when the scenario
+ * starts, so parallel scenarios do not take each other's responses. Credentials are masked before saving (Redaction).
+ */
+final class ReplayServer {
+    static final String PREFIX = "/_/";
+    // hop-by-hop and framing headers: the server sets these for the loopback connection
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding",
+            "proxy-connection", "te", "trailer", "accept-encoding", "date",
+            ApiReplay.SCENARIO_HEADER.toLowerCase()));
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final ApiReplay.Mode mode;
+    private final Path directory;
+    private final Set<String> matchHeaders;
+    private final Set<String> ignoredParams;
+    private final Set<String> ignoredFields;
+    private final String latency;
+    private final Redaction redaction;
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    // scenario -> normalised request -> responses served so far
+    private final Map<String, Map<String, AtomicInteger>> served = new ConcurrentHashMap<>();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private HttpClient upstream;
+
+    ReplayServer(ApiReplay.Mode mode, Path directory, int port, Set<String> matchHeaders, Set<String> ignoredParams,
+                 Set<String> ignoredFields, String latency, Redaction redaction) throws IOException {
+        this.mode = mode;
+        this.directory = directory;
+        this.matchHeaders = matchHeaders;
+        this.ignoredParams = ignoredParams;
+        this.ignoredFields = ignoredFields;
+        this.latency = latency;
+        this.redaction = redaction;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-replay-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (mode == ApiReplay.Mode.RECORD) {
+            upstream = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    String getStatistics() {
+        return "API " + mode.name().toLowerCase() + " (" + directory + "): " + recorded.get() + " recorded, "
+                + replayed.get() + " replayed, " + missed.get() + " without recording";
+    }
+
+    /**
+     * Starts the scenario's occurrence counts from the first recorded response again.
+     */
+    void resetScenario(String scenario) {
+        served.remove(scenario);
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            URI target = upstreamUri(exchange.getRequestURI());
+            byte[] body = readAll(exchange.getRequestBody());
+            RequestKey key = RequestKey.of(exchange.getRequestMethod(), target, exchange.getRequestHeaders(), body,
+                    matchHeaders, ignoredParams, ignoredFields);
+            if (mode == ApiReplay.Mode.RECORD) {
+                record(exchange, key, target, body);
+            } else {
+                replay(exchange, key);
+            }
+        } catch (Exception e) {
+            LogManager.error("API " + mode.name().toLowerCase() + " failed for " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI() + ": " + e.getMessage());
+            send(exchange, 502, Map.of("Content-Type", List.of("text/plain")),
+                    ("API " + mode.name().toLowerCase() + " failed: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void replay(HttpExchange exchange, RequestKey key) throws IOException {
+        Recording recording = load(key);
+        if (recording == null || recording.exchanges.isEmpty()) {
+            missed.incrementAndGet();
+            LogManager.warn("No API recording for " + key.normalized().replace('\n', ' ') + " (" + key.fileName() + ")");
+            send(exchange, 502, Map.of("Content-Type", List.of("text/plain")),
+                    ("No recording for request:\n" + key.normalized()).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String scenario = scenarioOf(exchange);
+        List<Exchange> responses = recording.forScenario(scenario);
+        int occurrence = served.computeIfAbsent(scenario, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key.normalized(), k -> new AtomicInteger()).getAndIncrement();
+        Exchange recorded = responses.get(Math.min(occurrence, responses.size() - 1));
+        injectLatency(recorded.durationMillis);
+        replayed.incrementAndGet();
+        send(exchange, recorded.status, recorded.responseHeaders, recorded.body());
+    }
+
+    private void record(HttpExchange exchange, RequestKey key, URI target, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(target)
+                .method(exchange.getRequestMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = upstream.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        Exchange saved = new Exchange();
+        saved.scenario = scenarioOf(exchange);
+        saved.method = exchange.getRequestMethod();
+        saved.url = redaction.url(target.toString());
+        saved.requestBody = body.length == 0 ? null : redaction.body(new String(body, StandardCharsets.UTF_8));
+        saved.status = response.statusCode();
+        saved.durationMillis = (System.nanoTime() - start) / 1_000_000;
+        saved.recordedAt = Instant.now().toString();
+        saved.responseHeaders = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                saved.responseHeaders.put(name, values);
+            }
+        });
+        Map<String, List<String>> responseHeaders = saved.responseHeaders;
+        saved.responseHeaders = redaction.headers(responseHeaders);
+        saved.setBody(response.body(), response.headers().firstValue("Content-Type").orElse(""));
+        saved.body = redaction.body(saved.body);
+        save(key, redactedKey(exchange, target, body), saved);
+        send(exchange, saved.status, responseHeaders, response.body());
+    }
+
+    /**
+     * Appends the exchange to its recording file. The first exchange of a key in a run replaces what an earlier
+     * recording session left there.
+     */
+    private void save(RequestKey key, String description, Exchange exchange) throws IOException {
+        Recording recording = recordings.computeIfAbsent(key.normalized(), k -> {
+            Recording fresh = new Recording();
+            fresh.request = description;
+            return fresh;
+        });
+        synchronized (recording) {
+            recording.exchanges.add(exchange);
+            Path file = directory.resolve(key.fileName());
+            Files.createDirectories(file.getParent());
+            Files.write(file, GSON.toJson(recording).getBytes(StandardCharsets.UTF_8));
+        }
+        recorded.incrementAndGet();
+    }
+
+    /**
+     * The normalised request as written into the recording file, with credentials masked.
+     */
+    private String redactedKey(HttpExchange exchange, URI target, byte[] body) {
+        String maskedBody = body.length == 0 ? "" : redaction.body(new String(body, StandardCharsets.UTF_8));
+        return RequestKey.of(exchange.getRequestMethod(), URI.create(redaction.url(target.toString())),
+                redaction.headers(exchange.getRequestHeaders()), maskedBody.getBytes(StandardCharsets.UTF_8),
+                matchHeaders, ignoredParams, ignoredFields).normalized();
+    }
+
+    private static String scenarioOf(HttpExchange exchange) {
+        String scenario = exchange.getRequestHeaders().getFirst(ApiReplay.SCENARIO_HEADER);
+        return scenario == null ? "" : scenario;
+    }
+
+    private Recording load(RequestKey key) {
+        return recordings.computeIfAbsent(key.normalized(), k -> {
+            Path file = directory.resolve(key.fileName());
+            if (!Files.isRegularFile(file)) {
+                return new Recording();
+            }
+            try {
+                return GSON.fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Recording.class);
+            } catch (IOException | JsonSyntaxException e) {
+                LogManager.error("Unreadable API recording " + file + ": " + e.getMessage());
+                return new Recording();
+            }
+        });
+    }
+
+    /**
+     * api.replay.latency: none (loopback speed), recorded (each response's recorded time), a fixed number of ms,
+     * or min-max ms picked at random per response.
+     */
+    private void injectLatency(long recordedMillis) {
+        long millis;
+        if (latency.isEmpty() || latency.equalsIgnoreCase("none")) {
+            return;
+        } else if (latency.equalsIgnoreCase("recorded")) {
+            millis = recordedMillis;
+        } else if (latency.contains("-")) {
+            String[] range = latency.split("-", 2);
+            long min = Long.parseLong(range[0].trim());
+            long max = Long.parseLong(range[1].trim());
+            millis = min >= max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        } else {
+            millis = Long.parseLong(latency);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * /_/https/api.example.com:8443/users/1?x=1 -> https://api.example.com:8443/users/1?x=1
+     */
+    static URI upstreamUri(URI requestUri) {
+        String path = requestUri.getRawPath();
+        if (path == null || !path.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Not a replay route: " + requestUri);
+        }
+        String[] parts = path.substring(PREFIX.length()).split("/", 3);
+        if (parts.length < 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Not a replay route: " + requestUri);
+        }
+        String rest = parts.length == 3 ? "/" + parts[2] : "";
+        String query = requestUri.getRawQuery();
+        // clients percent-encode the ':' of host:port inside a path
+        String authority = URLDecoder.decode(parts[1], StandardCharsets.UTF_8);
+        return URI.create(parts[0] + "://" + authority + rest + (query == null ? "" : "?" + query));
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        if (headers != null) {
+            headers.forEach((name, values) -> exchange.getResponseHeaders().put(name, new ArrayList<>(values)));
+        }
+        boolean noBody = body.length == 0 || status == 204 || status == 304
+                || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            return input.readAllBytes();
+        }
+    }
+
+    /**
+     * One recording file: the normalised request and its responses in the order they were recorded.
+     */
+    static final class Recording {
+        String request;
+        List<Exchange> exchanges = new ArrayList<>();
+
+        /**
+         * The responses recorded for a scenario, or all of them when it recorded none (older recordings, other callers).
+         */
+        List<Exchange> forScenario(String scenario) {
+            List<Exchange> own = new ArrayList<>();
+            for (Exchange exchange : exchanges) {
+                if (scenario.equals(exchange.scenario == null ? "" : exchange.scenario)) {
+                    own.add(exchange);
+                }
+            }
+            return own.isEmpty() ? exchanges : own;
+        }
+    }
+
+    static final class Exchange {
+        String scenario;
+        String method;
+        String url;
+        String requestBody;
+        int status;
+        Map<String, List<String>> responseHeaders;
+        String body;
+        String bodyBase64;
+        long durationMillis;
+        String recordedAt;
+
+        void setBody(byte[] bytes, String contentType) {
+            String type = contentType.toLowerCase();
+            if (bytes.length == 0) {
+                return;
+            }
+            if (type.isEmpty() || type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                    || type.contains("javascript") || type.contains("x-www-form-urlencoded")) {
+                body = new String(bytes, StandardCharsets.UTF_8);
+            } else {
+                bodyBase64 = Base64.getEncoder().encodeToString(bytes);
+            }
+        }
+
+        byte[] body() {
+            if (bodyBase64 != null) {
+                return Base64.getDecoder().decode(bodyBase64);
+            }
+            return body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.automation.core.api.replay;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Normalised form of a request, used to find its recording: method, upstream URL with lower-case host, default port
+ * dropped and query parameters sorted, the headers selected for matching, and the body. JSON bodies are compared
+ * canonically (keys sorted) with volatile fields removed at any depth; other bodies are compared as text.
+ */
+final class RequestKey {
+    private final String method;
+    private final URI url;
+    private final String normalized;
+
+    private RequestKey(String method, URI url, String normalized) {
+        this.method = method;
+        this.url = url;
+        this.normalized = normalized;
+    }
+
+    /**
+     * @param headers        request headers (any case); only those named in matchHeaders take part
+     * @param ignoredParams  query parameters left out of the key (cache busters, timestamps)
+     * @param ignoredFields  JSON body fields left out of the key, at any depth
+     */
+    static RequestKey of(String method, URI url, Map<String, List<String>> headers, byte[] body,
+                         Set<String> matchHeaders, Set<String> ignoredParams, Set<String> ignoredFields) {
+        StringBuilder key = new StringBuilder(method.toUpperCase()).append(' ').append(normalizeUrl(url, ignoredParams));
+        Map<String, String> selected = new TreeMap<>();
+        headers.forEach((name, values) -> {
+            if (name != null && matchHeaders.contains(name.toLowerCase())) {
+                selected.put(name.toLowerCase(), String.join(",", values).trim());
+            }
+        });
+        selected.forEach((name, value) -> key.append('\n').append(name).append(": ").append(value));
+        if (body != null && body.length > 0) {
+            key.append("\n\n").append(normalizeBody(new String(body, StandardCharsets.UTF_8), ignoredFields));
+        }
+        return new RequestKey(method.toUpperCase(), url, key.toString());
+    }
+
+    String normalized() {
+        return normalized;
+    }
+
+    /**
+     * Recording file relative to the recordings directory: host/METHOD_path_hash.json, readable but unique per key.
+     */
+    String fileName() {
+        String path = url.getPath() == null ? "" : url.getPath().replaceAll("[^A-Za-z0-9._-]+", "_");
+        path = path.replaceAll("^_+|_+$", "");
+        if (path.length() > 80) {
+            path = path.substring(0, 80);
+        }
+        String host = url.getHost() == null ? "unknown" : url.getHost().toLowerCase();
+        return host + "/" + method + (path.isEmpty() ? "" : "_" + path) + "_" + hash(normalized) + ".json";
+    }
+
+    static String normalizeUrl(URI url, Set<String> ignoredParams) {
+        String scheme = url.getScheme() == null ? "http" : url.getScheme().toLowerCase();
+        int port = url.getPort();
+        boolean defaultPort = port == -1 || (scheme.equals("http") && port == 80) || (scheme.equals("https") && port == 443);
+        StringBuilder normalized = new StringBuilder(scheme).append("://")
+                .append(url.getHost() == null ? "" : url.getHost().toLowerCase())
+                .append(defaultPort ? "" : ":" + port)
+                .append(url.getRawPath() == null || url.getRawPath().isEmpty() ? "/" : url.getRawPath());
+        String query = url.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                String name = URLDecoder.decode(param.split("=", 2)[0], StandardCharsets.UTF_8);
+                if (!param.isEmpty() && !ignoredParams.contains(name)) {
+                    params.add(param);
+                }
+            }
+            Collections.sort(params);
+            if (!params.isEmpty()) {
+                normalized.append('?').append(String.join("&", params));
+            }
+        }
+        return normalized.toString();
+    }
+
+    static String normalizeBody(String body, Set<String> ignoredFields) {
+        String trimmed = body.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                return canonical(JsonParser.parseString(trimmed), ignoredFields);
+            } catch (JsonParseException e) {
+                // not JSON after all; compare as text
+            }
+        }
+        return trimmed;
+    }
+
+    private static String canonical(JsonElement element, Set<String> ignoredFields) {
+        if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            StringBuilder out = new StringBuilder("{");
+            for (String name : new TreeSet<>(object.keySet())) {
+                if (ignoredFields.contains(name)) {
+                    continue;
+                }
+                if (out.length() > 1) {
+                    out.append(',');
+                }
+                out.append(new JsonPrimitive(name)).append(':').append(canonical(object.get(name), ignoredFields));
+            }
+            return out.append('}').toString();
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            StringBuilder out = new StringBuilder("[");
+            for (int i = 0; i < array.size(); i++) {
+                out.append(i > 0 ? "," : "").append(canonical(array.get(i), ignoredFields));
+            }
+            return out.append(']').toString();
+        }
+        return element.toString();
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
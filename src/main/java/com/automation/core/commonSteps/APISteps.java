@@ -8,8 +8,11 @@ import java.util.Map;
 import com.opencsv.exceptions.CsvException;
 import java.io.IOException;
 import java.io.File;
-import io.restassured.module.jsv.JsonSchemaValidator;
 import com.automation.core.api.APIClient;
+import com.automation.core.api.JsonSchemaCache;
+import com.automation.core.api.ParallelRequestRunner;
+import com.automation.core.api.ResponseCache;
+import com.automation.core.api.ResponseDocument;
 
 import java.util.regex.Pattern;
 import com.google.gson.JsonElement;
@@ -28,6 +31,7 @@ import java.util.ArrayList;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import com.automation.core.context.ScenarioContext;
+import com.automation.core.context.TemplateEngine;
 
 /**
  * Comprehensive API step definitions for REST/SOAP API testing.
@@ -49,6 +53,7 @@ import com.automation.core.context.ScenarioContext;
  * - Polling: Poll endpoints until condition met
  * - SOAP: SOAP envelope creation, fault validation, XPath assertions
  * - Data-Driven: CSV-based test data support
+ * - Parallel Requests: Concurrent fan-out from a table or CSV with aggregate status/latency/JSON path checks
  * - Cookies: Cookie validation and extraction
  * - JWT: JWT token expiry validation
  * 
@@ -66,6 +71,7 @@ public class APISteps extends APIReusable {
     private final Map<String, String> headers = new HashMap<>();
     private final Map<String, String> queryParams = new HashMap<>();
     private Map<String, String> testData;
+    private ParallelRequestRunner.Result parallelResult;
 
     // ========== BASIC HTTP OPERATIONS ==========
 
@@ -322,7 +328,7 @@ public class APISteps extends APIReusable {
 
     @Then("json array {string} elements should be sorted by {string} in {string} order")
     public void jsonArrayShouldBeSortedBy(String arrayPath, String sortByJsonPath, String order) {
-        java.util.List<java.util.Map<String, Object>> list = response.jsonPath().getList(arrayPath);
+        java.util.List<java.util.Map<String, Object>> list = json().getList(arrayPath);
         if (list == null) throw new AssertionError("Array not found at: " + arrayPath);
         // Use Object list and a safe comparator to avoid generic type conflicts
         List<Object> values = new ArrayList<>();
@@ -422,7 +428,7 @@ public class APISteps extends APIReusable {
 
     @Then("json array {string} should have unique values by {string}")
     public void jsonArrayShouldHaveUniqueValuesBy(String arrayPath, String field) {
-        List<Map<String, Object>> list = response.jsonPath().getList(arrayPath);
+        List<Map<String, Object>> list = json().getList(arrayPath);
         if (list == null) throw new AssertionError("Array not found at: " + arrayPath);
         java.util.Set<Object> seen = new java.util.HashSet<>();
         for (Map<String, Object> item : list) {
@@ -436,7 +442,7 @@ public class APISteps extends APIReusable {
 
     @Then("at least one element in json array {string} should have {string} equal {string}")
     public void atLeastOneElementShouldMatch(String arrayPath, String field, String expected) {
-        List<Map<String, Object>> list = response.jsonPath().getList(arrayPath);
+        List<Map<String, Object>> list = json().getList(arrayPath);
         if (list == null) throw new AssertionError("Array not found at: " + arrayPath);
         boolean found = false;
         String exp = replaceVariables(expected);
@@ -523,8 +529,7 @@ public class APISteps extends APIReusable {
     @When("user sets request body from file {string}")
     public void userSetsRequestBodyFromFile(String filePath) {
         String resolved = replaceVariables(filePath);
-        String content = loadFileContent(resolved);
-        requestBody = replaceVariables(content);
+        requestBody = loadTemplateFile(resolved);
         LogManager.info("Loaded and processed request body from: " + resolved);
     }
 
@@ -539,8 +544,7 @@ public class APISteps extends APIReusable {
     @When("user sets request body from json file {string}")
     public void userSetsRequestBodyFromJsonFile(String fileName) {
         String filePath = "testData/" + replaceVariables(fileName);
-        String content = loadFileContent(filePath);
-        requestBody = replaceVariables(content);
+        requestBody = loadTemplateFile(filePath);
         LogManager.info("Loaded JSON request body from testData: " + fileName);
     }
 
@@ -554,8 +558,7 @@ public class APISteps extends APIReusable {
     @When("user sets request body from xml file {string}")
     public void userSetsRequestBodyFromXmlFile(String filePath) {
         String resolved = replaceVariables(filePath);
-        String content = loadFileContent(resolved);
-        requestBody = replaceVariables(content);
+        requestBody = loadTemplateFile(resolved);
         LogManager.info("Loaded XML request body from: " + resolved);
     }
 
@@ -569,8 +572,7 @@ public class APISteps extends APIReusable {
     @When("user sets SOAP envelope from file {string}")
     public void userSetsSoapEnvelopeFromFile(String filePath) {
         String resolved = replaceVariables(filePath);
-        String content = loadFileContent(resolved);
-        requestBody = replaceVariables(content);
+        requestBody = loadTemplateFile(resolved);
         LogManager.info("Loaded SOAP envelope from: " + resolved);
     }
 
@@ -621,12 +623,31 @@ public class APISteps extends APIReusable {
     @When("user sends POST request from file {string} to {string} with content type {string}")
     public void userSendsPostRequestFromFileWithContentType(String filePath, String endpoint, String contentType) {
         String resolved = replaceVariables(filePath);
-        String content = loadFileContent(resolved);
-        requestBody = replaceVariables(content);
+        requestBody = loadTemplateFile(resolved);
         userSetsContentType(contentType);
         sendPostRequest(replaceVariables(endpoint), requestBody);
     }
 
+    /**
+     * Loads a request body file with ${variable} replacement. Plain files on disk use the engine's per-file
+     * template cache; encrypted and classpath files are loaded and then rendered.
+     */
+    private String loadTemplateFile(String filePath) {
+        if (!filePath.endsWith(".encrypted")) {
+            for (String candidate : new String[]{filePath, "src/test/resources/testData/" + filePath}) {
+                File f = new File(candidate);
+                if (f.exists() && f.isFile()) {
+                    try {
+                        return TemplateEngine.renderFile(f.toPath());
+                    } catch (IOException e) {
+                        throw new AssertionError("Failed to load file: " + candidate + ", error: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return replaceVariables(loadFileContent(filePath));
+    }
+
     /**
      * Helper method to load file content from multiple locations.
      * Search order: 1) Absolute path, 2) testData folder, 3) Classpath
@@ -906,14 +927,18 @@ public class APISteps extends APIReusable {
         if (!f.exists()) {
             throw new AssertionError("File not found: " + f.getAbsolutePath());
         }
-        response = APIClient.getRequestSpec().multiPart(fieldName, f).post(replaceVariables(endpoint));
+        response = APIClient.newRequest().multiPart(fieldName, f).post(replaceVariables(endpoint));
         LogManager.info("Uploaded file '" + f.getAbsolutePath() + "' to endpoint: " + endpoint + " as field: " + fieldName);
     }
 
     @Then("response should match json schema {string}")
     public void responseShouldMatchJsonSchema(String schemaPath) {
-        // schemaPath should be a classpath resource like "schemas/response-schema.json"
-        response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchemaInClasspath(replaceVariables(schemaPath)));
+        // schemaPath is a classpath resource like "schemas/response-schema.json" or a file path
+        String resolvedPath = replaceVariables(schemaPath);
+        List<String> errors = JsonSchemaCache.validate(resolvedPath, response.asString());
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Response does not match JSON schema " + resolvedPath + ":\n" + String.join("\n", errors));
+        }
         LogManager.info("Validated response against JSON schema: " + schemaPath);
     }
 
@@ -1001,6 +1026,182 @@ public class APISteps extends APIReusable {
         validateFieldValue(xpath, replaceVariables(expectedValue));
     }
 
+    // ========== RESPONSE CACHE ==========
+
+    /**
+     * Example: When user bypasses the response cache
+     * GETs in the rest of this scenario go to the server (the fresh responses replace cached ones).
+     */
+    @When("user bypasses the response cache")
+    public void userBypassesTheResponseCache() {
+        ResponseCache.bypassForScenario();
+        LogManager.info("Response cache bypassed for the rest of the scenario");
+    }
+
+    /**
+     * Example: When user invalidates the response cache
+     */
+    @When("user invalidates the response cache")
+    public void userInvalidatesTheResponseCache() {
+        ResponseCache.invalidateAll();
+        LogManager.info("Response cache invalidated");
+    }
+
+    /**
+     * Example: When user invalidates the response cache for "/users/1"
+     */
+    @When("user invalidates the response cache for {string}")
+    public void userInvalidatesTheResponseCacheFor(String endpoint) {
+        ResponseCache.invalidate(replaceVariables(endpoint));
+        LogManager.info("Response cache invalidated for " + endpoint);
+    }
+
+    // ========== PARALLEL REQUESTS ==========
+
+    /**
+     * Send independent requests concurrently (api.parallel.concurrency in flight, default 8).
+     * Columns: endpoint (required), method (default GET), service, body, status, header:<name>,
+     * and $.<jsonPath> or jsonPath:<jsonPath> for per-row expected values. Headers set earlier apply to every row.
+     *
+     * Example:
+     *   When user sends parallel requests:
+     *     | method | endpoint         | status | $.id |
+     *     | GET    | /posts/1         | 200    | 1    |
+     *     | GET    | /posts/${postId} | 200    |      |
+     */
+    @When("user sends parallel requests:")
+    public void userSendsParallelRequests(io.cucumber.datatable.DataTable dataTable) {
+        sendParallelRequests(dataTable.asMaps(String.class, String.class), -1);
+    }
+
+    /**
+     * Example:
+     *   When user sends parallel requests with concurrency 16:
+     *     | endpoint  |
+     *     | /posts/1  |
+     *     | /posts/2  |
+     */
+    @When("user sends parallel requests with concurrency {int}:")
+    public void userSendsParallelRequestsWithConcurrency(int concurrency, io.cucumber.datatable.DataTable dataTable) {
+        sendParallelRequests(dataTable.asMaps(String.class, String.class), concurrency);
+    }
+
+    /**
+     * Same columns as the table form, read from a CSV file with a header row.
+     *
+     * Example:
+     *   When user sends parallel requests from csv file "src/test/resources/testData/contract-gets.csv" with concurrency 16
+     */
+    @When("user sends parallel requests from csv file {string} with concurrency {int}")
+    public void userSendsParallelRequestsFromCsv(String filePath, int concurrency) throws IOException, CsvException {
+        String resolved = replaceVariables(filePath);
+        sendParallelRequests(com.automation.core.utils.CsvUtils.readCsvAsMap(resolved), concurrency);
+    }
+
+    /**
+     * Example: Then all parallel responses should have status 200
+     */
+    @Then("all parallel responses should have status {int}")
+    public void allParallelResponsesShouldHaveStatus(int expectedStatus) {
+        List<String> mismatches = requireParallelResult().getStatusMismatches(expectedStatus);
+        if (!mismatches.isEmpty()) {
+            throw new AssertionError(mismatches.size() + " of " + parallelResult.size()
+                    + " parallel responses did not return " + expectedStatus + ":\n" + String.join("\n", mismatches));
+        }
+        LogManager.info("All " + parallelResult.size() + " parallel responses returned " + expectedStatus);
+    }
+
+    /**
+     * Example: Then parallel response p95 latency should be below 800 ms
+     */
+    @Then("parallel response p{int} latency should be below {long} ms")
+    public void parallelResponseLatencyShouldBeBelow(int percentile, long maxMillis) {
+        long actual = requireParallelResult().getPercentile(percentile);
+        if (actual >= maxMillis) {
+            throw new AssertionError("p" + percentile + " latency " + actual + " ms is not below " + maxMillis + " ms ("
+                    + parallelResult.getSummary() + ")");
+        }
+        LogManager.info("p" + percentile + " latency " + actual + " ms is below " + maxMillis + " ms");
+    }
+
+    /**
+     * Checks the status and $.<jsonPath> columns of every row against that row's response.
+     *
+     * Example: Then each parallel response should match its expected values
+     */
+    @Then("each parallel response should match its expected values")
+    public void eachParallelResponseShouldMatchExpectedValues() {
+        List<String> failures = requireParallelResult().getExpectationFailures();
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " parallel response check(s) failed:\n" + String.join("\n", failures));
+        }
+        LogManager.info("All per-row checks passed for " + parallelResult.size() + " parallel responses");
+    }
+
+    /**
+     * Example: Then every parallel response json path "id" should not be null
+     */
+    @Then("every parallel response json path {string} should not be null")
+    public void everyParallelResponseJsonPathShouldNotBeNull(String jsonPath) {
+        ParallelRequestRunner.Result result = requireParallelResult();
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            io.restassured.response.Response r = result.getResponse(i);
+            if (r == null || ResponseDocument.of(r).get(jsonPath) == null) {
+                failures.add("#" + (i + 1) + " " + result.getRequest(i));
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("JSON path '" + jsonPath + "' is null in:\n" + String.join("\n", failures));
+        }
+    }
+
+    /**
+     * Example: Then all parallel responses should match json schema "schemas/user-schema.json"
+     */
+    @Then("all parallel responses should match json schema {string}")
+    public void allParallelResponsesShouldMatchJsonSchema(String schemaPath) {
+        ParallelRequestRunner.Result result = requireParallelResult();
+        String resolvedPath = replaceVariables(schemaPath);
+        List<String> bodies = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            io.restassured.response.Response r = result.getResponse(i);
+            bodies.add(r == null ? null : r.asString());
+        }
+        List<String> failures = JsonSchemaCache.validateAll(resolvedPath, bodies);
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Parallel responses do not match JSON schema " + resolvedPath + ":\n"
+                    + String.join("\n", failures));
+        }
+    }
+
+    private void sendParallelRequests(List<Map<String, String>> rows, int concurrency) {
+        List<ParallelRequestRunner.Request> requests = new ArrayList<>(rows.size());
+        for (Map<String, String> row : rows) {
+            // Resolve ${variables} here: ScenarioContext belongs to this thread, not the workers
+            Map<String, String> resolvedRow = new HashMap<>();
+            row.forEach((column, value) -> resolvedRow.put(column, replaceVariables(value)));
+            ParallelRequestRunner.Request request = ParallelRequestRunner.Request.fromRow(resolvedRow);
+            headers.forEach(request::header);
+            requests.add(request);
+        }
+        if (currentService != null) {
+            requests.stream().filter(r -> r.getService() == null).forEach(r -> r.service(currentService));
+            currentService = null;
+        }
+        parallelResult = concurrency > 0
+                ? ParallelRequestRunner.execute(requests, concurrency)
+                : ParallelRequestRunner.execute(requests);
+        ScenarioContext.set("parallelResult", parallelResult);
+    }
+
+    private ParallelRequestRunner.Result requireParallelResult() {
+        if (parallelResult == null) {
+            throw new AssertionError("No parallel requests have been sent in this scenario");
+        }
+        return parallelResult;
+    }
+
     // ========== UTILITY METHODS ==========
 
     @When("user logs response")
@@ -1015,15 +1216,7 @@ public class APISteps extends APIReusable {
     }
 
     private String replaceVariables(String text) {
-        String result = text;
-        for (Map.Entry<String, Object> entry : ScenarioContext.getAll().entrySet()) {
-            String placeholder = "${" + entry.getKey() + "}";
-            if (result != null && result.contains(placeholder)) {
-                result = result.replace(placeholder, String.valueOf(entry.getValue()));
-                LogManager.info("Replaced variable: " + placeholder + " -> " + entry.getValue());
-            }
-        }
-        return result;
+        return TemplateEngine.render(text);
     }
 
     private String readClasspathResourceAsString(String path) throws IOException {
@@ -1041,8 +1234,9 @@ public class APISteps extends APIReusable {
     @Given("Access {string} with {string} for {string}")
     public void access_with_for(String url, String headers, String tcId) throws IOException, CsvException {
         String testDataFile = "src/test/resources/testdata.csv";
-        Map<String, String> td = com.automation.core.utils.DataDrivenUtils.getTestDataByTcId(testDataFile, tcId);
-        if (td == null) td = new HashMap<>();
+        Map<String, String> row = com.automation.core.utils.DataDrivenUtils.getTestDataByTcId(testDataFile, tcId);
+        // cached rows are read-only; this scenario's copy gets url/headers added below
+        Map<String, String> td = row == null ? new HashMap<>() : new HashMap<>(row);
         String resolvedUrl = td.getOrDefault("url", url);
         String resolvedHeaders = td.getOrDefault("headers", headers);
         // ensure testData map is set and contains url/headers for later Send steps
@@ -1109,7 +1303,7 @@ public class APISteps extends APIReusable {
 
     @Then("verify {string} in response body is {string}")
     public void verify_in_response_body_is(String field, String expected) {
-        String actual = response.jsonPath().getString(field);
+        String actual = json().getString(field);
         if (!expected.equals(actual)) {
             throw new AssertionError("Expected " + field + " to be " + expected + ", got " + actual);
         }
@@ -1,13 +1,29 @@
 package com.automation.core.commonSteps;
 
 import com.automation.core.api.APIClient;
+import com.automation.core.api.ApiConnectionPool;
+import com.automation.core.api.AsyncAPIClient;
+import com.automation.core.api.JsonSchemaCache;
+import com.automation.core.api.ResponseCache;
+import com.automation.core.api.ResponseDocument;
+import com.automation.core.api.replay.ApiReplay;
 import com.automation.core.config.ConfigManager;
+import com.automation.core.context.ScenarioContext;
 import com.automation.core.driver.DriverManager;
+import com.automation.core.driver.DriverPrewarmer;
+import com.automation.core.driver.LoginStateCache;
+import com.automation.core.driver.NetworkRoutingProfile;
+import com.automation.core.driver.PlaywrightBrowserPool;
+import com.automation.core.driver.SeleniumSessionPool;
+import com.automation.core.load.LoadRunner;
 import com.automation.core.logging.ColoredLogger;
+import com.automation.core.mainframe.MainFrameDriver;
+import com.automation.core.mainframe.MainframeSessionPool;
 import com.automation.core.logging.UnifiedLogger;
 import com.automation.core.reporting.CustomReporter;
 import com.automation.core.reporting.ExtentReporter;
 import com.automation.core.reporting.ScreenshotUtil;
+import com.automation.core.utils.TestDataRepository;
 import io.cucumber.java.*;
 
 import java.io.BufferedReader;
@@ -19,15 +35,22 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CucumberHooks {
+    // Load mode runs Cucumber once per iteration; the suite setup must happen once, not per run
+    private static final AtomicBoolean suiteStarted = new AtomicBoolean();
 
     @BeforeAll
     public static void beforeAll() {
+        if (!suiteStarted.compareAndSet(false, true)) {
+            return;
+        }
         ExtentReporter.initReports();
         ColoredLogger.header("TEST SUITE STARTED");
         UnifiedLogger.info("Initializing framework configuration...");
         ConfigManager.getInstance(); // Initialize configuration
+        DriverPrewarmer.start(); // Launch browsers in background while features are parsed (driver.prewarm)
     }
 
     @Before
@@ -35,14 +58,29 @@ public class CucumberHooks {
         String scenarioName = scenario.getName();
         Set<String> tags = new HashSet<>(scenario.getSourceTagNames());
 
-        ExtentReporter.startTest(scenarioName);
-        CustomReporter.startTest(scenarioName);
+        // Load iterations repeat scenarios thousands of times; LoadRunner reports them as one entry instead
+        if (!LoadRunner.isRunning()) {
+            ExtentReporter.startTest(scenarioName);
+            CustomReporter.startTest(scenarioName);
+        }
 
         // Assign category based on tags
         assignCategory(tags);
 
         UnifiedLogger.info("Starting Scenario: " + scenarioName);
 
+        // Feature-scoped context values are shared by scenarios of the same feature file
+        ScenarioContext.enterFeature(scenario.getUri().toString());
+
+        // Network blocking/stubbing profile for UI sessions (tag @network:<profile> overrides the default)
+        NetworkRoutingProfile.selectForScenario(tags);
+
+        // Shared GET response cache for scenarios tagged with api.cache.tags
+        ResponseCache.beginScenario(tags);
+
+        // API replay serves each scenario its own recorded responses in order
+        ApiReplay.beginScenario(scenario.getUri() + ":" + scenario.getLine());
+
         // Option 1: Eager initialization (current - browsers open immediately)
         // Option 2: Lazy initialization (browsers open on first use)
         boolean lazyInit = ConfigManager.getInstance().getBooleanProperty("driver.lazy.init", true);
@@ -86,6 +124,18 @@ public class CucumberHooks {
             UnifiedLogger.fail("Error during afterScenario: " + e.getMessage());
         } finally {
             // CRITICAL: Cleanup must happen even if above code fails
+            try {
+                NetworkRoutingProfile.reportScenario();
+            } catch (Exception e) {
+                UnifiedLogger.error("Error reporting network routing: " ,e);
+            }
+
+            try {
+                ResponseCache.endScenario();
+            } catch (Exception e) {
+                UnifiedLogger.error("Error reporting response cache: " ,e);
+            }
+
             try {
                 ExtentReporter.endTest();
             } catch (Exception e) {
@@ -103,15 +153,25 @@ public class CucumberHooks {
             } catch (Exception e) {
                 UnifiedLogger.error("Error quitting driver: " ,e);
             }
+
+            try {
+                // Leased mainframe session goes back to the pool even when no step disconnected it
+                MainframeSessionPool.release();
+            } catch (Exception e) {
+                UnifiedLogger.error("Error releasing mainframe session: " ,e);
+            }
             
             try {
+                ResponseDocument.clear();
                 APIClient.clearRequestSpec();
+                ApiConnectionPool.clearThreadCredentials();
+                ApiReplay.endScenario();
             } catch (Exception e) {
                 UnifiedLogger.error("Error clearing API client: " ,e);
             }
             
             try {
-                com.automation.core.context.ScenarioContext.reset();
+                ScenarioContext.reset();
             } catch (Exception e) {
                 UnifiedLogger.error("Error resetting ScenarioContext: " ,e);
             }
@@ -151,6 +211,28 @@ public class CucumberHooks {
 
     @AfterAll
     public static void afterAll() {
+        if (LoadRunner.isRunning()) {
+            return; // end of one load iteration; LoadRunner calls afterAll once when the load run ends
+        }
+        suiteStarted.set(false);
+        LoginStateCache.logStatistics();
+        DriverPrewarmer.logStatistics();
+        DriverPrewarmer.shutdown();
+        SeleniumSessionPool.logStatistics();
+        SeleniumSessionPool.shutdown();
+        PlaywrightBrowserPool.logStatistics();
+        PlaywrightBrowserPool.shutdown();
+        MainframeSessionPool.logStatistics();
+        MainframeSessionPool.shutdown();
+        JsonSchemaCache.logStatistics();
+        ResponseCache.logStatistics();
+        TestDataRepository.logStatistics();
+        ApiConnectionPool.logStatistics();
+        ApiConnectionPool.shutdown();
+        AsyncAPIClient.shutdown();
+        ApiReplay.logStatistics();
+        ApiReplay.shutdown();
+        ScenarioContext.clearSharedScopes();
         ExtentReporter.flushReports();
         CustomReporter.generateReport();
         generateAllureReport();
@@ -208,7 +290,9 @@ public class CucumberHooks {
             String imageFile = screenDir + "/" + baseName + "_" + timestamp + ".png";
             
             // Capture screen text (always)
-            String screenText = DriverManager.getMainframeDriver().getScreen();
+            MainFrameDriver mainframe = MainframeSessionPool.current() != null
+                    ? MainframeSessionPool.current() : DriverManager.getMainframeDriver();
+            String screenText = mainframe.getScreen();
             Files.write(Paths.get(textFile), formatMainframeScreen(screenText).getBytes());
             
             // Attach text to reports
@@ -1,6 +1,7 @@
 package com.automation.core.commonSteps;
 
 import com.automation.core.context.ScenarioContext;
+import com.automation.core.context.TemplateEngine;
 import com.automation.core.logging.LogManager;
 import com.automation.reusables.MainframeReusable;
 import io.cucumber.java.en.*;
@@ -30,6 +31,9 @@ public class MainframeSteps extends MainframeReusable {
 
     // ========== CONNECTION MANAGEMENT ==========
 
+    /**
+     * With mainframe.session.pool set, leases that pooled session ("*" for any free one).
+     */
     @Given("user connects to mainframe session {string}")
     public void userConnectsToMainframeSession(String sessionId) {
         connectToMainframe(replaceVariables(sessionId));
@@ -214,6 +218,21 @@ public class MainframeSteps extends MainframeReusable {
         waitForText(replaceVariables(expectedText), timeout);
     }
 
+    @Then("text at row {int} column {int} should be {string} within {int} seconds")
+    public void textAtPositionShouldBeWithinTimeout(int row, int col, String expectedText, int timeout) {
+        waitForTextAtPosition(row, col, replaceVariables(expectedText), timeout);
+    }
+
+    @Then("mainframe cursor should be at row {int} column {int} within {int} seconds")
+    public void mainframeCursorShouldBeAtWithinTimeout(int row, int col, int timeout) {
+        waitForCursorAt(row, col, timeout);
+    }
+
+    @Then("field at row {int} column {int} should be {string}")
+    public void fieldAtPositionShouldBe(int row, int col, String attribute) {
+        verifyFieldAttribute(row, col, replaceVariables(attribute));
+    }
+
     @Then("mainframe screen should not contain {string}")
     public void mainframeScreenShouldNotContain(String unexpectedText) {
         String screen = getFullScreen();
@@ -480,15 +499,6 @@ public class MainframeSteps extends MainframeReusable {
     // ========== UTILITY METHODS ==========
 
     private String replaceVariables(String text) {
-        if (text == null) return null;
-        String result = text;
-        for (java.util.Map.Entry<String, Object> entry : ScenarioContext.getAll().entrySet()) {
-            String placeholder = "${" + entry.getKey() + "}";
-            if (result.contains(placeholder)) {
-                result = result.replace(placeholder, String.valueOf(entry.getValue()));
-                LogManager.info("Replaced variable: " + placeholder + " -> " + entry.getValue());
-            }
-        }
-        return result;
+        return TemplateEngine.render(text);
     }
 }
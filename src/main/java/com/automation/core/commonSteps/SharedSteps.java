@@ -1,11 +1,10 @@
 package com.automation.core.commonSteps;
 
 import com.automation.core.context.ScenarioContext;
+import com.automation.core.context.TemplateEngine;
 import com.automation.core.logging.LogManager;
 import io.cucumber.java.en.Then;
 
-import java.util.Map;
-
 /**
  * Shared step definitions used across API & UI step classes to avoid duplicates.
  */
@@ -31,15 +30,7 @@ public class SharedSteps {
     }
 
     private String replaceVariables(String text) {
-        String result = text;
-        if (result == null) return null;
-        for (Map.Entry<String, Object> entry : ScenarioContext.getAll().entrySet()) {
-            String placeholder = "${" + entry.getKey() + "}";
-            if (result.contains(placeholder)) {
-                result = result.replace(placeholder, String.valueOf(entry.getValue()));
-            }
-        }
-        return result;
+        return TemplateEngine.render(text);
     }
 }
 
@@ -2,13 +2,13 @@ package com.automation.core.commonSteps;
 
 import com.automation.core.config.ConfigManager;
 import com.automation.core.context.ScenarioContext;
+import com.automation.core.context.TemplateEngine;
 import com.automation.core.driver.DriverManager;
+import com.automation.core.driver.LoginStateCache;
 import com.automation.core.logging.LogManager;
 import com.automation.keywords.UIKeywords;
 import io.cucumber.java.en.*;
 
-import java.util.Map;
-
 /**
  * Comprehensive UI step definitions for web automation testing.
  * 
@@ -1412,17 +1412,79 @@ public class UISteps {
         }
     }
 
-    // ------------------- Utilities -------------------
+    // ------------------- Cached Login -------------------
+
+    /**
+     * Logs in with the login.{name}.* properties, restoring a cached session (cookies/storage) when available.
+     * The first scenario per user and environment performs the login; later scenarios reuse its snapshot.
+     *
+     * Properties: login.admin.url, login.admin.username, login.admin.password,
+     *             login.admin.username.locator, login.admin.password.locator, login.admin.submit.locator,
+     *             login.admin.success.locator (optional, waited for after login and after restore)
+     *
+     * Example: Given user is logged in as "admin"
+     */
+    @Given("user is logged in as {string}")
+    public void userIsLoggedInAs(String name) {
+        LoginStateCache.login(name, () -> performConfiguredLogin(name));
+        ConfigManager config = ConfigManager.getInstance();
+        String successLocator = config.getProperty("login." + name + ".success.locator");
+        UIKeywords.waitForPageLoad(config.getExplicitWait());
+        if (successLocator != null && !isLoggedIn(successLocator, config.getExplicitWait())) {
+            LogManager.warn("Cached login '" + name + "' is no longer valid - logging in again");
+            LoginStateCache.invalidate(name);
+            LoginStateCache.login(name, () -> performConfiguredLogin(name));
+        }
+    }
 
-    private String replaceVariables(String text) {
-        String result = text;
-        for (Map.Entry<String, Object> entry : ScenarioContext.getAll().entrySet()) {
-            String placeholder = "${" + entry.getKey() + "}";
-            if (result != null && result.contains(placeholder)) {
-                result = result.replace(placeholder, String.valueOf(entry.getValue()));
-                LogManager.info("Replaced variable: " + placeholder + " -> " + entry.getValue());
+    /**
+     * Example: When cached login "admin" is invalidated
+     */
+    @When("cached login {string} is invalidated")
+    public void cachedLoginIsInvalidated(String name) {
+        LoginStateCache.invalidate(name);
+    }
+
+    private void performConfiguredLogin(String name) {
+        ConfigManager config = ConfigManager.getInstance();
+        String prefix = "login." + name + ".";
+        UIKeywords.navigateToURL(replaceVariables(config.getProperty(prefix + "url", config.getAppUrl())));
+        UIKeywords.enterText(getLoginProperty(prefix + "username.locator"), replaceVariables(getLoginProperty(prefix + "username")));
+        UIKeywords.enterText(getLoginProperty(prefix + "password.locator"), replaceVariables(getLoginProperty(prefix + "password")));
+        UIKeywords.clickElement(getLoginProperty(prefix + "submit.locator"));
+
+        String successLocator = config.getProperty(prefix + "success.locator");
+        if (successLocator != null) {
+            UIKeywords.waitForElement(successLocator, config.getExplicitWait());
+            if (!UIKeywords.isElementVisible(successLocator)) {
+                throw new AssertionError("Login '" + name + "' failed - element not visible: " + successLocator);
             }
         }
-        return result;
+    }
+
+    /**
+     * Waits for the logged-in indicator; false when it does not appear in time.
+     */
+    private boolean isLoggedIn(String successLocator, int seconds) {
+        try {
+            UIKeywords.waitForVisible(successLocator, seconds);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private String getLoginProperty(String key) {
+        String value = ConfigManager.getInstance().getProperty(key);
+        if (value == null) {
+            throw new RuntimeException("Login property not configured: " + key);
+        }
+        return value;
+    }
+
+    // ------------------- Utilities -------------------
+
+    private String replaceVariables(String text) {
+        return TemplateEngine.render(text);
     }
 }
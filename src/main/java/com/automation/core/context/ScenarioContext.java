@@ -1,19 +1,36 @@
 package com.automation.core.context;
 
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
 
 /**
  * Thread-safe context for sharing data between step definitions.
- * Each thread maintains its own isolated context for parallel execution.
+ *
+ * Values live in three scopes and lookups fall through them in order:
+ *   scenario - per thread, cleared after every scenario (set/get/remove/clear)
+ *   feature  - shared by all scenarios of the current feature, on any thread (setFeature/computeFeatureIfAbsent)
+ *   suite    - shared by the whole run (setSuite/computeSuiteIfAbsent)
+ * Shared scopes are concurrent maps; computeSuiteIfAbsent runs an expensive setup (auth token, seeded data)
+ * exactly once across all worker threads while other threads wait for that key only.
  */
 public final class ScenarioContext {
 
     // ThreadLocal storing a per-thread Map for context values
     private static final ThreadLocal<Map<String, Object>> THREAD_CONTEXT = ThreadLocal.withInitial(HashMap::new);
+    // Feature URI of the scenario running on this thread, set by the hooks
+    private static final ThreadLocal<String> CURRENT_FEATURE = new ThreadLocal<>();
+
+    private static final SharedScope SUITE = new SharedScope();
+    private static final Map<String, SharedScope> FEATURES = new ConcurrentHashMap<>();
 
     // prevent instantiation
     private ScenarioContext() {}
@@ -41,7 +58,7 @@ public final class ScenarioContext {
      */
     public static Object get(String key) {
         Objects.requireNonNull(key, "key cannot be null");
-        return THREAD_CONTEXT.get().get(key);
+        return lookup(THREAD_CONTEXT.get(), currentFeatureScope(), key);
     }
 
     /**
@@ -52,7 +69,7 @@ public final class ScenarioContext {
     public static <T> T get(String key, Class<T> type) {
         Objects.requireNonNull(key, "key cannot be null");
         Objects.requireNonNull(type, "type cannot be null");
-        Object value = THREAD_CONTEXT.get().get(key);
+        Object value = get(key);
         if (value == null) {
             return null;
         }
@@ -91,15 +108,19 @@ public final class ScenarioContext {
     }
 
     /**
-     * Check if key exists in context.
+     * Check if key exists in any scope.
      */
     public static boolean contains(String key) {
         Objects.requireNonNull(key, "key cannot be null");
-        return THREAD_CONTEXT.get().containsKey(key);
+        if (THREAD_CONTEXT.get().containsKey(key)) {
+            return true;
+        }
+        SharedScope feature = currentFeatureScope();
+        return (feature != null && feature.values.containsKey(key)) || SUITE.values.containsKey(key);
     }
 
     /**
-     * Remove data from context by key.
+     * Remove data from the scenario scope by key.
      */
     @SuppressWarnings("unused")
     public static void remove(String key) {
@@ -108,17 +129,96 @@ public final class ScenarioContext {
     }
 
     /**
-     * Clear all data from context for current thread.
+     * Clear the scenario scope for current thread. Feature and suite values are kept.
      */
     public static void clear() {
         THREAD_CONTEXT.get().clear();
     }
 
     /**
-     * Get a copy of all context data for the current thread. The returned map is unmodifiable.
+     * Get a copy of all visible context data (suite, then feature, then scenario values). The returned map is unmodifiable.
      */
     public static Map<String, Object> getAll() {
-        return Collections.unmodifiableMap(new HashMap<>(THREAD_CONTEXT.get()));
+        Map<String, Object> all = new HashMap<>(SUITE.values);
+        SharedScope feature = currentFeatureScope();
+        if (feature != null) {
+            all.putAll(feature.values);
+        }
+        all.putAll(THREAD_CONTEXT.get());
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Read-only live view over all scopes for the current thread, without the copy made by getAll().
+     * get and containsKey fall through scenario, feature and suite scopes.
+     */
+    static Map<String, Object> view() {
+        return new LayeredView(THREAD_CONTEXT.get(), currentFeatureScope());
+    }
+
+    // ---------------------- Feature scope ----------------------
+
+    /**
+     * Bind the current thread to a feature (its URI). Called by the hooks before each scenario.
+     */
+    public static void enterFeature(String featureId) {
+        if (featureId == null) {
+            CURRENT_FEATURE.remove();
+        } else {
+            CURRENT_FEATURE.set(featureId);
+        }
+    }
+
+    /**
+     * Store a value for all scenarios of the current feature. A null value removes the key.
+     */
+    public static void setFeature(String key, Object value) {
+        Objects.requireNonNull(key, "key cannot be null");
+        requireFeatureScope().put(key, value);
+    }
+
+    /**
+     * Compute a feature-scoped value once, shared by every scenario of the current feature.
+     */
+    public static <T> T computeFeatureIfAbsent(String key, Supplier<T> supplier) {
+        Objects.requireNonNull(key, "key cannot be null");
+        return requireFeatureScope().computeIfAbsent(key, supplier);
+    }
+
+    // ---------------------- Suite scope ----------------------
+
+    /**
+     * Store a value for the whole run. A null value removes the key.
+     */
+    public static void setSuite(String key, Object value) {
+        Objects.requireNonNull(key, "key cannot be null");
+        SUITE.put(key, value);
+    }
+
+    /**
+     * Return the suite value for key, computing it exactly once across all threads when absent.
+     * Concurrent callers for the same key wait for the first computation; other keys are not blocked.
+     * If the supplier fails, the failure is rethrown to every waiting caller and the next call retries.
+     */
+    public static <T> T computeSuiteIfAbsent(String key, Supplier<T> supplier) {
+        Objects.requireNonNull(key, "key cannot be null");
+        return SUITE.computeIfAbsent(key, supplier);
+    }
+
+    /**
+     * Remove data from the suite scope by key.
+     */
+    public static void removeSuite(String key) {
+        Objects.requireNonNull(key, "key cannot be null");
+        SUITE.values.remove(key);
+    }
+
+    /**
+     * Clear feature and suite scopes. Called at the end of the run.
+     */
+    public static void clearSharedScopes() {
+        FEATURES.clear();
+        SUITE.values.clear();
     }
 
     /**
@@ -126,5 +226,123 @@ public final class ScenarioContext {
      */
     public static void reset() {
         THREAD_CONTEXT.remove();
+        CURRENT_FEATURE.remove();
+    }
+
+    private static Object lookup(Map<String, Object> scenario, SharedScope feature, Object key) {
+        Object value = scenario.get(key);
+        if (value != null || scenario.containsKey(key)) {
+            return value;
+        }
+        if (feature != null) {
+            value = feature.values.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return SUITE.values.get(key);
+    }
+
+    private static SharedScope currentFeatureScope() {
+        String featureId = CURRENT_FEATURE.get();
+        return featureId == null ? null : FEATURES.get(featureId);
+    }
+
+    private static SharedScope requireFeatureScope() {
+        String featureId = CURRENT_FEATURE.get();
+        if (featureId == null) {
+            throw new IllegalStateException("No feature bound to thread " + Thread.currentThread().getName()
+                    + " - feature scope is only available inside a running scenario");
+        }
+        return FEATURES.computeIfAbsent(featureId, id -> new SharedScope());
+    }
+
+    /**
+     * Concurrent store with per-key compute-once latching.
+     */
+    private static final class SharedScope {
+        private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, FutureTask<Object>> pending = new ConcurrentHashMap<>();
+
+        void put(String key, Object value) {
+            if (value == null) {
+                values.remove(key);
+            } else {
+                values.put(key, value);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T computeIfAbsent(String key, Supplier<T> supplier) {
+            Object value = values.get(key);
+            if (value != null) {
+                return (T) value;
+            }
+            FutureTask<Object> task = new FutureTask<>(() -> {
+                Object computed = Objects.requireNonNull(supplier.get(), "supplier returned null for key " + key);
+                values.put(key, computed);
+                return computed;
+            });
+            FutureTask<Object> running = pending.putIfAbsent(key, task);
+            if (running == null) {
+                // Another thread may have finished between the first check and registering the latch
+                value = values.get(key);
+                if (value != null) {
+                    pending.remove(key, task);
+                    return (T) value;
+                }
+                running = task;
+                try {
+                    task.run();
+                } finally {
+                    pending.remove(key, task);
+                }
+            }
+            try {
+                return (T) running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for shared context value: " + key, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Failed to compute shared context value: " + key, cause);
+            }
+        }
+    }
+
+    /**
+     * Read-only map over the scenario map and the shared scopes; only point lookups are cheap.
+     */
+    private static final class LayeredView extends AbstractMap<String, Object> {
+        private final Map<String, Object> scenario;
+        private final SharedScope feature;
+
+        LayeredView(Map<String, Object> scenario, SharedScope feature) {
+            this.scenario = scenario;
+            this.feature = feature;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return lookup(scenario, feature, key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return scenario.containsKey(key)
+                    || (feature != null && feature.values.containsKey(key))
+                    || SUITE.values.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return getAll().entrySet();
+        }
     }
 }
@@ -0,0 +1,383 @@
+package com.automation.core.context;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared ${variable} substitution for step definitions, rendered straight from the ScenarioContext map.
+ *
+ * Syntax:
+ *   ${name}          value of a context key
+ *   ${user.id}       nested path: Map keys, List/array indexes and bean getters (an exact key "user.id" wins)
+ *   ${name:-value}   default when the variable is missing or null
+ * Unresolved placeholders without a default are left as written. A "${" whose closing brace does not follow within
+ * 512 characters is literal text, and the text after it is scanned again.
+ *
+ * Templates are parsed once into literal/placeholder segments and cached by template text or file, so repeated
+ * steps and request-body files render in a single pass. Files too large to cache are streamed.
+ */
+public final class TemplateEngine {
+    private static final int MAX_CACHED_TEMPLATES = 2048;
+    private static final int MAX_CACHED_TEMPLATE_LENGTH = 256 * 1024;
+    private static final int MAX_PLACEHOLDER_LENGTH = 512;
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Map<Path, FileTemplate> fileTemplates = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<Method>> getters = new ConcurrentHashMap<>();
+
+    private TemplateEngine() {}
+
+    /**
+     * Renders the text against the current thread's ScenarioContext. Text without placeholders is returned as is.
+     */
+    public static String render(String text) {
+        if (text == null || text.indexOf("${") < 0) {
+            return text;
+        }
+        return compile(text).render(ScenarioContext.view());
+    }
+
+    /**
+     * Renders the text against the given variables.
+     */
+    public static String render(String text, Map<String, ?> variables) {
+        if (text == null || text.indexOf("${") < 0) {
+            return text;
+        }
+        return compile(text).render(variables);
+    }
+
+    /**
+     * Renders a UTF-8 template file against the current ScenarioContext. The parse is cached per file and
+     * refreshed when the file's size or modification time changes.
+     */
+    public static String renderFile(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        long size = Files.size(key);
+        long modified = Files.getLastModifiedTime(key).toMillis();
+        if (size > MAX_CACHED_TEMPLATE_LENGTH) {
+            StringWriter out = new StringWriter((int) Math.min(size, Integer.MAX_VALUE - 8));
+            try (Reader in = Files.newBufferedReader(key, StandardCharsets.UTF_8)) {
+                render(in, out);
+            }
+            return out.toString();
+        }
+        FileTemplate cached = fileTemplates.get(key);
+        if (cached == null || cached.size != size || cached.modified != modified) {
+            cached = new FileTemplate(Template.parse(Files.readString(key, StandardCharsets.UTF_8)), size, modified);
+            if (fileTemplates.size() >= MAX_CACHED_TEMPLATES) {
+                fileTemplates.clear();
+            }
+            fileTemplates.put(key, cached);
+        }
+        return cached.template.render(ScenarioContext.view());
+    }
+
+    /**
+     * Streams a template from reader to writer against the current ScenarioContext without holding the whole body.
+     */
+    public static void render(Reader in, Writer out) throws IOException {
+        StreamRenderer renderer = new StreamRenderer(ScenarioContext.view(), out);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            renderer.feed(buffer, 0, read);
+        }
+        renderer.finish();
+    }
+
+    /**
+     * Parses a template, reusing the cached parse for text seen before.
+     */
+    public static Template compile(String text) {
+        Template template = templates.get(text);
+        if (template != null) {
+            return template;
+        }
+        template = Template.parse(text);
+        if (text.length() <= MAX_CACHED_TEMPLATE_LENGTH) {
+            if (templates.size() >= MAX_CACHED_TEMPLATES) {
+                templates.clear();
+            }
+            templates.put(text, template);
+        }
+        return template;
+    }
+
+    public static void clearCache() {
+        templates.clear();
+        fileTemplates.clear();
+    }
+
+    /**
+     * Resolves a variable name or dotted path; returns null when it cannot be resolved.
+     */
+    static Object resolve(Map<String, ?> variables, String path) {
+        Object value = variables.get(path);
+        if (value != null || path.indexOf('.') < 0) {
+            return value;
+        }
+        String[] parts = path.split("\\.");
+        value = variables.get(parts[0]);
+        for (int i = 1; i < parts.length && value != null; i++) {
+            value = property(value, parts[i]);
+        }
+        return value;
+    }
+
+    private static Object property(Object target, String name) {
+        if (target instanceof Map) {
+            return ((Map<?, ?>) target).get(name);
+        }
+        if (target instanceof List || target.getClass().isArray()) {
+            int index;
+            try {
+                index = Integer.parseInt(name);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (target instanceof List) {
+                List<?> list = (List<?>) target;
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            }
+            return index >= 0 && index < Array.getLength(target) ? Array.get(target, index) : null;
+        }
+        Optional<Method> getter = getters.computeIfAbsent(target.getClass().getName() + "#" + name,
+                key -> findGetter(target.getClass(), name));
+        if (!getter.isPresent()) {
+            return null;
+        }
+        try {
+            return getter.get().invoke(target);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Optional<Method> findGetter(Class<?> type, String name) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : new String[]{"get" + suffix, "is" + suffix, name}) {
+            try {
+                Method method = type.getMethod(candidate);
+                if (method.getReturnType() != void.class) {
+                    return Optional.of(method);
+                }
+            } catch (NoSuchMethodException e) {
+                // try next naming convention
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A parsed template: alternating literal and placeholder segments.
+     */
+    public static final class Template {
+        private final Object[] segments;
+        private final int literalLength;
+
+        private Template(Object[] segments, int literalLength) {
+            this.segments = segments;
+            this.literalLength = literalLength;
+        }
+
+        static Template parse(String text) {
+            List<Object> segments = new ArrayList<>();
+            int literalLength = 0;
+            int position = 0;
+            int searchFrom = 0;
+            while (searchFrom < text.length()) {
+                int start = text.indexOf("${", searchFrom);
+                if (start < 0) {
+                    break;
+                }
+                int end = closingBrace(text, start + 2);
+                if (end < 0) {
+                    searchFrom = start + 2;
+                    continue;
+                }
+                searchFrom = end + 1;
+                Placeholder placeholder = Placeholder.parse(text.substring(start + 2, end));
+                if (placeholder == null) {
+                    // "${}" stays literal
+                    continue;
+                }
+                if (start > position) {
+                    segments.add(text.substring(position, start));
+                    literalLength += start - position;
+                }
+                segments.add(placeholder);
+                position = end + 1;
+            }
+            if (position < text.length()) {
+                segments.add(text.substring(position));
+                literalLength += text.length() - position;
+            }
+            return new Template(segments.toArray(), literalLength);
+        }
+
+        private static int closingBrace(String text, int from) {
+            int limit = Math.min(text.length(), from + MAX_PLACEHOLDER_LENGTH + 1);
+            for (int i = from; i < limit; i++) {
+                if (text.charAt(i) == '}') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public String render(Map<String, ?> variables) {
+            StringBuilder out = new StringBuilder(literalLength + 16 * segments.length);
+            try {
+                render(variables, out);
+            } catch (IOException e) {
+                // StringBuilder does not throw
+                throw new UncheckedIOException(e);
+            }
+            return out.toString();
+        }
+
+        public void render(Map<String, ?> variables, Appendable out) throws IOException {
+            for (Object segment : segments) {
+                if (segment instanceof String) {
+                    out.append((String) segment);
+                } else {
+                    ((Placeholder) segment).appendTo(out, variables);
+                }
+            }
+        }
+    }
+
+    private static final class FileTemplate {
+        private final Template template;
+        private final long size;
+        private final long modified;
+
+        FileTemplate(Template template, long size, long modified) {
+            this.template = template;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * The render(Reader, Writer) state machine; applies the same placeholder rules as Template.parse.
+     */
+    private static final class StreamRenderer {
+        private final Map<String, ?> variables;
+        private final Writer out;
+        private final StringBuilder placeholder = new StringBuilder();
+        // 0 = text, 1 = after '$', 2 = inside ${...}
+        private int state;
+
+        StreamRenderer(Map<String, ?> variables, Writer out) {
+            this.variables = variables;
+            this.out = out;
+        }
+
+        void feed(char[] buffer, int offset, int length) throws IOException {
+            int end = offset + length;
+            int literalStart = offset;
+            for (int i = offset; i < end; i++) {
+                char c = buffer[i];
+                if (state == 0) {
+                    if (c == '$') {
+                        out.write(buffer, literalStart, i - literalStart);
+                        state = 1;
+                    }
+                } else if (state == 1) {
+                    if (c == '{') {
+                        state = 2;
+                        placeholder.setLength(0);
+                    } else {
+                        out.write('$');
+                        state = c == '$' ? 1 : 0;
+                        literalStart = c == '$' ? i + 1 : i;
+                        continue;
+                    }
+                    literalStart = i + 1;
+                } else {
+                    if (c == '}') {
+                        Placeholder parsed = Placeholder.parse(placeholder.toString());
+                        if (parsed != null) {
+                            parsed.appendTo(out, variables);
+                        } else {
+                            out.write("${");
+                            out.write(placeholder.toString());
+                            out.write('}');
+                        }
+                        state = 0;
+                    } else if (placeholder.length() >= MAX_PLACEHOLDER_LENGTH) {
+                        // Not a placeholder: "${" is literal and the buffered text is scanned again
+                        char[] pending = placeholder.append(c).toString().toCharArray();
+                        out.write("${");
+                        state = 0;
+                        feed(pending, 0, pending.length);
+                    } else {
+                        placeholder.append(c);
+                    }
+                    literalStart = i + 1;
+                }
+            }
+            if (state == 0) {
+                out.write(buffer, literalStart, end - literalStart);
+            }
+        }
+
+        void finish() throws IOException {
+            if (state == 1) {
+                out.write('$');
+            } else if (state == 2) {
+                out.write("${");
+                out.write(placeholder.toString());
+            }
+        }
+    }
+
+    private static final class Placeholder {
+        private final String path;
+        private final String defaultValue;
+        private final String raw;
+
+        private Placeholder(String path, String defaultValue, String raw) {
+            this.path = path;
+            this.defaultValue = defaultValue;
+            this.raw = raw;
+        }
+
+        static Placeholder parse(String body) {
+            int separator = body.indexOf(":-");
+            String path = (separator >= 0 ? body.substring(0, separator) : body).trim();
+            if (path.isEmpty()) {
+                return null;
+            }
+            return new Placeholder(path, separator >= 0 ? body.substring(separator + 2) : null, "${" + body + "}");
+        }
+
+        void appendTo(Appendable out, Map<String, ?> variables) throws IOException {
+            Object value = resolve(variables, path);
+            if (value != null) {
+                out.append(String.valueOf(value));
+            } else if (defaultValue != null) {
+                out.append(defaultValue);
+            } else if (variables.containsKey(path)) {
+                out.append("null");
+            } else {
+                out.append(raw);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.automation.core.driver;
 import com.automation.core.config.ConfigManager;
 import com.automation.core.logging.LogManager;
 import com.automation.core.mainframe.MainFrameDriver;
+import com.automation.core.mainframe.MainframeSessionPool;
 import com.microsoft.playwright.*;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
@@ -62,15 +63,34 @@ public class DriverManager {
     }
 
     private static void initializeSeleniumDriver() {
+        if (SeleniumSessionPool.isEnabled()) {
+            // Pooled mode: lease this worker's (scrubbed) session instead of spawning a new browser
+            WebDriver pooled = SeleniumSessionPool.lease();
+            NetworkRoutingProfile.current().applyTo(pooled);
+            seleniumDriver.set(pooled);
+            return;
+        }
+        WebDriver driver = obtainSeleniumDriver();
+        NetworkRoutingProfile.current().applyTo(driver);
+        seleniumDriver.set(driver);
+        activeSeleniumDrivers.add(driver);
+    }
+
+    /**
+     * Returns a pre-warmed driver when one is ready, otherwise launches a new one.
+     */
+    static WebDriver obtainSeleniumDriver() {
+        WebDriver warm = DriverPrewarmer.takeSeleniumDriver();
+        return warm != null ? warm : createSeleniumDriver();
+    }
+
+    static WebDriver createSeleniumDriver() {
         ConfigManager config = ConfigManager.getInstance();
         String remoteProvider = config.getProperty("remote.provider", "").trim();
         
         // Check if remote execution is enabled
         if (!remoteProvider.isEmpty() && !"none".equalsIgnoreCase(remoteProvider)) {
-            WebDriver driver = RemoteDriverManager.initializeRemoteSeleniumDriver();
-            seleniumDriver.set(driver);
-            activeSeleniumDrivers.add(driver);
-            return;
+            return RemoteDriverManager.initializeRemoteSeleniumDriver();
         }
         
         // Local execution
@@ -98,9 +118,8 @@ public class DriverManager {
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getIntProperty("implicit.wait", 10)));
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getIntProperty("page.load.timeout", 30)));
             driver.manage().window().maximize();
-            seleniumDriver.set(driver);
-            activeSeleniumDrivers.add(driver);
             LogManager.info("Selenium WebDriver initialized: " + browser + " [Thread: " + Thread.currentThread().getName() + "]");
+            return driver;
         } catch (Exception e) {
             LogManager.error("Error initializing Selenium driver: " + e.getMessage());
             if (driver != null) {
@@ -115,41 +134,29 @@ public class DriverManager {
     }
 
     private static void initializePlaywrightDriver() {
+        if (PlaywrightBrowserPool.isEnabled()) {
+            initializePooledPlaywrightDriver();
+            return;
+        }
+
         ConfigManager config = ConfigManager.getInstance();
         String browser = config.getBrowser();
-        boolean headless = config.isHeadless();
 
         try {
-            // Create fresh Playwright instance for each scenario
-            Playwright pw = Playwright.create();
+            // Create fresh Playwright instance for each scenario (or claim a pre-warmed one)
+            DriverPrewarmer.WarmBrowser warm = DriverPrewarmer.takePlaywrightBrowser();
+            Playwright pw = warm != null ? warm.getPlaywright() : Playwright.create();
             playwright.set(pw);
             activePlaywrights.add(pw);
             LogManager.info("Playwright instance created for thread: " + Thread.currentThread().getName());
 
             // Create Browser instance
-            BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions().setHeadless(headless);
-            Browser browserInstance;
-            switch (browser.toLowerCase()) {
-                case "firefox":
-                    browserInstance = pw.firefox().launch(launchOptions);
-                    break;
-                case "webkit":
-                    browserInstance = pw.webkit().launch(launchOptions);
-                    break;
-                case "chrome":
-                default:
-                    browserInstance = pw.chromium().launch(launchOptions);
-                    break;
-            }
+            Browser browserInstance = warm != null ? warm.getBrowser() : launchPlaywrightBrowser(pw);
             playwrightBrowser.set(browserInstance);
             LogManager.info("Playwright Browser launched: " + browser);
 
             // Create context and page
-            BrowserContext context = browserInstance.newContext();
-            playwrightContext.set(context);
-            Page page = context.newPage();
-            page.setDefaultTimeout(config.getIntProperty("explicit.wait", 20) * 1000);
-            playwrightPage.set(page);
+            createPlaywrightContext(browserInstance);
             LogManager.info("Playwright Context and Page created");
         } catch (Exception e) {
             LogManager.error("Error initializing Playwright: " + e.getMessage());
@@ -159,6 +166,56 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Pooled mode: reuse the worker thread's browser and only create a fresh context and page.
+     */
+    private static void initializePooledPlaywrightDriver() {
+        long start = System.currentTimeMillis();
+        try {
+            try {
+                createPlaywrightContext(PlaywrightBrowserPool.acquire());
+            } catch (PlaywrightException e) {
+                // Browser died between scenarios without firing a disconnect - relaunch once
+                LogManager.warn("Pooled browser rejected new context, relaunching: " + e.getMessage());
+                PlaywrightBrowserPool.invalidate();
+                createPlaywrightContext(PlaywrightBrowserPool.acquire());
+            }
+            LogManager.info("Playwright Context and Page created from pooled browser in "
+                    + (System.currentTimeMillis() - start) + " ms [Thread: " + Thread.currentThread().getName() + "]");
+        } catch (Exception e) {
+            LogManager.error("Error initializing pooled Playwright: " + e.getMessage());
+            cleanupPlaywrightOnError();
+            throw new RuntimeException("Failed to initialize Playwright driver", e);
+        }
+    }
+
+    static Browser launchPlaywrightBrowser(Playwright pw) {
+        ConfigManager config = ConfigManager.getInstance();
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions().setHeadless(config.isHeadless());
+        switch (config.getBrowser().toLowerCase()) {
+            case "firefox":
+                return pw.firefox().launch(launchOptions);
+            case "webkit":
+                return pw.webkit().launch(launchOptions);
+            case "chrome":
+            default:
+                return pw.chromium().launch(launchOptions);
+        }
+    }
+
+    private static void createPlaywrightContext(Browser browserInstance) {
+        createPlaywrightContext(browserInstance, new Browser.NewContextOptions());
+    }
+
+    private static void createPlaywrightContext(Browser browserInstance, Browser.NewContextOptions options) {
+        BrowserContext context = browserInstance.newContext(options);
+        NetworkRoutingProfile.current().applyTo(context);
+        playwrightContext.set(context);
+        Page page = context.newPage();
+        page.setDefaultTimeout(ConfigManager.getInstance().getIntProperty("explicit.wait", 20) * 1000);
+        playwrightPage.set(page);
+    }
+
     private static void cleanupPlaywrightOnError() {
         try {
             if (playwrightPage.get() != null) playwrightPage.get().close();
@@ -172,6 +229,9 @@ public class DriverManager {
         try {
             if (playwright.get() != null) playwright.get().close();
         } catch (Exception ignored) {}
+        if (PlaywrightBrowserPool.isEnabled()) {
+            PlaywrightBrowserPool.release();
+        }
         playwrightPage.remove();
         playwrightContext.remove();
         playwrightBrowser.remove();
@@ -243,6 +303,22 @@ public class DriverManager {
         playwrightPage.set(page);
     }
 
+    /**
+     * Replaces the current scenario's context and page with a new context on the same browser,
+     * e.g. to start from a saved storage state.
+     */
+    public static Page newPlaywrightContext(Browser.NewContextOptions options) {
+        Page current = getPlaywrightPage();
+        Browser browserInstance = current.context().browser();
+        try {
+            current.context().close();
+        } catch (Exception e) {
+            LogManager.error("Error closing Playwright context: " + e.getMessage());
+        }
+        createPlaywrightContext(browserInstance, options);
+        return playwrightPage.get();
+    }
+
     public static AppiumDriver getAppiumDriver() {
         return appiumDriver.get();
     }
@@ -262,7 +338,16 @@ public class DriverManager {
 
         if (ConfigManager.isSelenium()) {
             WebDriver driver = seleniumDriver.get();
-            if (driver != null) {
+            if (driver != null && SeleniumSessionPool.isEnabled()) {
+                try {
+                    // Pooled session is scrubbed and kept for the next scenario on this worker
+                    SeleniumSessionPool.release(driver);
+                } catch (Exception e) {
+                    LogManager.error("Error releasing pooled Selenium session: " + e.getMessage());
+                } finally {
+                    seleniumDriver.remove();
+                }
+            } else if (driver != null) {
                 try {
                     driver.quit();
                     activeSeleniumDrivers.remove(driver);
@@ -272,6 +357,7 @@ public class DriverManager {
                 } finally {
                     seleniumDriver.remove();
                 }
+                DriverPrewarmer.refill();
             }
         } else if (ConfigManager.isPlaywright()) {
             // Close page, context, browser, and playwright for each scenario in parallel execution
@@ -304,6 +390,10 @@ public class DriverManager {
                     playwrightBrowser.remove();
                 }
             }
+            if (PlaywrightBrowserPool.isEnabled()) {
+                // Pooled browser stays alive for the next scenario on this worker
+                PlaywrightBrowserPool.release();
+            }
             Playwright pw = playwright.get();
             if (pw != null) {
                 try {
@@ -315,6 +405,7 @@ public class DriverManager {
                 } finally {
                     playwright.remove();
                 }
+                DriverPrewarmer.refill();
             }
         } else if (ConfigManager.isMobile()) {
             quitAppiumDriver();
@@ -406,9 +497,20 @@ public class DriverManager {
             }
             activePlaywrights.clear();
         }
+
+        // Cleanup pooled sessions, browsers and unclaimed pre-warmed spares
+        DriverPrewarmer.shutdown();
+        SeleniumSessionPool.shutdown();
+        PlaywrightBrowserPool.shutdown();
+        MainframeSessionPool.shutdown();
     }
 
     private static void initializeMainframeDriver() {
+        if (MainframeSessionPool.isEnabled()) {
+            mainframeDriver.set(MainframeSessionPool.acquire());
+            LogManager.info("MainframeDriver leased from pool: " + MainframeSessionPool.currentSessionId());
+            return;
+        }
         ConfigManager config = ConfigManager.getInstance();
         String sessionId = config.getProperty("mainframe.sessionId", "A");
         MainFrameDriver driver = new MainFrameDriver();
@@ -418,6 +520,11 @@ public class DriverManager {
     }
 
     public static void quitMainframeDriver() {
+        if (MainframeSessionPool.isEnabled()) {
+            mainframeDriver.remove();
+            MainframeSessionPool.release();
+            return;
+        }
         if (mainframeDriver.get() != null) {
             try {
                 mainframeDriver.get().close();
@@ -0,0 +1,243 @@
+package com.automation.core.driver;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Launches browsers in the background so scenarios pick up an already running instance.
+ * Started from CucumberHooks.beforeAll() while features are still being parsed; a spare is refilled
+ * asynchronously whenever a scenario releases its driver.
+ *
+ * Enable with driver.prewarm=true. driver.prewarm.count sets the number of warm spares (default: thread.count).
+ * Warm Playwright instances are handed over to exactly one worker thread and never used concurrently.
+ */
+public class DriverPrewarmer {
+    private static final BlockingQueue<WebDriver> warmSeleniumDrivers = new LinkedBlockingQueue<>();
+    private static final BlockingQueue<WarmBrowser> warmPlaywrightBrowsers = new LinkedBlockingQueue<>();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static volatile ExecutorService executor;
+
+    // Metrics
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    private DriverPrewarmer() {}
+
+    public static boolean isEnabled() {
+        return (ConfigManager.isSelenium() || ConfigManager.isPlaywright())
+                && ConfigManager.getInstance().getBooleanProperty("driver.prewarm", false);
+    }
+
+    /**
+     * Starts the pre-warm executor and launches the initial spares in parallel.
+     */
+    public static synchronized void start() {
+        if (!isEnabled() || executor != null) {
+            return;
+        }
+        int count = getTargetCount();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(count, r -> {
+            Thread t = new Thread(r, "driver-prewarm-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        LogManager.info("Pre-warming " + count + " " + ConfigManager.FRAMEWORK_TYPE + " browser(s) in background");
+        for (int i = 0; i < count; i++) {
+            submitLaunch();
+        }
+    }
+
+    /**
+     * Tops the warm spares back up to driver.prewarm.count. Called when a scenario releases its driver.
+     */
+    public static void refill() {
+        if (executor == null) {
+            return;
+        }
+        int available = ConfigManager.isSelenium() ? warmSeleniumDrivers.size() : warmPlaywrightBrowsers.size();
+        if (available + inFlight.get() < getTargetCount()) {
+            submitLaunch();
+        }
+    }
+
+    /**
+     * Returns a warm Selenium driver, or null when none is ready (caller launches one inline).
+     */
+    public static WebDriver takeSeleniumDriver() {
+        if (executor == null) {
+            return null;
+        }
+        WebDriver driver = warmSeleniumDrivers.poll();
+        while (driver != null && !isAlive(driver)) {
+            quitQuietly(driver);
+            driver = warmSeleniumDrivers.poll();
+        }
+        recordTake(driver != null);
+        return driver;
+    }
+
+    /**
+     * Returns a warm Playwright + Browser pair, or null when none is ready (caller launches one inline).
+     */
+    public static WarmBrowser takePlaywrightBrowser() {
+        if (executor == null) {
+            return null;
+        }
+        WarmBrowser warm = warmPlaywrightBrowsers.poll();
+        while (warm != null && !warm.browser.isConnected()) {
+            warm.close();
+            warm = warmPlaywrightBrowsers.poll();
+        }
+        recordTake(warm != null);
+        return warm;
+    }
+
+    /**
+     * Stops the executor and closes every spare that was never claimed. A launch still running at this point closes
+     * its browser when it finishes instead of queueing it.
+     */
+    public static synchronized void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        WebDriver driver;
+        while ((driver = warmSeleniumDrivers.poll()) != null) {
+            quitQuietly(driver);
+        }
+        WarmBrowser warm;
+        while ((warm = warmPlaywrightBrowsers.poll()) != null) {
+            warm.close();
+        }
+    }
+
+    public static String getStatistics() {
+        return "Driver pre-warm: hits=" + hits.get() + ", misses=" + misses.get() + ", failed launches=" + failures.get();
+    }
+
+    public static void logStatistics() {
+        if (hits.get() + misses.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static int getTargetCount() {
+        ConfigManager config = ConfigManager.getInstance();
+        return Math.max(1, config.getIntProperty("driver.prewarm.count", config.getThreadCount()));
+    }
+
+    private static void submitLaunch() {
+        ExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        current.submit(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                if (ConfigManager.isSelenium()) {
+                    WebDriver driver = DriverManager.createSeleniumDriver();
+                    if (!keep(current, warmSeleniumDrivers, driver)) {
+                        quitQuietly(driver);
+                        return;
+                    }
+                } else {
+                    Playwright pw = Playwright.create();
+                    WarmBrowser warm;
+                    try {
+                        warm = new WarmBrowser(pw, DriverManager.launchPlaywrightBrowser(pw));
+                    } catch (RuntimeException e) {
+                        pw.close();
+                        throw e;
+                    }
+                    if (!keep(current, warmPlaywrightBrowsers, warm)) {
+                        warm.close();
+                        return;
+                    }
+                }
+                LogManager.info("Pre-warmed browser ready in " + (System.currentTimeMillis() - start) + " ms");
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                LogManager.warn("Browser pre-warm failed: " + e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Queues a launched spare unless the executor that launched it has been shut down in the meantime; shutdown()
+     * drains the queues under the same lock, so a spare queued here is always either claimed or closed.
+     */
+    private static synchronized <T> boolean keep(ExecutorService launchedBy, BlockingQueue<T> queue, T spare) {
+        return executor == launchedBy && queue.offer(spare);
+    }
+
+    private static void recordTake(boolean hit) {
+        if (hit) {
+            hits.incrementAndGet();
+            LogManager.info("Using pre-warmed browser [Thread: " + Thread.currentThread().getName() + "]");
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            LogManager.debug("Error quitting pre-warmed driver: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A launched Playwright instance and its browser, waiting to be claimed by a worker thread.
+     */
+    public static class WarmBrowser {
+        private final Playwright playwright;
+        private final Browser browser;
+
+        WarmBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        public Playwright getPlaywright() {
+            return playwright;
+        }
+
+        public Browser getBrowser() {
+            return browser;
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } catch (Exception ignored) {}
+            try {
+                playwright.close();
+            } catch (Exception ignored) {}
+        }
+    }
+}
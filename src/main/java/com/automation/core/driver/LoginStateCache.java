@@ -0,0 +1,190 @@
+package com.automation.core.driver;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches authenticated browser state so a named login runs once per user and environment.
+ * Playwright snapshots BrowserContext.storageState() and later scenarios start a new context from it;
+ * Selenium snapshots cookies plus a localStorage dump and injects them into the current session.
+ *
+ * Only one thread performs the login for a given name; others wait for its snapshot.
+ * Entries expire after login.cache.ttl.minutes (default 30). Set login.cache.enabled=false to always log in.
+ */
+public class LoginStateCache {
+    private static final Map<String, LoginState> cache = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private static final String DUMP_LOCAL_STORAGE_SCRIPT =
+            "var s = {}; for (var i = 0; i < window.localStorage.length; i++) {"
+            + " var k = window.localStorage.key(i); s[k] = window.localStorage.getItem(k); } return s;";
+    private static final String RESTORE_LOCAL_STORAGE_SCRIPT =
+            "var s = arguments[0]; for (var k in s) { window.localStorage.setItem(k, s[k]); }";
+
+    // Metrics
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger logins = new AtomicInteger();
+
+    private LoginStateCache() {}
+
+    /**
+     * Restores the cached state for the given login name, or runs the login flow once and snapshots it.
+     *
+     * @param name      logical login name, e.g. "admin"
+     * @param loginFlow performs the actual login on the current driver
+     */
+    public static void login(String name, Runnable loginFlow) {
+        if (!ConfigManager.getInstance().getBooleanProperty("login.cache.enabled", true)) {
+            loginFlow.run();
+            return;
+        }
+
+        String key = getKey(name);
+        if (restoreIfValid(key)) {
+            return;
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Another thread may have logged in while we were waiting
+            if (restoreIfValid(key)) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            loginFlow.run();
+            cache.put(key, snapshot());
+            logins.incrementAndGet();
+            LogManager.info("Login '" + key + "' performed and cached in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached state, e.g. when a scenario lands on a logged-out page.
+     */
+    public static void invalidate(String name) {
+        if (cache.remove(getKey(name)) != null) {
+            LogManager.info("Invalidated cached login '" + getKey(name) + "'");
+        }
+    }
+
+    public static void invalidateAll() {
+        cache.clear();
+    }
+
+    public static boolean isCached(String name) {
+        LoginState state = cache.get(getKey(name));
+        return state != null && !state.isExpired();
+    }
+
+    public static String getStatistics() {
+        return "Login state cache: logins=" + logins.get() + ", restored=" + hits.get();
+    }
+
+    public static void logStatistics() {
+        if (logins.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static String getKey(String name) {
+        return name + "@" + ConfigManager.getEnv();
+    }
+
+    private static boolean restoreIfValid(String key) {
+        LoginState state = cache.get(key);
+        if (state == null) {
+            return false;
+        }
+        if (state.isExpired()) {
+            cache.remove(key, state);
+            LogManager.info("Cached login '" + key + "' expired");
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        restore(state);
+        hits.incrementAndGet();
+        LogManager.info("Restored cached login '" + key + "' in " + (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LoginState snapshot() {
+        if (ConfigManager.isPlaywright()) {
+            Page page = DriverManager.getPlaywrightPage();
+            return new LoginState(page.url(), page.context().storageState(), null, null);
+        }
+        WebDriver driver = DriverManager.getSeleniumDriver();
+        Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+        Map<String, String> localStorage = new HashMap<>();
+        Object dump = ((JavascriptExecutor) driver).executeScript(DUMP_LOCAL_STORAGE_SCRIPT);
+        if (dump instanceof Map) {
+            ((Map<String, Object>) dump).forEach((k, v) -> localStorage.put(k, String.valueOf(v)));
+        }
+        return new LoginState(driver.getCurrentUrl(), null, cookies, localStorage);
+    }
+
+    private static void restore(LoginState state) {
+        if (ConfigManager.isPlaywright()) {
+            // The new context carries the storage state from its first request, so one load is enough
+            Page page = DriverManager.newPlaywrightContext(new Browser.NewContextOptions().setStorageState(state.storageState));
+            page.navigate(state.url);
+            page.waitForLoadState(LoadState.LOAD);
+            return;
+        }
+        WebDriver driver = DriverManager.getSeleniumDriver();
+        // Cookies and storage can only be set for the origin currently loaded
+        driver.get(state.url);
+        driver.manage().deleteAllCookies();
+        Date now = new Date();
+        for (Cookie cookie : state.cookies) {
+            if (cookie.getExpiry() == null || cookie.getExpiry().after(now)) {
+                driver.manage().addCookie(cookie);
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_LOCAL_STORAGE_SCRIPT, state.localStorage);
+        // Reload so the page is rendered with the restored session before the next step runs
+        driver.navigate().refresh();
+        new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getInstance().getExplicitWait()))
+                .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+    }
+
+    private static class LoginState {
+        private final String url;
+        private final String storageState;
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final long createdAt = System.currentTimeMillis();
+
+        LoginState(String url, String storageState, Set<Cookie> cookies, Map<String, String> localStorage) {
+            this.url = url;
+            this.storageState = storageState;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+        }
+
+        boolean isExpired() {
+            long ttlMinutes = ConfigManager.getInstance().getIntProperty("login.cache.ttl.minutes", 30);
+            return ttlMinutes > 0 && System.currentTimeMillis() - createdAt > ttlMinutes * 60_000L;
+        }
+    }
+}
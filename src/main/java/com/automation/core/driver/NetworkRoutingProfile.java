@@ -0,0 +1,345 @@
+package com.automation.core.driver;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.automation.core.logging.UnifiedLogger;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks or stubs UI network requests that no assertion needs (analytics, ads, fonts, large media).
+ * Applied automatically by DriverManager when a context/session starts.
+ *
+ * Default profile (network.routing.enabled=true):
+ *   network.block.urls            - comma separated URL globs to abort (** any chars, * any chars except /)
+ *   network.stub.urls             - URL globs answered with an empty 200 response
+ *   network.block.resource.types  - Playwright resource types to abort, e.g. image,font,media
+ * Named profiles use network.profile.{name}.* and are selected per scenario with tag @network:{name};
+ * @network:none disables routing for a scenario.
+ *
+ * Playwright uses BrowserContext.route. Selenium uses the CDP Fetch domain on Chromium browsers: Fetch.enable
+ * pauses only requests matching a loose form of the globs (or a blocked resource type), and the same compiled
+ * patterns as Playwright decide whether each paused request is stubbed, aborted or continued.
+ */
+public class NetworkRoutingProfile {
+    private static final ThreadLocal<NetworkRoutingProfile> scenarioProfile = new ThreadLocal<>();
+    private static final ThreadLocal<RoutingStats> scenarioStats = new ThreadLocal<>();
+    private static final Map<String, NetworkRoutingProfile> profiles = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> routedSessions = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final NetworkRoutingProfile NONE = new NetworkRoutingProfile("none",
+            Collections.emptyList(), Collections.emptyList(), Collections.emptySet());
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+
+    // Playwright resource type -> CDP Network.ResourceType
+    private static final Map<String, String> CDP_RESOURCE_TYPES = new HashMap<>();
+
+    static {
+        for (String type : new String[]{"Document", "Stylesheet", "Image", "Media", "Font", "Script", "TextTrack",
+                "XHR", "Fetch", "EventSource", "WebSocket", "Manifest", "Other"}) {
+            CDP_RESOURCE_TYPES.put(type.toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    private final String name;
+    private final List<String> blockUrls;
+    private final List<String> stubUrls;
+    private final Set<String> blockResourceTypes;
+    private final List<Pattern> blockPatterns;
+    private final List<Pattern> stubPatterns;
+
+    private NetworkRoutingProfile(String name, List<String> blockUrls, List<String> stubUrls, Set<String> blockResourceTypes) {
+        this.name = name;
+        this.blockUrls = blockUrls;
+        this.stubUrls = stubUrls;
+        this.blockResourceTypes = blockResourceTypes;
+        this.blockPatterns = blockUrls.stream().map(NetworkRoutingProfile::globToPattern).collect(Collectors.toList());
+        this.stubPatterns = stubUrls.stream().map(NetworkRoutingProfile::globToPattern).collect(Collectors.toList());
+    }
+
+    /**
+     * Selects the profile for the current scenario from its tags. Called from CucumberHooks before the driver starts.
+     */
+    public static void selectForScenario(Collection<String> tags) {
+        String selected = null;
+        for (String tag : tags) {
+            if (tag.startsWith("@network:")) {
+                selected = tag.substring("@network:".length());
+            }
+        }
+        if (selected == null) {
+            selected = ConfigManager.getInstance().getBooleanProperty("network.routing.enabled", false) ? "default" : "none";
+        }
+        scenarioProfile.set(forName(selected));
+        scenarioStats.set(new RoutingStats());
+    }
+
+    /**
+     * Returns the profile for the current scenario (default profile when no scenario selected one).
+     */
+    public static NetworkRoutingProfile current() {
+        NetworkRoutingProfile profile = scenarioProfile.get();
+        if (profile == null) {
+            boolean enabled = ConfigManager.getInstance().getBooleanProperty("network.routing.enabled", false);
+            profile = forName(enabled ? "default" : "none");
+        }
+        return profile;
+    }
+
+    public static NetworkRoutingProfile forName(String name) {
+        if ("none".equalsIgnoreCase(name)) {
+            return NONE;
+        }
+        return profiles.computeIfAbsent(name, NetworkRoutingProfile::load);
+    }
+
+    public boolean isEmpty() {
+        return blockUrls.isEmpty() && stubUrls.isEmpty() && blockResourceTypes.isEmpty();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registers the route handler on a Playwright context.
+     */
+    public void applyTo(BrowserContext context) {
+        if (isEmpty()) {
+            return;
+        }
+        RoutingStats stats = getStats();
+        // Without resource-type rules only matching URLs need to pass through the Java handler
+        Predicate<String> routed = blockResourceTypes.isEmpty()
+                ? url -> matchesAny(blockPatterns, url) || matchesAny(stubPatterns, url)
+                : url -> true;
+        context.route(routed, route -> handle(route, stats));
+        LogManager.info("Network routing profile '" + name + "' applied to Playwright context");
+    }
+
+    /**
+     * Intercepts the profile's requests on a Selenium session (Chromium only). An empty profile removes the
+     * interception of a previous scenario, which matters for pooled sessions.
+     */
+    public void applyTo(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            if (!isEmpty()) {
+                LogManager.debug("Network routing not supported for " + driver.getClass().getSimpleName());
+            }
+            return;
+        }
+        boolean routed = routedSessions.remove(driver);
+        if (isEmpty() && !routed) {
+            // Nothing to block and nothing left over from a previous scenario on this session
+            return;
+        }
+        DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        if (routed) {
+            devTools.clearListeners();
+            devTools.send(new Command<>("Fetch.disable", Collections.emptyMap()));
+        }
+        List<Map<String, Object>> patterns = fetchPatterns();
+        if (patterns.isEmpty()) {
+            return;
+        }
+        RoutingStats stats = getStats();
+        devTools.addListener(REQUEST_PAUSED, paused -> handle(devTools, paused, stats));
+        devTools.send(new Command<>("Fetch.enable", Collections.singletonMap("patterns", patterns)));
+        routedSessions.add(driver);
+        LogManager.info("Network routing profile '" + name + "' applied to Selenium session (" + patterns.size() + " patterns)");
+    }
+
+    /**
+     * Logs the current scenario's blocked/stubbed request counters to the reports and resets them.
+     */
+    public static void reportScenario() {
+        RoutingStats stats = scenarioStats.get();
+        if (stats != null && stats.total() > 0) {
+            UnifiedLogger.info("Network routing '" + current().name + "': " + stats);
+        }
+        scenarioStats.remove();
+        scenarioProfile.remove();
+    }
+
+    private static RoutingStats getStats() {
+        RoutingStats stats = scenarioStats.get();
+        if (stats == null) {
+            stats = new RoutingStats();
+            scenarioStats.set(stats);
+        }
+        return stats;
+    }
+
+    private void handle(Route route, RoutingStats stats) {
+        switch (decide(route.request().url(), route.request().resourceType(), stats)) {
+            case STUB:
+                route.fulfill(new Route.FulfillOptions().setStatus(200).setBody(""));
+                break;
+            case BLOCK:
+                route.abort();
+                break;
+            default:
+                route.resume();
+        }
+    }
+
+    private void handle(DevTools devTools, Map<String, Object> paused, RoutingStats stats) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", paused.get("requestId"));
+        String url = String.valueOf(((Map<?, ?>) paused.get("request")).get("url"));
+        String type = String.valueOf(paused.get("resourceType")).toLowerCase(Locale.ROOT);
+        String command;
+        switch (decide(url, type, stats)) {
+            case STUB:
+                command = "Fetch.fulfillRequest";
+                params.put("responseCode", 200);
+                params.put("body", "");
+                break;
+            case BLOCK:
+                command = "Fetch.failRequest";
+                params.put("errorReason", "BlockedByClient");
+                break;
+            default:
+                command = "Fetch.continueRequest";
+        }
+        try {
+            devTools.send(new Command<>(command, params));
+        } catch (RuntimeException e) {
+            // The page or session went away while the request was paused
+            LogManager.debug(command + " failed for " + url + ": " + e.getMessage());
+        }
+    }
+
+    private Decision decide(String url, String type, RoutingStats stats) {
+        if (matchesAny(stubPatterns, url)) {
+            stats.stubbed.incrementAndGet();
+            return Decision.STUB;
+        }
+        if (blockResourceTypes.contains(type) || matchesAny(blockPatterns, url)) {
+            stats.blocked.incrementAndGet();
+            stats.blockedByType.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet();
+            return Decision.BLOCK;
+        }
+        return Decision.PASS;
+    }
+
+    /**
+     * Fetch.enable request patterns. Fetch wildcards are '*' (any characters, '/' included) and '?', so each glob
+     * becomes a superset of itself and decide() applies the exact glob to the paused request.
+     */
+    private List<Map<String, Object>> fetchPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String glob : blockUrls) {
+            patterns.add(Collections.singletonMap("urlPattern", glob.replace("**", "*")));
+        }
+        for (String glob : stubUrls) {
+            patterns.add(Collections.singletonMap("urlPattern", glob.replace("**", "*")));
+        }
+        for (String type : blockResourceTypes) {
+            String cdpType = CDP_RESOURCE_TYPES.get(type.toLowerCase(Locale.ROOT));
+            if (cdpType == null) {
+                LogManager.warn("Unknown network.block.resource.types entry for Selenium: " + type);
+                continue;
+            }
+            Map<String, Object> pattern = new HashMap<>();
+            pattern.put("urlPattern", "*");
+            pattern.put("resourceType", cdpType);
+            patterns.add(pattern);
+        }
+        return patterns;
+    }
+
+    private static NetworkRoutingProfile load(String name) {
+        ConfigManager config = ConfigManager.getInstance();
+        String prefix = "default".equals(name) ? "network." : "network.profile." + name + ".";
+        if (!"default".equals(name) && !config.hasProperty(prefix + "block.urls")
+                && !config.hasProperty(prefix + "stub.urls") && !config.hasProperty(prefix + "block.resource.types")) {
+            throw new RuntimeException("Network routing profile not configured: " + name + ". Expected properties: " + prefix + "*");
+        }
+        return new NetworkRoutingProfile(name,
+                splitList(config.getProperty(prefix + "block.urls", "")),
+                splitList(config.getProperty(prefix + "stub.urls", "")),
+                new HashSet<>(splitList(config.getProperty(prefix + "block.resource.types", ""))));
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // '?' matches any single character; '*' stays within one path segment (never crosses '/'), '**' spans segments
+    static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append('.');
+            } else if ("\\.[]{}()+-^$|".indexOf(c) >= 0) {
+                regex.append('\\').append(c);
+            } else {
+                regex.append(c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private enum Decision { STUB, BLOCK, PASS }
+
+    private static class RoutingStats {
+        private final AtomicInteger blocked = new AtomicInteger();
+        private final AtomicInteger stubbed = new AtomicInteger();
+        private final Map<String, AtomicInteger> blockedByType = new ConcurrentHashMap<>();
+
+        int total() {
+            return blocked.get() + stubbed.get();
+        }
+
+        @Override
+        public String toString() {
+            return "blocked=" + blocked.get() + " " + blockedByType + ", stubbed=" + stubbed.get();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.automation.core.driver;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker-scoped Playwright browser pool.
+ * Each worker thread keeps one Playwright + Browser alive for the whole run and scenarios only
+ * create/close their own BrowserContext and Page, so state stays isolated per scenario.
+ *
+ * Enable with playwright.browser.pool=true.
+ * playwright.browser.pool.recycle.after=N relaunches the browser after N scenarios (0 = never).
+ */
+public class PlaywrightBrowserPool {
+    private static final ThreadLocal<PooledBrowser> workerBrowser = new ThreadLocal<>();
+    private static final Set<PooledBrowser> allBrowsers = ConcurrentHashMap.newKeySet();
+
+    // Metrics
+    private static final AtomicInteger launches = new AtomicInteger();
+    private static final AtomicInteger reuses = new AtomicInteger();
+    private static final AtomicInteger crashRelaunches = new AtomicInteger();
+    private static final AtomicInteger recycles = new AtomicInteger();
+    private static final AtomicLong totalLaunchMillis = new AtomicLong();
+
+    private PlaywrightBrowserPool() {}
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("playwright.browser.pool", false);
+    }
+
+    /**
+     * Returns the browser owned by the current worker thread, launching (or relaunching after a crash) if needed.
+     */
+    public static Browser acquire() {
+        PooledBrowser pooled = workerBrowser.get();
+        if (pooled != null && !pooled.isHealthy()) {
+            LogManager.warn("Pooled Playwright browser disconnected - relaunching [Thread: " + Thread.currentThread().getName() + "]");
+            crashRelaunches.incrementAndGet();
+            discard(pooled);
+            pooled = null;
+        }
+        if (pooled == null) {
+            pooled = launch();
+            workerBrowser.set(pooled);
+        } else {
+            reuses.incrementAndGet();
+        }
+        pooled.scenarioCount++;
+        return pooled.browser;
+    }
+
+    /**
+     * Called after the scenario's context has been closed. Recycles the browser once it reached the configured limit.
+     */
+    public static void release() {
+        PooledBrowser pooled = workerBrowser.get();
+        if (pooled == null) {
+            return;
+        }
+        int recycleAfter = ConfigManager.getInstance().getIntProperty("playwright.browser.pool.recycle.after", 0);
+        if (!pooled.isHealthy()) {
+            discard(pooled);
+        } else if (recycleAfter > 0 && pooled.scenarioCount >= recycleAfter) {
+            LogManager.info("Recycling pooled Playwright browser after " + pooled.scenarioCount + " scenarios [Thread: " + Thread.currentThread().getName() + "]");
+            recycles.incrementAndGet();
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Drops the current worker's browser, e.g. when a context could not be created on it.
+     */
+    public static void invalidate() {
+        PooledBrowser pooled = workerBrowser.get();
+        if (pooled != null) {
+            crashRelaunches.incrementAndGet();
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Closes every pooled browser from all threads. Called at suite end and from the shutdown hook.
+     */
+    public static void shutdown() {
+        for (PooledBrowser pooled : allBrowsers) {
+            pooled.close();
+        }
+        allBrowsers.clear();
+        workerBrowser.remove();
+    }
+
+    public static String getStatistics() {
+        int launched = launches.get();
+        long avgLaunch = launched > 0 ? totalLaunchMillis.get() / launched : 0;
+        return "Playwright browser pool: launches=" + launched
+                + " (avg " + avgLaunch + " ms)"
+                + ", reused=" + reuses.get()
+                + ", crash relaunches=" + crashRelaunches.get()
+                + ", recycled=" + recycles.get()
+                + ", est. startup time saved=" + (avgLaunch * reuses.get()) + " ms";
+    }
+
+    public static void logStatistics() {
+        if (launches.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static PooledBrowser launch() {
+        long start = System.currentTimeMillis();
+        DriverPrewarmer.WarmBrowser warm = DriverPrewarmer.takePlaywrightBrowser();
+        if (warm != null) {
+            PooledBrowser pooled = new PooledBrowser(warm.getPlaywright(), warm.getBrowser());
+            allBrowsers.add(pooled);
+            return pooled;
+        }
+        Playwright pw = Playwright.create();
+        try {
+            Browser browser = DriverManager.launchPlaywrightBrowser(pw);
+            long elapsed = System.currentTimeMillis() - start;
+            launches.incrementAndGet();
+            totalLaunchMillis.addAndGet(elapsed);
+            PooledBrowser pooled = new PooledBrowser(pw, browser);
+            allBrowsers.add(pooled);
+            LogManager.info("Pooled Playwright browser launched in " + elapsed + " ms [Thread: " + Thread.currentThread().getName() + "]");
+            return pooled;
+        } catch (RuntimeException e) {
+            try {
+                pw.close();
+            } catch (Exception ignored) {}
+            throw e;
+        }
+    }
+
+    private static void discard(PooledBrowser pooled) {
+        pooled.close();
+        allBrowsers.remove(pooled);
+        if (workerBrowser.get() == pooled) {
+            workerBrowser.remove();
+        }
+    }
+
+    private static class PooledBrowser {
+        private final Playwright playwright;
+        private final Browser browser;
+        private volatile boolean disconnected;
+        private int scenarioCount;
+
+        PooledBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+            browser.onDisconnected(b -> disconnected = true);
+        }
+
+        boolean isHealthy() {
+            if (disconnected) {
+                return false;
+            }
+            try {
+                return browser.isConnected();
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } catch (Exception e) {
+                LogManager.debug("Error closing pooled Playwright browser: " + e.getMessage());
+            }
+            try {
+                playwright.close();
+            } catch (Exception e) {
+                LogManager.debug("Error closing pooled Playwright instance: " + e.getMessage());
+            }
+        }
+    }
+}
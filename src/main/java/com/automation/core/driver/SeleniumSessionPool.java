@@ -0,0 +1,255 @@
+package com.automation.core.driver;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker-scoped Selenium WebDriver session pool.
+ * Sessions are leased per worker thread and scrubbed between scenarios instead of being quit:
+ * alerts dismissed, extra windows closed, storage and cookies cleared, window back on about:blank.
+ *
+ * Only local Chrome and Edge (ChromiumDriver) sessions are pooled: CDP Network.clearBrowserCookies is the only
+ * way WebDriver offers to drop the cookies of every origin, while deleteAllCookies reaches just the current one.
+ * Other drivers get a fresh session per scenario, with a warning. Local/session storage is cleared for the page
+ * open when the scenario ends.
+ *
+ * Enable with selenium.session.pool=true.
+ * selenium.session.pool.recycle.after=N quits the session after N scenarios (0 = never).
+ * selenium.session.pool.max.memory.mb=N quits the session once the page JS heap exceeds N MB (0 = no limit).
+ */
+public class SeleniumSessionPool {
+    private static final ThreadLocal<PooledSession> workerSession = new ThreadLocal<>();
+    private static final Set<PooledSession> allSessions = ConcurrentHashMap.newKeySet();
+
+    private static final String MEMORY_SCRIPT =
+            "return (window.performance && window.performance.memory) ? window.performance.memory.usedJSHeapSize : -1;";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {} try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final AtomicBoolean unsupportedWarned = new AtomicBoolean();
+
+    // Metrics
+    private static final AtomicInteger created = new AtomicInteger();
+    private static final AtomicInteger reuses = new AtomicInteger();
+    private static final AtomicInteger discarded = new AtomicInteger();
+    private static final AtomicInteger recycles = new AtomicInteger();
+    private static final AtomicInteger scrubs = new AtomicInteger();
+    private static final AtomicLong totalCreateMillis = new AtomicLong();
+    private static final AtomicLong totalScrubMillis = new AtomicLong();
+
+    private SeleniumSessionPool() {}
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("selenium.session.pool", false);
+    }
+
+    /**
+     * Leases the current worker's session, creating a new one when none is idle or the idle one fails the health probe.
+     * A new non-Chromium driver is returned unpooled; release() quits it.
+     */
+    public static WebDriver lease() {
+        PooledSession session = workerSession.get();
+        if (session != null && !session.isHealthy()) {
+            LogManager.warn("Pooled Selenium session failed health probe - discarding [Thread: " + Thread.currentThread().getName() + "]");
+            discarded.incrementAndGet();
+            discard(session);
+            session = null;
+        }
+        if (session == null) {
+            long start = System.currentTimeMillis();
+            WebDriver driver = DriverManager.obtainSeleniumDriver();
+            if (!(driver instanceof ChromiumDriver)) {
+                if (unsupportedWarned.compareAndSet(false, true)) {
+                    LogManager.warn("selenium.session.pool only pools local Chrome/Edge sessions, which can clear the"
+                            + " cookies of every origin; " + driver.getClass().getSimpleName() + " sessions are quit after each scenario");
+                }
+                return driver;
+            }
+            session = new PooledSession(driver);
+            long elapsed = System.currentTimeMillis() - start;
+            created.incrementAndGet();
+            totalCreateMillis.addAndGet(elapsed);
+            allSessions.add(session);
+            workerSession.set(session);
+            LogManager.info("Pooled Selenium session created in " + elapsed + " ms [Thread: " + Thread.currentThread().getName() + "]");
+        } else {
+            reuses.incrementAndGet();
+        }
+        session.uses++;
+        return session.driver;
+    }
+
+    /**
+     * Returns the session to the pool. It is scrubbed for the next scenario, or quit when it hit a recycle limit
+     * or could not be scrubbed.
+     */
+    public static void release(WebDriver driver) {
+        PooledSession session = workerSession.get();
+        if (session == null || session.driver != driver) {
+            // Not a pooled session (e.g. created before the pool was enabled) - just quit it
+            quitQuietly(driver);
+            return;
+        }
+
+        ConfigManager config = ConfigManager.getInstance();
+        int recycleAfter = config.getIntProperty("selenium.session.pool.recycle.after", 0);
+        int maxMemoryMb = config.getIntProperty("selenium.session.pool.max.memory.mb", 0);
+
+        if (recycleAfter > 0 && session.uses >= recycleAfter) {
+            LogManager.info("Recycling pooled Selenium session after " + session.uses + " scenarios");
+            recycles.incrementAndGet();
+            discard(session);
+            return;
+        }
+        if (maxMemoryMb > 0) {
+            long usedMb = getUsedHeapMb(driver);
+            if (usedMb > maxMemoryMb) {
+                LogManager.info("Recycling pooled Selenium session - JS heap " + usedMb + " MB exceeds " + maxMemoryMb + " MB");
+                recycles.incrementAndGet();
+                discard(session);
+                return;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            scrub(session);
+            totalScrubMillis.addAndGet(System.currentTimeMillis() - start);
+            scrubs.incrementAndGet();
+            LogManager.info("Pooled Selenium session scrubbed in " + (System.currentTimeMillis() - start) + " ms [Thread: " + Thread.currentThread().getName() + "]");
+        } catch (Exception e) {
+            LogManager.warn("Could not scrub pooled Selenium session, discarding: " + e.getMessage());
+            discarded.incrementAndGet();
+            discard(session);
+        }
+    }
+
+    /**
+     * Quits every pooled session from all threads. Called at suite end and from the shutdown hook.
+     */
+    public static void shutdown() {
+        for (PooledSession session : allSessions) {
+            quitQuietly(session.driver);
+        }
+        allSessions.clear();
+        workerSession.remove();
+    }
+
+    public static String getStatistics() {
+        int spawned = created.get();
+        long avgCreate = spawned > 0 ? totalCreateMillis.get() / spawned : 0;
+        int reused = reuses.get();
+        int scrubbed = scrubs.get();
+        long avgScrub = scrubbed > 0 ? totalScrubMillis.get() / scrubbed : 0;
+        return "Selenium session pool: created=" + spawned
+                + " (avg " + avgCreate + " ms)"
+                + ", reused=" + reused
+                + ", scrubbed=" + scrubbed + " (avg " + avgScrub + " ms)"
+                + ", discarded=" + discarded.get()
+                + ", recycled=" + recycles.get()
+                + ", est. startup time saved=" + Math.max(0, (avgCreate - avgScrub) * reused) + " ms";
+    }
+
+    public static void logStatistics() {
+        if (created.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static void scrub(PooledSession session) {
+        WebDriver driver = session.driver;
+        ConfigManager config = ConfigManager.getInstance();
+
+        // Dismiss any open alert, otherwise every other command fails
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException ignored) {
+        }
+
+        // Close extra windows/tabs and go back to the original window
+        Set<String> handles = driver.getWindowHandles();
+        String keep = handles.contains(session.primaryHandle) ? session.primaryHandle : handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(keep)) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(keep);
+        driver.switchTo().defaultContent();
+        session.primaryHandle = keep;
+
+        // Storage is per origin, so clear it while the scenario's page is still loaded
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+
+        // deleteAllCookies only covers the current domain; CDP drops the cookies of every origin
+        ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+
+        // Scenarios may have changed timeouts or window size
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getIntProperty("implicit.wait", 10)));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getIntProperty("page.load.timeout", 30)));
+        driver.manage().window().maximize();
+
+        driver.get("about:blank");
+    }
+
+    private static long getUsedHeapMb(WebDriver driver) {
+        try {
+            Object used = ((JavascriptExecutor) driver).executeScript(MEMORY_SCRIPT);
+            if (used instanceof Number && ((Number) used).longValue() >= 0) {
+                return ((Number) used).longValue() / (1024 * 1024);
+            }
+        } catch (Exception e) {
+            LogManager.debug("Could not read browser memory usage: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    private static void discard(PooledSession session) {
+        quitQuietly(session.driver);
+        allSessions.remove(session);
+        if (workerSession.get() == session) {
+            workerSession.remove();
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            LogManager.debug("Error quitting pooled Selenium session: " + e.getMessage());
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private String primaryHandle;
+        private int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.primaryHandle = driver.getWindowHandle();
+        }
+
+        boolean isHealthy() {
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -6,7 +6,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Maps a DTO field to an Excel column header name.
+ * Maps a DTO field to an Excel or CSV column header name (see ColumnMapper).
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
@@ -0,0 +1,124 @@
+package com.automation.core.load;
+
+import com.automation.core.config.ConfigManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of a load run, read from system properties (-Dload.users=50) with config.properties as fallback.
+ *
+ *   load.users=10              virtual users; with load.rps, the maximum number of iterations in flight
+ *   load.rps=0                 target scenario iterations per second (open model); 0 = closed model driven by users
+ *   load.pacing.ms=0           closed model only: each user starts an iteration at most every pacing ms
+ *   load.rampup.seconds=0      linear ramp from 0 to the target
+ *   load.hold.seconds=60       time at the target
+ *   load.rampdown.seconds=0    linear ramp from the target back to 0
+ */
+public final class LoadProfile {
+    private final int users;
+    private final double rps;
+    private final long pacingMillis;
+    private final int rampUpSeconds;
+    private final int holdSeconds;
+    private final int rampDownSeconds;
+
+    LoadProfile(int users, double rps, long pacingMillis, int rampUpSeconds, int holdSeconds, int rampDownSeconds) {
+        if (users < 1) {
+            throw new IllegalArgumentException("load.users must be at least 1");
+        }
+        this.users = users;
+        this.rps = rps;
+        this.pacingMillis = pacingMillis;
+        this.rampUpSeconds = rampUpSeconds;
+        this.holdSeconds = holdSeconds;
+        this.rampDownSeconds = rampDownSeconds;
+    }
+
+    public static LoadProfile fromProperties() {
+        return new LoadProfile(
+                Integer.parseInt(property("load.users", "10")),
+                Double.parseDouble(property("load.rps", "0")),
+                Long.parseLong(property("load.pacing.ms", "0")),
+                Integer.parseInt(property("load.rampup.seconds", "0")),
+                Integer.parseInt(property("load.hold.seconds", "60")),
+                Integer.parseInt(property("load.rampdown.seconds", "0")));
+    }
+
+    static String property(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = ConfigManager.getInstance().getProperty(key, defaultValue);
+        }
+        return value.trim();
+    }
+
+    public boolean isOpenModel() {
+        return rps > 0;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public double getRps() {
+        return rps;
+    }
+
+    public long getPacingMillis() {
+        return pacingMillis;
+    }
+
+    public long getDurationMillis() {
+        return (rampUpSeconds + holdSeconds + rampDownSeconds) * 1000L;
+    }
+
+    /**
+     * Fraction of the target load (0-1) at elapsed milliseconds into the run.
+     */
+    public double levelAt(long elapsedMillis) {
+        long rampUp = rampUpSeconds * 1000L;
+        long holdEnd = rampUp + holdSeconds * 1000L;
+        if (elapsedMillis < rampUp) {
+            return (double) elapsedMillis / rampUp;
+        }
+        if (elapsedMillis < holdEnd) {
+            return 1.0;
+        }
+        long rampDown = rampDownSeconds * 1000L;
+        return elapsedMillis < holdEnd + rampDown ? 1.0 - (double) (elapsedMillis - holdEnd) / rampDown : 0.0;
+    }
+
+    /**
+     * Closed model: when virtual user index (0-based) starts and stops, so users join during ramp-up and leave
+     * during ramp-down one after another.
+     */
+    long userStartMillis(int index) {
+        return rampUpSeconds * 1000L * index / users;
+    }
+
+    long userStopMillis(int index) {
+        long holdEnd = (rampUpSeconds + holdSeconds) * 1000L;
+        return holdEnd + rampDownSeconds * 1000L * (users - 1 - index) / users;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("model", isOpenModel() ? "open" : "closed");
+        map.put("users", users);
+        if (isOpenModel()) {
+            map.put("rps", rps);
+        } else if (pacingMillis > 0) {
+            map.put("pacingMs", pacingMillis);
+        }
+        map.put("rampUpSeconds", rampUpSeconds);
+        map.put("holdSeconds", holdSeconds);
+        map.put("rampDownSeconds", rampDownSeconds);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
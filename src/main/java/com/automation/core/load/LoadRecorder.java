@@ -0,0 +1,179 @@
+package com.automation.core.load;
+
+import com.automation.core.api.AsyncFilter;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Per-endpoint latency and error counts while a load run is active; a no-op otherwise.
+ * Endpoints are keyed by method and path with ids folded ("GET /users/{id}"), so one endpoint hit with many ids
+ * reports as one row. A request counts as an error when it throws or returns status 400 or above.
+ *
+ * Latency is corrected for coordinated omission: every request of an iteration that started late (queued behind
+ * busy virtual users or a slow system) is charged the iteration's start delay, as if it had been sent on schedule.
+ * The uncorrected service time is kept alongside. Requests sent from another thread carry the delay only when that
+ * thread runs them through withIterationDelay().
+ */
+public final class LoadRecorder {
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{24,})(?=/|$)");
+    private static final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    // How late the load iteration running on this thread started after its scheduled start
+    private static final ThreadLocal<Long> iterationDelay = new ThreadLocal<>();
+    private static volatile boolean active;
+
+    private static final Filter FILTER = new AsyncFilter() {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec, FilterContext context) {
+            if (!active) {
+                return context.next(requestSpec, responseSpec);
+            }
+            long start = System.nanoTime();
+            try {
+                Response response = context.next(requestSpec, responseSpec);
+                record(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), System.nanoTime() - start,
+                        response.getStatusCode() >= 400);
+                return response;
+            } catch (RuntimeException e) {
+                record(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), System.nanoTime() - start, true);
+                throw e;
+            }
+        }
+
+        @Override
+        public CompletableFuture<Response> filterAsync(FilterableRequestSpecification request,
+                                                       Supplier<CompletableFuture<Response>> next) {
+            if (!active) {
+                return next.get();
+            }
+            long start = System.nanoTime();
+            // the response completes on another thread, so take the delay from the sending one
+            long delay = iterationDelayNanos();
+            CompletableFuture<Response> response;
+            try {
+                response = next.get();
+            } catch (RuntimeException e) {
+                record(request.getMethod(), request.getUserDefinedPath(), System.nanoTime() - start, delay, true);
+                throw e;
+            }
+            return response.whenComplete((result, error) -> record(request.getMethod(), request.getUserDefinedPath(),
+                    System.nanoTime() - start, delay, error != null || result.getStatusCode() >= 400));
+        }
+    };
+
+    private LoadRecorder() {}
+
+    /**
+     * RestAssured filter recording every request sent while a load run is active; added to the APIClient templates.
+     */
+    public static Filter filter() {
+        return FILTER;
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    static void start() {
+        endpoints.clear();
+        active = true;
+    }
+
+    static void stop() {
+        active = false;
+    }
+
+    /**
+     * Records one request that took nanos to serve, sent from the current thread's load iteration.
+     */
+    public static void record(String method, String path, long nanos, boolean error) {
+        record(method, path, nanos, iterationDelayNanos(), error);
+    }
+
+    private static void record(String method, String path, long nanos, long delayNanos, boolean error) {
+        if (!active) {
+            return;
+        }
+        Stats stats = endpoints.computeIfAbsent(method + " " + normalize(path), key -> new Stats());
+        stats.service.recordNanos(nanos);
+        stats.histogram.recordNanos(nanos + delayNanos);
+        if (error) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Start delay of the load iteration running on the current thread; 0 outside load iterations.
+     */
+    public static long iterationDelayNanos() {
+        Long delay = iterationDelay.get();
+        return delay != null ? delay : 0;
+    }
+
+    /**
+     * Runs an action on a helper thread with the start delay captured from the iteration's thread, so requests it
+     * sends are corrected like the iteration's own.
+     */
+    public static <T> T withIterationDelay(long delayNanos, Supplier<T> action) {
+        if (delayNanos == 0) {
+            return action.get();
+        }
+        Long previous = iterationDelay.get();
+        iterationDelay.set(delayNanos);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                iterationDelay.set(previous);
+            } else {
+                iterationDelay.remove();
+            }
+        }
+    }
+
+    static void beginIteration(long delayNanos) {
+        iterationDelay.set(delayNanos);
+    }
+
+    static void endIteration() {
+        iterationDelay.remove();
+    }
+
+    /**
+     * Endpoint stats recorded so far, sorted by endpoint.
+     */
+    static Map<String, Stats> snapshot() {
+        return new TreeMap<>(endpoints);
+    }
+
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        return ID_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+
+    /**
+     * Histograms and error count of one endpoint (or of all scenario iterations). histogram is measured from the
+     * scheduled start (coordinated omission corrected), service from the actual start.
+     */
+    static final class Stats {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram service = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+    }
+}
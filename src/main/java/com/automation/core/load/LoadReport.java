@@ -0,0 +1,124 @@
+package com.automation.core.load;
+
+import com.automation.core.logging.LogManager;
+import com.automation.core.reporting.ExtentReporter;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load run: scenario iterations and per-endpoint latency percentiles and error rates.
+ * Written as load-report.json (machine-readable) and as a "Load test" entry in the Extent HTML report.
+ */
+final class LoadReport {
+    private static final String ITERATIONS = "Scenario iterations";
+
+    private final LoadProfile profile;
+    private final long durationMillis;
+    private final Map<String, LoadRecorder.Stats> rows = new LinkedHashMap<>();
+
+    LoadReport(LoadProfile profile, long durationMillis, LoadRecorder.Stats iterations,
+               Map<String, LoadRecorder.Stats> endpoints) {
+        this.profile = profile;
+        this.durationMillis = durationMillis;
+        rows.put(ITERATIONS, iterations);
+        rows.putAll(endpoints);
+    }
+
+    void write(String directory) {
+        Path file = Paths.get(directory, "load-report.json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new GsonBuilder().setPrettyPrinting().create().toJson(toMap())
+                    .getBytes(StandardCharsets.UTF_8));
+            LogManager.info("Load report written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            LogManager.error("Failed to write load report " + file + ": " + e.getMessage());
+        }
+
+        ExtentReporter.startTest("Load test");
+        ExtentReporter.logInfo("Profile: " + profile + " | duration " + durationMillis / 1000.0 + " s"
+                + (profile.isOpenModel() || profile.getPacingMillis() > 0
+                ? " | latency is measured from each iteration's scheduled start (coordinated omission corrected);"
+                + " service columns from the actual start" : ""));
+        ExtentReporter.logTable(toTable());
+        ExtentReporter.endTest();
+        for (String[] row : toTable()) {
+            LogManager.info(String.join(" | ", row));
+        }
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", profile.toMap());
+        report.put("durationSeconds", durationMillis / 1000.0);
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<String, LoadRecorder.Stats> row : rows.entrySet()) {
+            LatencyHistogram histogram = row.getValue().histogram;
+            long count = histogram.getTotalCount();
+            long errors = row.getValue().errors.get();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", count);
+            values.put("errors", errors);
+            values.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+            values.put("throughputPerSecond", durationMillis == 0 ? 0.0 : count * 1000.0 / durationMillis);
+            values.putAll(percentiles(histogram));
+            values.put("service", percentiles(row.getValue().service));
+            if (row.getKey().equals(ITERATIONS)) {
+                report.put("iterations", values);
+            } else {
+                values.put("endpoint", row.getKey());
+                endpoints.add(values);
+            }
+        }
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(LatencyHistogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("meanMs", histogram.getMeanMicros() / 1000.0);
+        values.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        values.put("p95Ms", histogram.getValueAtPercentile(95) / 1000.0);
+        values.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        values.put("maxMs", histogram.getMaxMicros() / 1000.0);
+        return values;
+    }
+
+    private String[][] toTable() {
+        String[][] table = new String[rows.size() + 1][];
+        table[0] = new String[]{"Endpoint", "Count", "Errors", "Error %", "Per second", "p50 ms", "p95 ms", "p99 ms", "Max ms",
+                "Service p50 ms", "Service p99 ms"};
+        int i = 1;
+        for (Map.Entry<String, LoadRecorder.Stats> row : rows.entrySet()) {
+            LatencyHistogram histogram = row.getValue().histogram;
+            long count = histogram.getTotalCount();
+            long errors = row.getValue().errors.get();
+            table[i++] = new String[]{
+                    row.getKey(),
+                    String.valueOf(count),
+                    String.valueOf(errors),
+                    String.format("%.2f", count == 0 ? 0.0 : errors * 100.0 / count),
+                    String.format("%.1f", durationMillis == 0 ? 0.0 : count * 1000.0 / durationMillis),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxMicros()),
+                    millis(row.getValue().service.getValueAtPercentile(50)),
+                    millis(row.getValue().service.getValueAtPercentile(99))};
+        }
+        return table;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
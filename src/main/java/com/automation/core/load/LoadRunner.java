@@ -0,0 +1,219 @@
+package com.automation.core.load;
+
+import com.automation.core.commonSteps.CucumberHooks;
+import com.automation.core.logging.LogManager;
+import io.cucumber.core.cli.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load mode: repeats the scenarios selected by the normal Cucumber arguments (tags, features, glue) as the workload,
+ * shaped by a LoadProfile, and reports per-endpoint latency percentiles and error rates (see LoadReport).
+ *
+ * Started by CucumberCLIRunner with -Dload.mode=true, e.g.
+ *   -Dload.mode=true -Dcucumber.filter.tags=@API -Dload.rps=20 -Dload.users=40 -Dload.rampup.seconds=30
+ *
+ * Each iteration is one Cucumber run of the selected scenarios on one virtual user thread. The suite hooks
+ * (@BeforeAll setup, @AfterAll teardown) run once for the whole load run, not per iteration. Iteration and endpoint
+ * latency is measured from the iteration's scheduled start (load.rps or load.pacing.ms), so time spent waiting behind
+ * a slow system is counted instead of silently omitted; service time from the actual start is reported alongside.
+ * Per-scenario report entries are skipped while load runs;
+ * load-report.json and one "Load test" entry in the Extent report hold the results.
+ *   load.report.dir=test-output/load-report
+ */
+public final class LoadRunner {
+    private static volatile boolean running;
+
+    private LoadRunner() {}
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("load.mode", "false"));
+    }
+
+    /**
+     * True while load iterations run; hooks use it to skip per-scenario reporting and suite teardown.
+     */
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Runs the load test and the suite teardown. Returns the process exit status: 0 when no iteration failed.
+     */
+    public static int run(String[] cucumberArgs) {
+        LoadProfile profile = LoadProfile.fromProperties();
+        String[] iterationArgs = iterationArgs(cucumberArgs);
+        if (System.getProperty("cucumber.publish.quiet") == null) {
+            System.setProperty("cucumber.publish.quiet", "true");
+        }
+        LogManager.info("Load run starting: " + profile + " | workload: " + String.join(" ", iterationArgs));
+
+        running = true;
+        // one untimed iteration loads glue, drivers and connections so the first measured ones are not cold
+        if (Main.run(iterationArgs, Thread.currentThread().getContextClassLoader()) != 0) {
+            LogManager.warn("Load warm-up iteration failed; check the selected scenarios before trusting the results");
+        }
+
+        LoadRecorder.Stats iterations = new LoadRecorder.Stats();
+        AtomicInteger inFlight = new AtomicInteger();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(daemon("load-progress"));
+        long start = System.nanoTime();
+        progress.scheduleAtFixedRate(() -> LogManager.info("Load: " + (System.nanoTime() - start) / 1_000_000_000 + " s, "
+                + iterations.histogram.getTotalCount() + " iterations, " + iterations.errors.get() + " failed, "
+                + inFlight.get() + " in flight"), 10, 10, TimeUnit.SECONDS);
+        LoadRecorder.start();
+        try {
+            if (profile.isOpenModel()) {
+                runOpen(profile, iterationArgs, iterations, inFlight);
+            } else {
+                runClosed(profile, iterationArgs, iterations, inFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LogManager.warn("Load run interrupted; reporting partial results");
+        } finally {
+            LoadRecorder.stop();
+            running = false;
+            progress.shutdownNow();
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        new LoadReport(profile, durationMillis, iterations, LoadRecorder.snapshot())
+                .write(LoadProfile.property("load.report.dir", "test-output/load-report"));
+        CucumberHooks.afterAll();
+        return iterations.errors.get() > 0 ? 1 : 0;
+    }
+
+    /**
+     * Open model: iterations start on a fixed schedule following the rate curve, whether or not earlier ones have
+     * finished; at most load.users run at once and the rest queue (their latency includes the wait).
+     */
+    private static void runOpen(LoadProfile profile, String[] args, LoadRecorder.Stats iterations,
+                                AtomicInteger inFlight) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(profile.getUsers(), daemon("load-user"));
+        long start = System.nanoTime();
+        long duration = profile.getDurationMillis();
+        // arrivals due so far: the rate curve integrated millisecond by millisecond, so ramps start smoothly
+        double due = 0;
+        try {
+            for (long offsetMillis = 0; offsetMillis < duration; offsetMillis++) {
+                due += profile.getRps() * profile.levelAt(offsetMillis) / 1000.0;
+                if (due < 1) {
+                    continue;
+                }
+                long scheduled = start + offsetMillis * 1_000_000;
+                sleepUntil(scheduled);
+                for (; due >= 1; due--) {
+                    workers.execute(() -> runIteration(args, scheduled, iterations, inFlight));
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    /**
+     * Closed model: load.users threads loop over iterations, joining during ramp-up and leaving during ramp-down.
+     * With load.pacing.ms each user follows its own fixed schedule.
+     */
+    private static void runClosed(LoadProfile profile, String[] args, LoadRecorder.Stats iterations,
+                                  AtomicInteger inFlight) throws InterruptedException {
+        long start = System.nanoTime();
+        long pacingNanos = profile.getPacingMillis() * 1_000_000;
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < profile.getUsers(); i++) {
+            long userStart = start + profile.userStartMillis(i) * 1_000_000;
+            long userStop = start + profile.userStopMillis(i) * 1_000_000;
+            Thread user = new Thread(() -> {
+                long scheduled = userStart;
+                try {
+                    sleepUntil(userStart);
+                    while (System.nanoTime() < userStop && (pacingNanos == 0 || scheduled < userStop)) {
+                        if (pacingNanos > 0) {
+                            sleepUntil(scheduled);
+                        } else {
+                            scheduled = System.nanoTime();
+                        }
+                        runIteration(args, scheduled, iterations, inFlight);
+                        scheduled += pacingNanos;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "load-user-" + (i + 1));
+            user.setDaemon(true);
+            user.start();
+            users.add(user);
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+
+    private static void runIteration(String[] args, long scheduledNanos, LoadRecorder.Stats iterations,
+                                     AtomicInteger inFlight) {
+        inFlight.incrementAndGet();
+        long started = System.nanoTime();
+        LoadRecorder.beginIteration(Math.max(0, started - scheduledNanos));
+        boolean failed;
+        try {
+            failed = Main.run(args, Thread.currentThread().getContextClassLoader()) != 0;
+        } catch (Throwable t) {
+            LogManager.error("Load iteration failed on " + Thread.currentThread().getName(), t);
+            failed = true;
+        } finally {
+            LoadRecorder.endIteration();
+            inFlight.decrementAndGet();
+        }
+        long finished = System.nanoTime();
+        iterations.histogram.recordNanos(finished - scheduledNanos);
+        iterations.service.recordNanos(finished - started);
+        if (failed) {
+            iterations.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * The suite's Cucumber arguments for a single-threaded iteration without report plugins. --no-summary also drops
+     * Cucumber's default summary printer, so an iteration writes no output at all.
+     */
+    static String[] iterationArgs(String[] cucumberArgs) {
+        List<String> args = new ArrayList<>();
+        for (int i = 0; i < cucumberArgs.length; i++) {
+            String arg = cucumberArgs[i];
+            if (arg.equals("--plugin") || arg.equals("-p") || arg.equals("--threads")) {
+                i++;
+            } else if (!arg.equals("--no-summary")) {
+                args.add(arg);
+            }
+        }
+        args.add(0, "--threads");
+        args.add(1, "1");
+        args.add(2, "--no-summary");
+        return args.toArray(new String[0]);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
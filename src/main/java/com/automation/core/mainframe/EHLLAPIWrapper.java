@@ -1,61 +1,310 @@
 package com.automation.core.mainframe;
 
+import com.automation.core.config.ConfigManager;
+import com.automation.core.exceptions.TimeoutException;
+import com.automation.core.logging.LogManager;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
 import com.sun.jna.ptr.IntByReference;
 
-public class EHLLAPIWrapper {
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EHLLAPI backend. The DLL has one connected presentation space per process, so all calls from all wrappers are
+ * serialized and each wrapper reconnects its own session before functions that act on the connected one; parallel
+ * scenarios (MainframeSessionPool) can then share the emulator without reading or typing into each other's screens.
+ */
+public class EHLLAPIWrapper implements MainframeBackend {
 
     public interface EHLLAPI extends Library {
         EHLLAPI INSTANCE = Native.load("pcshll32", EHLLAPI.class);
         void hllapi(IntByReference function, byte[] data, IntByReference length, IntByReference returnCode);
     }
 
+    // EHLLAPI function numbers
+    private static final int CONNECT_PS = 1;
+    private static final int DISCONNECT_PS = 2;
+    private static final int SEND_KEY = 3;
+    private static final int WAIT = 4;
+    private static final int QUERY_CURSOR_LOCATION = 7;
+    private static final int COPY_PS_TO_STRING = 8;
+    private static final int SET_SESSION_PARAMETERS = 9;
+    private static final int PAUSE = 18;
+    private static final int QUERY_SESSION_STATUS = 22;
+    private static final int START_HOST_NOTIFICATION = 23;
+    private static final int QUERY_HOST_UPDATE = 24;
+    private static final int STOP_HOST_NOTIFICATION = 25;
+    private static final int SET_CURSOR = 40;
+
+    // Return codes
+    private static final int RC_OK = 0;
+    private static final int RC_BUSY = 4;
+    private static final int RC_INHIBITED = 5;
+    private static final int RC_HOST_EVENT = 26;
+
+    private static final long SHARED_PAUSE_MILLIS = 50;
+    private static final Object NATIVE_LOCK = new Object();
+    private static final AtomicInteger openSessions = new AtomicInteger();
+    private static String connectedSession; // guarded by NATIVE_LOCK
+
+    // Reused across calls so screen reads and waits do not allocate native call arguments
+    private final IntByReference function = new IntByReference();
+    private final IntByReference length = new IntByReference();
+    private final IntByReference returnCode = new IntByReference();
+    private final byte[] shortBuffer = new byte[32];
+    private byte[] screenBuffer = new byte[24 * 80];
+
+    private String sessionId;
+    private int rows = 24;
+    private int cols = 80;
+    private boolean hostNotification;
+    private boolean open;
+    private long updateCount;
+
+    @Override
     public void connect(String sessionId) {
-        callHLLAPI(1, sessionId);
+        this.sessionId = sessionId;
+        synchronized (NATIVE_LOCK) {
+            selectPresentationSpace();
+            // IPAUSE lets Pause end early on host events; NWAIT makes Wait report keyboard state without blocking
+            callHLLAPI(SET_SESSION_PARAMETERS, "IPAUSE,NWAIT");
+            querySessionSize();
+            int rc = callHLLAPI(START_HOST_NOTIFICATION, sessionId + "B");
+            hostNotification = rc == RC_OK;
+            if (!hostNotification) {
+                LogManager.debug("EHLLAPI host notification unavailable (rc=" + rc + "), waits will poll");
+            }
+            if (!open) {
+                open = true;
+                openSessions.incrementAndGet();
+            }
+        }
     }
 
+    @Override
     public void disconnect() {
-        callHLLAPI(2, "");
+        synchronized (NATIVE_LOCK) {
+            if (hostNotification) {
+                callHLLAPI(STOP_HOST_NOTIFICATION, sessionId);
+                hostNotification = false;
+            }
+            // Only drop the process-wide connection when it is this session's
+            if (sessionId != null && sessionId.equals(connectedSession)) {
+                callHLLAPI(DISCONNECT_PS, "");
+                connectedSession = null;
+            }
+            if (open) {
+                open = false;
+                openSessions.decrementAndGet();
+            }
+        }
     }
 
+    @Override
     public void sendKeys(String keys) {
-        callHLLAPI(3, keys);
+        callHLLAPI(SEND_KEY, keys);
     }
 
+    @Override
     public String copyFromScreen(int row, int col, int length) {
-        String coords = String.format("%04d%04d", row, col);
-        callHLLAPI(4, coords);
-        return "";
+        int count = Math.min(length, screenBuffer.length);
+        copyPresentationSpace(toPosition(row, col), count);
+        return new String(screenBuffer, 0, count, StandardCharsets.ISO_8859_1);
     }
 
+    @Override
     public void moveCursor(int row, int col) {
-        String coords = String.format("%04d%04d", row, col);
-        callHLLAPI(18, coords);
+        call(SET_CURSOR, shortBuffer, 0, toPosition(row, col));
     }
 
+    /**
+     * With NWAIT, Wait only reports the keyboard state, so this polls it until the keyboard unlocks or
+     * mainframe.screen.wait expires; host events (when notification is available) end each pause early.
+     */
+    @Override
     public void waitForUnlock() {
-        callHLLAPI(4, "");
+        ConfigManager config = ConfigManager.getInstance();
+        int timeoutSeconds = config.getIntProperty("mainframe.screen.wait", 10);
+        long pollMillis = config.getIntProperty("mainframe.wait.poll.min.ms", 20);
+        long maxPollMillis = config.getIntProperty("mainframe.wait.poll.max.ms", 500);
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        while (isKeyboardLocked()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("waiting for mainframe keyboard unlock", timeoutSeconds);
+            }
+            if (hostNotification) {
+                awaitHostUpdate(getUpdateCount(), Math.min(remaining, maxPollMillis));
+                continue;
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pollMillis = Math.min(pollMillis * 2, maxPollMillis);
+        }
     }
 
+    @Override
     public String getScreenText() {
-        return callHLLAPIString(8, "");
+        int size = rows * cols;
+        copyPresentationSpace(1, size);
+        return new String(screenBuffer, 0, size, StandardCharsets.ISO_8859_1).trim();
+    }
+
+    /**
+     * Grid and cursor only: EHLLAPI field attributes are not read, so the field table is empty.
+     */
+    @Override
+    public Screen captureScreen() {
+        long version = getUpdateCount();
+        int size = rows * cols;
+        copyPresentationSpace(1, size);
+        char[] grid = new char[size];
+        for (int i = 0; i < size; i++) {
+            char c = (char) (screenBuffer[i] & 0xFF);
+            grid[i] = c < ' ' ? ' ' : c;
+        }
+        int[] cursor = getCursorPosition();
+        return new Screen(rows, cols, grid, Collections.emptyList(), cursor[0], cursor[1], version);
+    }
+
+    @Override
+    public int[] getCursorPosition() {
+        call(QUERY_CURSOR_LOCATION, shortBuffer, 0, 0);
+        int position = length.getValue() - 1;
+        return new int[]{position / cols + 1, position % cols + 1};
+    }
+
+    /**
+     * Wait returns 0 only when the keyboard is free; 4 (host busy, as reported under NWAIT) and 5 (inhibited)
+     * both mean the host still owns it, and any other code is treated the same way.
+     */
+    @Override
+    public boolean isKeyboardLocked() {
+        return callHLLAPI(WAIT, "") != RC_OK;
+    }
+
+    /**
+     * Query Host Update clears the emulator's update flag, so this wrapper is its only reader: each event it
+     * reports is counted here exactly once (here or in awaitHostUpdate), and calls without a new host update
+     * return the same count. Callers must not issue Query Host Update themselves.
+     */
+    @Override
+    public long getUpdateCount() {
+        if (!hostNotification) {
+            return -1;
+        }
+        if (queryHostUpdate()) {
+            updateCount++;
+        }
+        return updateCount;
+    }
+
+    /**
+     * Pauses until the emulator signals a host event (IPAUSE) or the timeout elapses, then confirms it with
+     * Query Host Update.
+     */
+    @Override
+    public boolean awaitHostUpdate(long sinceUpdate, long timeoutMillis) {
+        if (!hostNotification) {
+            return false;
+        }
+        if (getUpdateCount() != sinceUpdate) {
+            return true;
+        }
+        if (openSessions.get() > 1) {
+            // Pause would hold the shared connection for its whole duration; check this session's flag briefly
+            try {
+                Thread.sleep(Math.min(timeoutMillis, SHARED_PAUSE_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return getUpdateCount() != sinceUpdate;
+        }
+        // Pause duration is given in half-second units
+        int halfSeconds = (int) Math.max(1, (timeoutMillis + 499) / 500);
+        int rc = call(PAUSE, shortBuffer, halfSeconds, 0);
+        if ((rc == RC_HOST_EVENT || rc == RC_OK) && queryHostUpdate()) {
+            updateCount++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean queryHostUpdate() {
+        int rc = callHLLAPI(QUERY_HOST_UPDATE, sessionId);
+        // 21 = OIA updated, 22 = presentation space updated, 23 = both
+        return rc >= 21 && rc <= 23;
+    }
+
+    private void copyPresentationSpace(int position, int count) {
+        call(COPY_PS_TO_STRING, screenBuffer, count, position);
+    }
+
+    private void querySessionSize() {
+        byte[] status = new byte[20];
+        status[0] = (byte) sessionId.charAt(0);
+        if (call(QUERY_SESSION_STATUS, status, status.length, 0) == RC_OK) {
+            int queriedRows = (status[11] & 0xFF) | ((status[12] & 0xFF) << 8);
+            int queriedCols = (status[13] & 0xFF) | ((status[14] & 0xFF) << 8);
+            if (queriedRows > 0 && queriedCols > 0) {
+                rows = queriedRows;
+                cols = queriedCols;
+            }
+        }
+        if (screenBuffer.length < rows * cols) {
+            screenBuffer = new byte[rows * cols];
+        }
+    }
+
+    private int toPosition(int row, int col) {
+        return (row - 1) * cols + col;
+    }
+
+    private int callHLLAPI(int functionCode, String data) {
+        byte[] buffer = data.getBytes(StandardCharsets.ISO_8859_1);
+        return call(functionCode, buffer, buffer.length, 0);
+    }
+
+    private int call(int functionCode, byte[] data, int dataLength, int position) {
+        synchronized (NATIVE_LOCK) {
+            if (actsOnConnectedSession(functionCode) && !sessionId.equals(connectedSession)) {
+                selectPresentationSpace();
+            }
+            function.setValue(functionCode);
+            length.setValue(dataLength);
+            returnCode.setValue(position);
+            EHLLAPI.INSTANCE.hllapi(function, data, length, returnCode);
+            return returnCode.getValue();
+        }
     }
 
-    private void callHLLAPI(int functionCode, String data) {
-        IntByReference func = new IntByReference(functionCode);
-        byte[] buffer = data.getBytes();
-        IntByReference length = new IntByReference(buffer.length);
-        IntByReference rc = new IntByReference(0);
-        EHLLAPI.INSTANCE.hllapi(func, buffer, length, rc);
+    /**
+     * Makes this wrapper's session the process's connected presentation space. Caller holds NATIVE_LOCK.
+     */
+    private void selectPresentationSpace() {
+        byte[] id = sessionId.getBytes(StandardCharsets.ISO_8859_1);
+        function.setValue(CONNECT_PS);
+        length.setValue(id.length);
+        returnCode.setValue(0);
+        EHLLAPI.INSTANCE.hllapi(function, id, length, returnCode);
+        int rc = returnCode.getValue();
+        // 4 and 5: connected, but the host is busy or the keyboard inhibited
+        if (rc != RC_OK && rc != RC_BUSY && rc != RC_INHIBITED) {
+            connectedSession = null;
+            throw new RuntimeException("Cannot connect EHLLAPI to session " + sessionId + " (rc=" + rc + ")");
+        }
+        connectedSession = sessionId;
     }
 
-    private String callHLLAPIString(int functionCode, String data) {
-        IntByReference func = new IntByReference(functionCode);
-        byte[] buffer = new byte[32768];
-        IntByReference length = new IntByReference(buffer.length);
-        IntByReference rc = new IntByReference(0);
-        EHLLAPI.INSTANCE.hllapi(func, buffer, length, rc);
-        return new String(buffer).trim();
+    private static boolean actsOnConnectedSession(int functionCode) {
+        return functionCode == SEND_KEY || functionCode == WAIT || functionCode == QUERY_CURSOR_LOCATION
+                || functionCode == COPY_PS_TO_STRING || functionCode == SET_CURSOR;
     }
 }
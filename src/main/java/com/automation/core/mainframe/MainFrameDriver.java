@@ -1,29 +1,47 @@
 package com.automation.core.mainframe;
 
+import com.automation.core.config.ConfigManager;
+import com.automation.core.exceptions.TimeoutException;
+
+import java.util.List;
+
 public class MainFrameDriver {
 
-    private final EHLLAPIWrapper ehllapi;
+    private final MainframeBackend backend;
     private boolean connected = false;
 
+    // Snapshot reused by reads until the next keystroke or host update
+    private Screen currentScreen;
+    private Screen previousScreen;
+    private boolean screenStale = true;
+
     public MainFrameDriver() {
-        this.ehllapi = new EHLLAPIWrapper();
+        this(MainframeBackendFactory.create());
+    }
+
+    public MainFrameDriver(MainframeBackend backend) {
+        this.backend = backend;
     }
 
     public void connect(String sessionId) {
-        ehllapi.connect(sessionId);
+        backend.connect(sessionId);
         connected = true;
     }
 
     public void disconnect() {
         if (connected) {
-            ehllapi.disconnect();
+            backend.disconnect();
             connected = false;
+            currentScreen = null;
+            previousScreen = null;
+            screenStale = true;
         }
     }
 
     public void sendKeys(String keys) {
         ensureConnected();
-        ehllapi.sendKeys(keys);
+        screenStale = true;
+        backend.sendKeys(keys);
     }
 
     public void enter() {
@@ -32,38 +50,104 @@ public class MainFrameDriver {
     }
 
     public String getText(int row, int col, int length) {
-        ensureConnected();
-        return ehllapi.copyFromScreen(row, col, length);
+        return getCurrentScreen().getText(row, col, length);
     }
 
     public void setText(int row, int col, String text) {
         ensureConnected();
-        ehllapi.moveCursor(row, col);
-        ehllapi.sendKeys(text);
+        screenStale = true;
+        backend.moveCursor(row, col);
+        backend.sendKeys(text);
     }
 
     public boolean waitForText(String expectedText, int timeoutSec) {
-        long endTime = System.currentTimeMillis() + (timeoutSec * 1000L);
-        while (System.currentTimeMillis() < endTime) {
-            if (ehllapi.getScreenText().contains(expectedText)) {
-                return true;
+        return waitFor(timeoutSec, ScreenCondition.screenContains(expectedText));
+    }
+
+    /**
+     * Waits until all conditions hold at the same time. Re-evaluates after every host update when the backend
+     * reports updates; otherwise polls with a backoff from mainframe.wait.poll.min.ms to mainframe.wait.poll.max.ms.
+     */
+    public boolean waitFor(int timeoutSec, ScreenCondition... conditions) {
+        return waitForAny(timeoutSec, ScreenCondition.allOf(conditions)) != null;
+    }
+
+    /**
+     * Waits until one of the conditions holds and returns it, or null on timeout.
+     */
+    public ScreenCondition waitForAny(int timeoutSec, ScreenCondition... conditions) {
+        ensureConnected();
+        ConfigManager config = ConfigManager.getInstance();
+        long pollMillis = config.getIntProperty("mainframe.wait.poll.min.ms", 20);
+        long maxPollMillis = config.getIntProperty("mainframe.wait.poll.max.ms", 500);
+        long deadline = System.currentTimeMillis() + (timeoutSec * 1000L);
+        while (true) {
+            // Read the counter before checking so an update arriving during the check is not missed
+            long updateCount = backend.getUpdateCount();
+            for (ScreenCondition condition : conditions) {
+                if (condition.isMet(backend)) {
+                    return condition;
+                }
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            if (updateCount >= 0) {
+                backend.awaitHostUpdate(updateCount, remaining);
+                continue;
             }
             try {
-                Thread.sleep(500);
+                Thread.sleep(Math.min(pollMillis, remaining));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                return false;
+                return null;
             }
+            pollMillis = Math.min(pollMillis * 2, maxPollMillis);
         }
-        return false;
+    }
+
+    public int[] getCursorPosition() {
+        ensureConnected();
+        return backend.getCursorPosition();
     }
 
     public String getScreen() {
-        return ehllapi.getScreenText();
+        return getCurrentScreen().toString();
+    }
+
+    /**
+     * Returns the screen snapshot, capturing a new one only after a keystroke or host update.
+     * Backends that cannot report host updates are captured on every call.
+     */
+    public Screen getCurrentScreen() {
+        ensureConnected();
+        Screen cached = currentScreen;
+        if (cached != null && !screenStale && cached.getVersion() >= 0
+                && cached.getVersion() == backend.getUpdateCount()) {
+            return cached;
+        }
+        Screen captured = backend.captureScreen();
+        if (cached != null && cached.getContentHash() != captured.getContentHash()) {
+            previousScreen = cached;
+        }
+        currentScreen = captured;
+        screenStale = false;
+        return captured;
+    }
+
+    /**
+     * Rows that differ between the current screen and the last different screen captured before it.
+     */
+    public List<String> getScreenChanges() {
+        return getCurrentScreen().diff(previousScreen);
     }
 
     public void waitForScreenReady() {
-        ehllapi.waitForUnlock();
+        int timeoutSec = ConfigManager.getInstance().getIntProperty("mainframe.screen.wait", 10);
+        if (!waitFor(timeoutSec, ScreenCondition.keyboardUnlocked())) {
+            throw new TimeoutException("waiting for mainframe keyboard unlock", timeoutSec);
+        }
     }
 
     private void ensureConnected() {
@@ -0,0 +1,65 @@
+package com.automation.core.mainframe;
+
+/**
+ * Terminal backend used by MainFrameDriver.
+ * Rows and columns are 1-based; keys use EHLLAPI mnemonics (@E Enter, @T Tab, @C Clear, @1..@24 PF keys).
+ *
+ * Implementations: EHLLAPIWrapper (Windows emulator via pcshll32) and Tn3270Backend (pure Java TN3270 client).
+ */
+public interface MainframeBackend {
+
+    void connect(String sessionId);
+
+    void disconnect();
+
+    void sendKeys(String keys);
+
+    String copyFromScreen(int row, int col, int length);
+
+    void moveCursor(int row, int col);
+
+    void waitForUnlock();
+
+    String getScreenText();
+
+    /**
+     * Captures the current screen as an immutable snapshot, waiting for a pending host reply like getScreenText.
+     */
+    Screen captureScreen();
+
+    /**
+     * Cursor position as {row, column}.
+     */
+    int[] getCursorPosition();
+
+    boolean isKeyboardLocked();
+
+    /**
+     * Counter that changes on every host screen update, or -1 when the backend cannot report host updates.
+     * Used with awaitHostUpdate so waits wake on host events instead of polling.
+     */
+    default long getUpdateCount() {
+        return -1;
+    }
+
+    /**
+     * Blocks until the update counter moves past sinceUpdate or the timeout elapses. Returns true on an update.
+     */
+    default boolean awaitHostUpdate(long sinceUpdate, long timeoutMillis) {
+        return false;
+    }
+
+    /**
+     * Checks text at a position without waiting for pending host replies. Backends may avoid copying the screen.
+     */
+    default boolean isTextAt(int row, int col, String text) {
+        return copyFromScreen(row, col, text.length()).equals(text);
+    }
+
+    /**
+     * Checks whether any row of the screen contains the text, without waiting for pending host replies.
+     */
+    default boolean screenContains(String text) {
+        return getScreenText().contains(text);
+    }
+}
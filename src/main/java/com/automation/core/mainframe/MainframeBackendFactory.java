@@ -0,0 +1,28 @@
+package com.automation.core.mainframe;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+import com.automation.core.mainframe.tn3270.Tn3270Backend;
+
+/**
+ * Creates the terminal backend selected by mainframe.backend:
+ *   ehllapi - Windows emulator through the EHLLAPI DLL (default)
+ *   tn3270  - built-in TN3270 client, or the local stub host when mainframe.stub.script is set
+ */
+public class MainframeBackendFactory {
+
+    private MainframeBackendFactory() {}
+
+    public static MainframeBackend create() {
+        String backend = ConfigManager.getInstance().getProperty("mainframe.backend", "ehllapi").trim().toLowerCase();
+        LogManager.debug("Creating mainframe backend: " + backend);
+        switch (backend) {
+            case "ehllapi":
+                return new EHLLAPIWrapper();
+            case "tn3270":
+                return new Tn3270Backend();
+            default:
+                throw new RuntimeException("Unsupported mainframe.backend: " + backend + ". Use ehllapi or tn3270");
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.automation.core.mainframe;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.exceptions.TimeoutException;
+import com.automation.core.logging.LogManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Pool of emulator sessions shared by parallel mainframe scenarios.
+ * A scenario leases a session on first use (waiting when it is busy) and returns it at scenario end,
+ * after a reset back to the home screen. acquire() or acquire(ANY) takes any free session; acquire(id) waits
+ * for that session and fails when the ID is not in the pool.
+ *
+ * With the EHLLAPI backend every session goes through the one process-wide EHLLAPI connection;
+ * EHLLAPIWrapper serializes the calls and switches the connected presentation space per session.
+ *
+ * mainframe.session.pool=A,B,C,D             session IDs in the pool (empty = pool disabled)
+ * mainframe.session.pool.wait.seconds=300    maximum wait for a free session
+ * mainframe.session.reset.keys=@C            keys sent on return (EHLLAPI mnemonics)
+ * mainframe.session.home.keys=               optional keys sent after the reset to reach the home screen
+ * mainframe.session.home.text=               optional text that must be on screen after reset; otherwise
+ *                                            the session is disconnected and reconnected on its next lease
+ */
+public class MainframeSessionPool {
+    /** Session ID that leases any free session. */
+    public static final String ANY = "*";
+
+    private static final ThreadLocal<PooledSession> leased = new ThreadLocal<>();
+    private static final ReentrantLock lock = new ReentrantLock(true);
+    private static final Condition returned = lock.newCondition();
+    private static final List<PooledSession> allSessions = new ArrayList<>();
+    private static final Deque<PooledSession> idle = new ArrayDeque<>();
+    private static boolean initialized;
+
+    // Metrics
+    private static final AtomicInteger leases = new AtomicInteger();
+    private static final AtomicInteger waits = new AtomicInteger();
+    private static final AtomicInteger timeouts = new AtomicInteger();
+    private static final AtomicInteger connects = new AtomicInteger();
+    private static final AtomicInteger resetFailures = new AtomicInteger();
+    private static final AtomicLong totalWaitMillis = new AtomicLong();
+    private static final AtomicLong maxWaitMillis = new AtomicLong();
+    private static final AtomicLong totalResetMillis = new AtomicLong();
+
+    private MainframeSessionPool() {}
+
+    public static boolean isEnabled() {
+        return !ConfigManager.getInstance().getProperty("mainframe.session.pool", "").trim().isEmpty();
+    }
+
+    /**
+     * Returns the session leased by the current thread, leasing a free one if needed.
+     */
+    public static MainFrameDriver acquire() {
+        return acquire(ANY);
+    }
+
+    /**
+     * Returns the current thread's lease of the given session (ANY for whichever is free first), waiting up to
+     * mainframe.session.pool.wait.seconds while it is leased by another scenario.
+     */
+    public static MainFrameDriver acquire(String sessionId) {
+        PooledSession session = leased.get();
+        if (session != null) {
+            if (!ANY.equals(sessionId) && !session.sessionId.equals(sessionId)) {
+                throw new RuntimeException("Mainframe session " + session.sessionId + " is already leased by this scenario;"
+                        + " disconnect it before connecting to session " + sessionId);
+            }
+            return session.driver;
+        }
+        long start = System.currentTimeMillis();
+        session = take(sessionId);
+        long waited = System.currentTimeMillis() - start;
+        totalWaitMillis.addAndGet(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+        leases.incrementAndGet();
+
+        try {
+            session.ensureConnected();
+        } catch (RuntimeException e) {
+            // Keep the session ID in the pool so capacity is not lost
+            giveBack(session);
+            throw e;
+        }
+        leased.set(session);
+        LogManager.info("Leased mainframe session " + session.sessionId + " after " + waited + " ms [Thread: "
+                + Thread.currentThread().getName() + "]");
+        return session.driver;
+    }
+
+    /**
+     * Resets the current thread's session and returns it to the pool. No-op when nothing is leased.
+     */
+    public static void release() {
+        PooledSession session = leased.get();
+        if (session == null) {
+            return;
+        }
+        leased.remove();
+        try {
+            session.reset();
+        } finally {
+            giveBack(session);
+            LogManager.info("Returned mainframe session " + session.sessionId + " to pool");
+        }
+    }
+
+    /**
+     * Driver leased by the current thread, or null. Does not lease.
+     */
+    public static MainFrameDriver current() {
+        PooledSession session = leased.get();
+        return session != null ? session.driver : null;
+    }
+
+    /**
+     * Session ID leased by the current thread, or null.
+     */
+    public static String currentSessionId() {
+        PooledSession session = leased.get();
+        return session != null ? session.sessionId : null;
+    }
+
+    public static String getStatistics() {
+        int leaseCount = leases.get();
+        long averageWait = leaseCount > 0 ? totalWaitMillis.get() / leaseCount : 0;
+        return "Mainframe session pool " + sessionIds() + ": leases=" + leaseCount
+                + ", waited=" + waits.get() + ", avgWait=" + averageWait + " ms, maxWait=" + maxWaitMillis.get() + " ms"
+                + ", timeouts=" + timeouts.get() + ", connects=" + connects.get()
+                + ", resetFailures=" + resetFailures.get() + ", resetTime=" + totalResetMillis.get() + " ms";
+    }
+
+    public static void logStatistics() {
+        if (leases.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    /**
+     * Disconnects every pooled session. Called at suite end.
+     */
+    public static void shutdown() {
+        lock.lock();
+        try {
+            for (PooledSession session : allSessions) {
+                session.disconnect();
+            }
+            allSessions.clear();
+            idle.clear();
+            initialized = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the requested (or first) idle session, waiting for one to be returned.
+     */
+    private static PooledSession take(String sessionId) {
+        int waitSeconds = ConfigManager.getInstance().getIntProperty("mainframe.session.pool.wait.seconds", 300);
+        long remaining = TimeUnit.SECONDS.toNanos(waitSeconds);
+        lock.lock();
+        try {
+            initialize();
+            boolean any = ANY.equals(sessionId);
+            if (!any && allSessions.stream().noneMatch(s -> s.sessionId.equals(sessionId))) {
+                throw new RuntimeException("Mainframe session " + sessionId + " is not in mainframe.session.pool "
+                        + sessionIds() + ". Use one of those IDs or \"" + ANY + "\" for any free session");
+            }
+            boolean counted = false;
+            while (true) {
+                PooledSession found = null;
+                for (PooledSession candidate : idle) {
+                    if (any || candidate.sessionId.equals(sessionId)) {
+                        found = candidate;
+                        break;
+                    }
+                }
+                if (found != null) {
+                    idle.remove(found);
+                    return found;
+                }
+                if (!counted) {
+                    counted = true;
+                    waits.incrementAndGet();
+                    LogManager.info((any ? "All mainframe sessions" : "Mainframe session " + sessionId)
+                            + " busy - waiting up to " + waitSeconds + "s [Thread: " + Thread.currentThread().getName() + "]");
+                }
+                if (remaining <= 0) {
+                    timeouts.incrementAndGet();
+                    throw new TimeoutException("leasing mainframe session " + sessionId + " from pool " + sessionIds(),
+                            waitSeconds);
+                }
+                remaining = returned.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a mainframe session", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void giveBack(PooledSession session) {
+        lock.lock();
+        try {
+            if (allSessions.contains(session)) {
+                idle.addLast(session);
+                returned.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void initialize() {
+        if (initialized) {
+            return;
+        }
+        List<String> ids = sessionIds();
+        for (String id : ids) {
+            PooledSession session = new PooledSession(id);
+            allSessions.add(session);
+            idle.addLast(session);
+        }
+        initialized = true;
+        LogManager.info("Mainframe session pool initialized with sessions " + ids);
+    }
+
+    private static List<String> sessionIds() {
+        return Arrays.stream(ConfigManager.getInstance().getProperty("mainframe.session.pool", "").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static class PooledSession {
+        private final String sessionId;
+        private MainFrameDriver driver;
+
+        PooledSession(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        void ensureConnected() {
+            if (driver == null) {
+                MainFrameDriver newDriver = new MainFrameDriver();
+                newDriver.connect(sessionId);
+                driver = newDriver;
+                connects.incrementAndGet();
+            }
+        }
+
+        /**
+         * Brings the session back to its home screen; disconnects it when that fails so the next lease reconnects.
+         */
+        void reset() {
+            if (driver == null) {
+                return;
+            }
+            ConfigManager config = ConfigManager.getInstance();
+            long start = System.currentTimeMillis();
+            try {
+                driver.sendKeys(config.getProperty("mainframe.session.reset.keys", "@C"));
+                driver.waitForScreenReady();
+                String homeKeys = config.getProperty("mainframe.session.home.keys", "");
+                if (!homeKeys.isEmpty()) {
+                    driver.sendKeys(homeKeys);
+                    driver.waitForScreenReady();
+                }
+                String homeText = config.getProperty("mainframe.session.home.text", "");
+                if (!homeText.isEmpty()
+                        && !driver.waitForText(homeText, config.getIntProperty("mainframe.screen.wait", 10))) {
+                    throw new RuntimeException("Home screen text '" + homeText + "' not found after reset");
+                }
+            } catch (Exception e) {
+                resetFailures.incrementAndGet();
+                LogManager.warn("Reset of mainframe session " + sessionId + " failed - reconnecting on next lease: " + e.getMessage());
+                disconnect();
+            } finally {
+                totalResetMillis.addAndGet(System.currentTimeMillis() - start);
+            }
+        }
+
+        void disconnect() {
+            if (driver != null) {
+                try {
+                    driver.close();
+                } catch (Exception e) {
+                    LogManager.debug("Error disconnecting mainframe session " + sessionId + ": " + e.getMessage());
+                }
+                driver = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.automation.core.mainframe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of a terminal screen: character grid, field table, cursor and content hash.
+ * MainFrameDriver captures one per host update and serves every read and assertion from it until the
+ * next keystroke or host update. Rows and columns are 1-based.
+ */
+public class Screen {
+    private final int rows;
+    private final int cols;
+    private final char[] grid;
+    private final List<Field> fields;
+    // Field index per buffer position, or -1 for attribute bytes and unformatted screens
+    private final int[] fieldIndex;
+    private final int[] rowHashes;
+    private final long contentHash;
+    private final int cursorRow;
+    private final int cursorCol;
+    private final long version;
+
+    /**
+     * @param grid     rows * cols display characters (blanks for nulls and attribute positions)
+     * @param fields   fields ordered by start position; empty for unformatted screens
+     * @param version  backend update counter when captured, or -1 if the backend does not report updates
+     */
+    public Screen(int rows, int cols, char[] grid, List<Field> fields, int cursorRow, int cursorCol, long version) {
+        if (grid.length != rows * cols) {
+            throw new IllegalArgumentException("Grid size " + grid.length + " does not match " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.grid = grid;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+        this.cursorRow = cursorRow;
+        this.cursorCol = cursorCol;
+        this.version = version;
+        this.fieldIndex = new int[grid.length];
+        Arrays.fill(fieldIndex, -1);
+        for (int i = 0; i < this.fields.size(); i++) {
+            Field field = this.fields.get(i);
+            for (int p = 0; p < field.length; p++) {
+                fieldIndex[(field.start + p) % grid.length] = i;
+            }
+        }
+        this.rowHashes = new int[rows];
+        long hash = 1125899906842597L;
+        for (int r = 0; r < rows; r++) {
+            int rowHash = 1;
+            for (int p = r * cols; p < (r + 1) * cols; p++) {
+                rowHash = 31 * rowHash + grid[p];
+            }
+            rowHashes[r] = rowHash;
+            hash = 31 * hash + rowHash;
+        }
+        this.contentHash = hash;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getCursorRow() {
+        return cursorRow;
+    }
+
+    public int getCursorCol() {
+        return cursorCol;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Hash of the visible content; equal screens have equal hashes.
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    public String getText(int row, int col, int length) {
+        int start = toOffset(row, col);
+        return new String(grid, start, Math.min(length, grid.length - start));
+    }
+
+    public String getRow(int row) {
+        return getText(row, 1, cols);
+    }
+
+    public boolean isTextAt(int row, int col, String text) {
+        int start = toOffset(row, col);
+        if (start + text.length() > grid.length) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (grid[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches each row for the text; matches do not span rows.
+     */
+    public boolean contains(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        char first = text.charAt(0);
+        for (int r = 0; r < rows; r++) {
+            int rowEnd = (r + 1) * cols;
+            for (int p = r * cols; p + text.length() <= rowEnd; p++) {
+                if (grid[p] == first && regionMatches(p, text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public List<Field> getInputFields() {
+        return fields.stream().filter(f -> !f.isProtected()).collect(Collectors.toList());
+    }
+
+    /**
+     * Field containing the position, or null for attribute positions and unformatted screens.
+     */
+    public Field getFieldAt(int row, int col) {
+        int index = fieldIndex[toOffset(row, col)];
+        return index < 0 ? null : fields.get(index);
+    }
+
+    /**
+     * Describes the rows that changed since the previous screen; empty when nothing changed.
+     * Rows are compared by hash first, so unchanged screens cost one comparison.
+     */
+    public List<String> diff(Screen previous) {
+        List<String> changes = new ArrayList<>();
+        if (previous == null) {
+            return changes;
+        }
+        if (previous.rows != rows || previous.cols != cols) {
+            changes.add("Screen size changed from " + previous.rows + "x" + previous.cols + " to " + rows + "x" + cols);
+            return changes;
+        }
+        if (previous.contentHash == contentHash && Arrays.equals(previous.grid, grid)) {
+            return changes;
+        }
+        for (int r = 0; r < rows; r++) {
+            int from = r * cols;
+            int to = from + cols;
+            if (previous.rowHashes[r] != rowHashes[r] || !Arrays.equals(previous.grid, from, to, grid, from, to)) {
+                changes.add(String.format("Row %2d: '%s' -> '%s'", r + 1,
+                        previous.getRow(r + 1).trim(), getRow(r + 1).trim()));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Screen text with rows separated by '\n'.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(grid.length + rows);
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) {
+                text.append('\n');
+            }
+            text.append(grid, r * cols, cols);
+        }
+        return text.toString();
+    }
+
+    private boolean regionMatches(int offset, String text) {
+        for (int i = 1; i < text.length(); i++) {
+            if (grid[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int toOffset(int row, int col) {
+        if (row < 1 || row > rows || col < 1 || col > cols) {
+            throw new IllegalArgumentException("Position out of screen bounds: row " + row + ", column " + col);
+        }
+        return (row - 1) * cols + (col - 1);
+    }
+
+    /**
+     * A 3270 field: the data positions following an attribute byte, up to the next attribute.
+     */
+    public static class Field {
+        private final int start;
+        private final int length;
+        private final int row;
+        private final int col;
+        private final boolean isProtected;
+        private final boolean numeric;
+        private final boolean intensified;
+        private final boolean hidden;
+        private final boolean modified;
+        private final String value;
+
+        public Field(int start, int length, int cols, boolean isProtected, boolean numeric, boolean intensified,
+                     boolean hidden, boolean modified, String value) {
+            this.start = start;
+            this.length = length;
+            this.row = start / cols + 1;
+            this.col = start % cols + 1;
+            this.isProtected = isProtected;
+            this.numeric = numeric;
+            this.intensified = intensified;
+            this.hidden = hidden;
+            this.modified = modified;
+            this.value = value;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCol() {
+            return col;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public boolean isProtected() {
+            return isProtected;
+        }
+
+        public boolean isNumeric() {
+            return numeric;
+        }
+
+        public boolean isIntensified() {
+            return intensified;
+        }
+
+        public boolean isHidden() {
+            return hidden;
+        }
+
+        public boolean isModified() {
+            return modified;
+        }
+
+        /**
+         * Field content as displayed (hidden fields read as blanks).
+         */
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Field[row=%d, col=%d, length=%d, %s%s%s%s]", row, col, length,
+                    isProtected ? "protected" : "input", numeric ? ", numeric" : "",
+                    intensified ? ", intensified" : "", hidden ? ", hidden" : "");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.automation.core.mainframe;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A condition on the terminal state, evaluated by MainFrameDriver.waitFor after every host update.
+ * Conditions read only the region they need, so evaluating them does not copy the whole screen.
+ *
+ * Example: driver.waitFor(10, ScreenCondition.textAt(1, 30, "MAIN MENU"), ScreenCondition.keyboardUnlocked());
+ */
+public interface ScreenCondition {
+
+    boolean isMet(MainframeBackend backend);
+
+    String describe();
+
+    static ScreenCondition textAt(int row, int col, String text) {
+        return of(backend -> backend.isTextAt(row, col, text),
+                "text '" + text + "' at row " + row + " column " + col);
+    }
+
+    static ScreenCondition screenContains(String text) {
+        return of(backend -> backend.screenContains(text), "screen contains '" + text + "'");
+    }
+
+    static ScreenCondition cursorAt(int row, int col) {
+        return of(backend -> {
+            int[] cursor = backend.getCursorPosition();
+            return cursor[0] == row && cursor[1] == col;
+        }, "cursor at row " + row + " column " + col);
+    }
+
+    static ScreenCondition keyboardUnlocked() {
+        return of(backend -> !backend.isKeyboardLocked(), "keyboard unlocked");
+    }
+
+    static ScreenCondition allOf(ScreenCondition... conditions) {
+        return of(backend -> Arrays.stream(conditions).allMatch(c -> c.isMet(backend)), join(conditions, " and "));
+    }
+
+    static ScreenCondition anyOf(ScreenCondition... conditions) {
+        return of(backend -> Arrays.stream(conditions).anyMatch(c -> c.isMet(backend)), join(conditions, " or "));
+    }
+
+    static ScreenCondition of(Predicate<MainframeBackend> check, String description) {
+        return new ScreenCondition() {
+            @Override
+            public boolean isMet(MainframeBackend backend) {
+                return check.test(backend);
+            }
+
+            @Override
+            public String describe() {
+                return description;
+            }
+        };
+    }
+
+    private static String join(ScreenCondition[] conditions, String separator) {
+        return Arrays.stream(conditions).map(ScreenCondition::describe).collect(Collectors.joining(separator));
+    }
+}
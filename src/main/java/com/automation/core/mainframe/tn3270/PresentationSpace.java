@@ -0,0 +1,526 @@
+package com.automation.core.mainframe.tn3270;
+
+import com.automation.core.mainframe.Screen;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.automation.core.mainframe.tn3270.Tn3270Codec.*;
+
+/**
+ * In-memory 3270 presentation space: characters, field attributes and cursor.
+ * Host writes are applied by the connection's reader thread; all access is synchronized on this object.
+ * Positions are 0-based buffer addresses internally; row/column arguments are 1-based.
+ */
+public class PresentationSpace {
+    private static final int NO_ATTRIBUTE = -1;
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final char[] chars;
+    private final int[] attributes;
+    private int cursor;
+
+    public PresentationSpace(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        this.chars = new char[size];
+        this.attributes = new int[size];
+        Arrays.fill(attributes, NO_ATTRIBUTE);
+    }
+
+    /**
+     * Screen for a 3278 model: 2 (24x80), 3 (32x80), 4 (43x80) or 5 (27x132); other values give model 2.
+     */
+    public static PresentationSpace forModel(int model) {
+        switch (model) {
+            case 3: return new PresentationSpace(32, 80);
+            case 4: return new PresentationSpace(43, 80);
+            case 5: return new PresentationSpace(27, 132);
+            default: return new PresentationSpace(24, 80);
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public synchronized int getCursor() {
+        return cursor;
+    }
+
+    // ---------------------- Host -> terminal ----------------------
+
+    /**
+     * Applies a Write / Erase-Write / Erase-All-Unprotected record and returns its write control character.
+     */
+    public synchronized int processWrite(byte[] record) {
+        int cmd = record[0] & 0xFF;
+        if (cmd == CMD_ERASE_ALL_UNPROTECTED || cmd == CMD_ERASE_ALL_UNPROTECTED_SNA) {
+            eraseAllUnprotected();
+            return WCC_KEYBOARD_RESTORE | WCC_RESET_MDT;
+        }
+        boolean erase = cmd == CMD_ERASE_WRITE || cmd == CMD_ERASE_WRITE_SNA
+                || cmd == CMD_ERASE_WRITE_ALT || cmd == CMD_ERASE_WRITE_ALT_SNA;
+        if (erase) {
+            clear();
+        }
+        if (record.length < 2) {
+            return 0;
+        }
+        int wcc = record[1] & 0xFF;
+        if ((wcc & WCC_RESET_MDT) != 0) {
+            resetModified();
+        }
+
+        int address = erase ? 0 : cursor;
+        int i = 2;
+        while (i < record.length) {
+            int b = record[i] & 0xFF;
+            switch (b) {
+                case ORDER_SF:
+                    setAttribute(address, byteAt(record, i + 1));
+                    address = next(address);
+                    i += 2;
+                    break;
+                case ORDER_SFE: {
+                    int count = byteAt(record, i + 1);
+                    int attr = 0;
+                    for (int p = 0; p < count; p++) {
+                        if (byteAt(record, i + 2 + p * 2) == 0xC0) {
+                            attr = byteAt(record, i + 3 + p * 2);
+                        }
+                    }
+                    setAttribute(address, attr);
+                    address = next(address);
+                    i += 2 + count * 2;
+                    break;
+                }
+                case ORDER_MF: {
+                    int count = byteAt(record, i + 1);
+                    for (int p = 0; p < count; p++) {
+                        if (byteAt(record, i + 2 + p * 2) == 0xC0 && attributes[address] != NO_ATTRIBUTE) {
+                            attributes[address] = byteAt(record, i + 3 + p * 2) & 0x3F;
+                        }
+                    }
+                    address = next(address);
+                    i += 2 + count * 2;
+                    break;
+                }
+                case ORDER_SBA:
+                    address = decodeAddress(byteAt(record, i + 1), byteAt(record, i + 2)) % size;
+                    i += 3;
+                    break;
+                case ORDER_SA:
+                    i += 3;
+                    break;
+                case ORDER_IC:
+                    cursor = address;
+                    i++;
+                    break;
+                case ORDER_PT:
+                    address = nextUnprotectedFieldStart(address);
+                    i++;
+                    break;
+                case ORDER_RA: {
+                    int stop = decodeAddress(byteAt(record, i + 1), byteAt(record, i + 2)) % size;
+                    int ch = byteAt(record, i + 3);
+                    i += 4;
+                    if (ch == ORDER_GE) {
+                        ch = byteAt(record, i);
+                        i++;
+                    }
+                    do {
+                        putChar(address, toChar(ch));
+                        address = next(address);
+                    } while (address != stop);
+                    break;
+                }
+                case ORDER_EUA: {
+                    int stop = decodeAddress(byteAt(record, i + 1), byteAt(record, i + 2)) % size;
+                    do {
+                        if (attributes[address] == NO_ATTRIBUTE && !isProtected(address)) {
+                            chars[address] = '\0';
+                        }
+                        address = next(address);
+                    } while (address != stop);
+                    i += 3;
+                    break;
+                }
+                case ORDER_GE:
+                    putChar(address, toChar(byteAt(record, i + 1)));
+                    address = next(address);
+                    i += 2;
+                    break;
+                default:
+                    putChar(address, toChar(b));
+                    address = next(address);
+                    i++;
+                    break;
+            }
+        }
+        return wcc;
+    }
+
+    // ---------------------- Terminal -> host ----------------------
+
+    /**
+     * Builds the inbound Read Modified record for an AID: AID, cursor address and every modified field.
+     */
+    public synchronized byte[] buildReadModified(int aid, boolean allFields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(aid);
+        if (isShortRead(aid) && !allFields) {
+            return out.toByteArray();
+        }
+        writeAddress(out, cursor);
+        if (!isFormatted()) {
+            for (int p = 0; p < size; p++) {
+                if (chars[p] != '\0') {
+                    out.write(toEbcdic(chars[p]));
+                }
+            }
+            return out.toByteArray();
+        }
+        for (int p = 0; p < size; p++) {
+            if (attributes[p] != NO_ATTRIBUTE && (attributes[p] & FA_MODIFIED) != 0) {
+                int start = next(p);
+                out.write(ORDER_SBA);
+                writeAddress(out, start);
+                for (int q = start; attributes[q] == NO_ATTRIBUTE; q = next(q)) {
+                    if (chars[q] != '\0') {
+                        out.write(toEbcdic(chars[q]));
+                    }
+                    if (next(q) == start) {
+                        break;
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Builds the inbound Read Buffer record: AID, cursor address and the whole buffer.
+     */
+    public synchronized byte[] buildReadBuffer(int aid) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size + 64);
+        out.write(aid);
+        writeAddress(out, cursor);
+        for (int p = 0; p < size; p++) {
+            if (attributes[p] != NO_ATTRIBUTE) {
+                out.write(ORDER_SF);
+                out.write(encodeAttribute(attributes[p]));
+            } else {
+                out.write(chars[p] == '\0' ? 0 : toEbcdic(chars[p]));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // ---------------------- Keyboard ----------------------
+
+    /**
+     * Types text at the cursor, marking the field modified and skipping to the next input field at field end.
+     */
+    public synchronized void type(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isProtected(cursor)) {
+                throw new IllegalStateException("Cursor is in a protected field at row " + (cursor / cols + 1)
+                        + " column " + (cursor % cols + 1));
+            }
+            chars[cursor] = text.charAt(i);
+            markModified(cursor);
+            cursor = next(cursor);
+            if (attributes[cursor] != NO_ATTRIBUTE) {
+                cursor = nextUnprotectedFieldStart(cursor);
+            }
+        }
+    }
+
+    public synchronized void moveCursor(int row, int col) {
+        cursor = toAddress(row, col);
+    }
+
+    public synchronized void tab() {
+        cursor = nextUnprotectedFieldStart(cursor);
+    }
+
+    public synchronized void backTab() {
+        int target = cursor;
+        for (int i = 1; i <= size; i++) {
+            int p = Math.floorMod(cursor - i, size);
+            if (attributes[p] != NO_ATTRIBUTE && (attributes[p] & FA_PROTECTED) == 0 && next(p) != cursor) {
+                target = next(p);
+                break;
+            }
+        }
+        cursor = target;
+    }
+
+    public synchronized void home() {
+        cursor = isFormatted() ? nextUnprotectedFieldStart(size - 1) : 0;
+    }
+
+    public synchronized void newLine() {
+        int nextRowStart = ((cursor / cols + 1) % rows) * cols;
+        cursor = isFormatted() ? nextUnprotectedFieldStart(Math.floorMod(nextRowStart - 1, size)) : nextRowStart;
+    }
+
+    public synchronized void eraseEof() {
+        if (isProtected(cursor)) {
+            throw new IllegalStateException("Cannot erase protected field at row " + (cursor / cols + 1));
+        }
+        for (int p = cursor; attributes[p] == NO_ATTRIBUTE; p = next(p)) {
+            chars[p] = '\0';
+            if (next(p) == cursor) {
+                break;
+            }
+        }
+        markModified(cursor);
+    }
+
+    public synchronized void delete() {
+        if (isProtected(cursor)) {
+            throw new IllegalStateException("Cannot delete in protected field at row " + (cursor / cols + 1));
+        }
+        int p = cursor;
+        while (attributes[next(p)] == NO_ATTRIBUTE && next(p) != cursor) {
+            chars[p] = chars[next(p)];
+            p = next(p);
+        }
+        chars[p] = '\0';
+        markModified(cursor);
+    }
+
+    /**
+     * Local effect of the Clear key: blank, unformatted buffer with the cursor at home.
+     */
+    public synchronized void clear() {
+        Arrays.fill(chars, '\0');
+        Arrays.fill(attributes, NO_ATTRIBUTE);
+        cursor = 0;
+    }
+
+    // ---------------------- Reading ----------------------
+
+    public synchronized String getText(int row, int col, int length) {
+        int start = toAddress(row, col);
+        int end = Math.min(size, start + length);
+        StringBuilder text = new StringBuilder(end - start);
+        for (int p = start; p < end; p++) {
+            text.append(displayChar(p));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Compares text at a position directly against the buffer, without building a String.
+     */
+    public synchronized boolean isTextAt(int row, int col, String text) {
+        int start = toAddress(row, col);
+        if (start + text.length() > size) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (displayChar(start + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches every row for the text (matches do not span rows), without building a String.
+     */
+    public synchronized boolean contains(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return true;
+        }
+        for (int rowStart = 0; rowStart < size; rowStart += cols) {
+            for (int p = rowStart; p + length <= rowStart + cols; p++) {
+                int i = 0;
+                while (i < length && displayChar(p + i) == text.charAt(i)) {
+                    i++;
+                }
+                if (i == length) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Full screen text, one line per row separated by '\n'. Attribute positions and nulls read as blanks.
+     */
+    public synchronized String getScreenText() {
+        StringBuilder text = new StringBuilder(size + rows);
+        for (int p = 0; p < size; p++) {
+            if (p > 0 && p % cols == 0) {
+                text.append('\n');
+            }
+            text.append(displayChar(p));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Captures an immutable Screen with display grid, field table and cursor in one pass.
+     */
+    public synchronized Screen snapshot(long version) {
+        char[] grid = new char[size];
+        for (int p = 0; p < size; p++) {
+            grid[p] = displayChar(p);
+        }
+        List<Screen.Field> fields = new ArrayList<>();
+        for (int p = 0; p < size; p++) {
+            if (attributes[p] == NO_ATTRIBUTE) {
+                continue;
+            }
+            int attr = attributes[p];
+            int start = next(p);
+            int length = 0;
+            while (length < size - 1 && attributes[(start + length) % size] == NO_ATTRIBUTE) {
+                length++;
+            }
+            StringBuilder value = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                value.append(grid[(start + i) % size]);
+            }
+            fields.add(new Screen.Field(start, length, cols, (attr & FA_PROTECTED) != 0, (attr & FA_NUMERIC) != 0,
+                    (attr & FA_DISPLAY_MASK) == FA_INTENSIFIED, (attr & FA_DISPLAY_MASK) == FA_NON_DISPLAY,
+                    (attr & FA_MODIFIED) != 0, value.toString()));
+        }
+        return new Screen(rows, cols, grid, fields, cursor / cols + 1, cursor % cols + 1, version);
+    }
+
+    /**
+     * Field attribute stored at a position, or -1 when the position holds a character.
+     */
+    public synchronized int getAttributeAt(int address) {
+        return attributes[address];
+    }
+
+    public synchronized boolean isFormatted() {
+        for (int attr : attributes) {
+            if (attr != NO_ATTRIBUTE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------------- Helpers ----------------------
+
+    private char displayChar(int p) {
+        if (attributes[p] != NO_ATTRIBUTE || chars[p] == '\0') {
+            return ' ';
+        }
+        int attr = fieldAttributeAt(p);
+        if (attr != NO_ATTRIBUTE && (attr & FA_DISPLAY_MASK) == FA_NON_DISPLAY) {
+            return ' ';
+        }
+        return chars[p];
+    }
+
+    private int toAddress(int row, int col) {
+        if (row < 1 || row > rows || col < 1 || col > cols) {
+            throw new IllegalArgumentException("Position out of screen bounds: row " + row + ", column " + col);
+        }
+        return (row - 1) * cols + (col - 1);
+    }
+
+    private int next(int address) {
+        return address + 1 == size ? 0 : address + 1;
+    }
+
+    /**
+     * Attribute governing a position: the nearest attribute at or before it (wrapping), or -1 if unformatted.
+     */
+    private int fieldAttributeAt(int address) {
+        for (int i = 0; i < size; i++) {
+            int p = Math.floorMod(address - i, size);
+            if (attributes[p] != NO_ATTRIBUTE) {
+                return attributes[p];
+            }
+        }
+        return NO_ATTRIBUTE;
+    }
+
+    private boolean isProtected(int address) {
+        if (attributes[address] != NO_ATTRIBUTE) {
+            return true;
+        }
+        int attr = fieldAttributeAt(address);
+        return attr != NO_ATTRIBUTE && (attr & FA_PROTECTED) != 0;
+    }
+
+    private void markModified(int address) {
+        for (int i = 0; i < size; i++) {
+            int p = Math.floorMod(address - i, size);
+            if (attributes[p] != NO_ATTRIBUTE) {
+                attributes[p] |= FA_MODIFIED;
+                return;
+            }
+        }
+    }
+
+    private int nextUnprotectedFieldStart(int from) {
+        for (int i = 1; i <= size; i++) {
+            int p = (from + i) % size;
+            if (attributes[p] != NO_ATTRIBUTE && (attributes[p] & FA_PROTECTED) == 0
+                    && attributes[next(p)] == NO_ATTRIBUTE) {
+                return next(p);
+            }
+        }
+        return isFormatted() ? from : next(from);
+    }
+
+    private void setAttribute(int address, int attr) {
+        attributes[address] = attr & 0x3F;
+        chars[address] = '\0';
+    }
+
+    private void putChar(int address, char c) {
+        attributes[address] = NO_ATTRIBUTE;
+        chars[address] = c;
+    }
+
+    private void resetModified() {
+        for (int p = 0; p < size; p++) {
+            if (attributes[p] != NO_ATTRIBUTE) {
+                attributes[p] &= ~FA_MODIFIED;
+            }
+        }
+    }
+
+    private void eraseAllUnprotected() {
+        for (int p = 0; p < size; p++) {
+            if (attributes[p] == NO_ATTRIBUTE && !isProtected(p)) {
+                chars[p] = '\0';
+            }
+        }
+        resetModified();
+        cursor = nextUnprotectedFieldStart(size - 1);
+    }
+
+    private static void writeAddress(ByteArrayOutputStream out, int address) {
+        int[] encoded = encodeAddress(address);
+        out.write(encoded[0]);
+        out.write(encoded[1]);
+    }
+
+    private static int byteAt(byte[] record, int index) {
+        return index < record.length ? record[index] & 0xFF : 0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.automation.core.mainframe.tn3270;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Screen flow for StubTn3270Host, loaded from a plain text script (classpath or file path):
+ *
+ * <pre>
+ * # comment
+ * DELAY 50                                  host think time for every reply (ms)
+ * SCREEN LOGIN                              first screen is shown on connect
+ *   TEXT 1 30 SIGN ON                       protected text at row/column
+ *   BRIGHT 3 2 Enter your credentials       intensified text
+ *   INPUT 10 20 8 userid                    input field: row column length name [NUMERIC] [HIDDEN]
+ *   CURSOR 10 20                            initial cursor (default: first input)
+ * END
+ * ON LOGIN ENTER WHEN userid=MENU01 GOTO ACCOUNTS
+ * ON LOGIN ENTER GOTO MENU DELAY 200
+ * ON * PF3 GOTO PREVIOUS
+ * </pre>
+ *
+ * Text may reference entered field values as ${name}. Rules are checked in order; when none matches,
+ * the current screen is redisplayed.
+ */
+public class StubHostScript {
+    private final Map<String, ScreenDef> screens = new LinkedHashMap<>();
+    private final List<Rule> rules = new ArrayList<>();
+    private long defaultDelayMillis;
+
+    public static StubHostScript load(String location) {
+        try (InputStream in = open(location)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            StubHostScript script = new StubHostScript();
+            script.parse(reader);
+            return script;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stub host script: " + location, e);
+        }
+    }
+
+    public ScreenDef getInitialScreen() {
+        if (screens.isEmpty()) {
+            throw new IllegalStateException("Stub host script defines no screens");
+        }
+        return screens.values().iterator().next();
+    }
+
+    public ScreenDef getScreen(String name) {
+        ScreenDef screen = screens.get(name);
+        if (screen == null) {
+            throw new IllegalStateException("Stub host script has no screen: " + name);
+        }
+        return screen;
+    }
+
+    /**
+     * Finds the first rule matching the current screen, AID name and field values; null when none applies.
+     */
+    public Rule findRule(String screen, String aid, Map<String, String> values) {
+        for (Rule rule : rules) {
+            if ((rule.screen.equals("*") || rule.screen.equals(screen)) && rule.aid.equalsIgnoreCase(aid)
+                    && (rule.whenField == null || rule.whenValue.equals(values.getOrDefault(rule.whenField, "")))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    public long getDefaultDelayMillis() {
+        return defaultDelayMillis;
+    }
+
+    private static InputStream open(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.exists(path)) {
+            return Files.newInputStream(path);
+        }
+        InputStream in = StubHostScript.class.getClassLoader().getResourceAsStream(location);
+        if (in == null) {
+            throw new IOException("Not found on file system or classpath");
+        }
+        return in;
+    }
+
+    private void parse(BufferedReader reader) throws IOException {
+        ScreenDef current = null;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 4);
+            String keyword = parts[0].toUpperCase();
+            try {
+                if (current != null) {
+                    switch (keyword) {
+                        case "TEXT":
+                        case "BRIGHT":
+                            current.items.add(new Item(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                                    parts.length > 3 ? parts[3] : "", "BRIGHT".equals(keyword)));
+                            continue;
+                        case "INPUT":
+                            current.inputs.add(parseInput(trimmed.split("\\s+")));
+                            continue;
+                        case "CURSOR":
+                            current.cursorRow = Integer.parseInt(parts[1]);
+                            current.cursorCol = Integer.parseInt(parts[2]);
+                            continue;
+                        case "END":
+                            current = null;
+                            continue;
+                        default:
+                            throw new IllegalArgumentException("Unexpected '" + parts[0] + "' inside SCREEN");
+                    }
+                }
+                switch (keyword) {
+                    case "SCREEN":
+                        current = new ScreenDef(parts[1]);
+                        screens.put(current.name, current);
+                        break;
+                    case "ON":
+                        rules.add(parseRule(trimmed.split("\\s+")));
+                        break;
+                    case "DELAY":
+                        defaultDelayMillis = Long.parseLong(parts[1]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown statement '" + parts[0] + "'");
+                }
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Stub host script line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        for (Rule rule : rules) {
+            getScreen(rule.target);
+        }
+    }
+
+    private static Input parseInput(String[] tokens) {
+        Input input = new Input(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]),
+                Integer.parseInt(tokens[3]), tokens[4]);
+        for (int i = 5; i < tokens.length; i++) {
+            if ("NUMERIC".equalsIgnoreCase(tokens[i])) {
+                input.numeric = true;
+            } else if ("HIDDEN".equalsIgnoreCase(tokens[i])) {
+                input.hidden = true;
+            }
+        }
+        return input;
+    }
+
+    private static Rule parseRule(String[] tokens) {
+        // ON <screen|*> <AID> [WHEN field=value] GOTO <screen> [DELAY ms]
+        Rule rule = new Rule(tokens[1], tokens[2]);
+        for (int i = 3; i < tokens.length; i++) {
+            switch (tokens[i].toUpperCase()) {
+                case "WHEN": {
+                    String[] condition = tokens[++i].split("=", 2);
+                    rule.whenField = condition[0];
+                    rule.whenValue = condition.length > 1 ? condition[1] : "";
+                    break;
+                }
+                case "GOTO":
+                    rule.target = tokens[++i];
+                    break;
+                case "DELAY":
+                    rule.delayMillis = Long.parseLong(tokens[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected '" + tokens[i] + "' in ON rule");
+            }
+        }
+        if (rule.target == null) {
+            throw new IllegalArgumentException("ON rule without GOTO");
+        }
+        return rule;
+    }
+
+    public static class ScreenDef {
+        final String name;
+        final List<Item> items = new ArrayList<>();
+        final List<Input> inputs = new ArrayList<>();
+        int cursorRow;
+        int cursorCol;
+
+        ScreenDef(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    static class Item {
+        final int row;
+        final int col;
+        final String text;
+        final boolean bright;
+
+        Item(int row, int col, String text, boolean bright) {
+            this.row = row;
+            this.col = col;
+            this.text = text;
+            this.bright = bright;
+        }
+    }
+
+    static class Input {
+        final int row;
+        final int col;
+        final int length;
+        final String name;
+        boolean numeric;
+        boolean hidden;
+
+        Input(int row, int col, int length, String name) {
+            this.row = row;
+            this.col = col;
+            this.length = length;
+            this.name = name;
+        }
+    }
+
+    public static class Rule {
+        final String screen;
+        final String aid;
+        String whenField;
+        String whenValue;
+        String target;
+        long delayMillis = -1;
+
+        Rule(String screen, String aid) {
+            this.screen = screen;
+            this.aid = aid;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.automation.core.mainframe.tn3270;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.logging.LogManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.automation.core.mainframe.tn3270.Tn3270Codec.*;
+
+/**
+ * Local TN3270 host driven by a StubHostScript, so mainframe features run on Linux CI without a real host.
+ * Every connection gets its own screen state and entered field values. Listens on localhost only.
+ *
+ * Started automatically by Tn3270Backend when mainframe.stub.script is set. The screen size follows the terminal
+ * model (mainframe.tn3270.model); models 3-5 are written with Erase/Write Alternate as a real host does.
+ */
+public class StubTn3270Host implements Closeable {
+    private static final Map<String, StubTn3270Host> sharedHosts = new ConcurrentHashMap<>();
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final StubHostScript script;
+    private final int rows;
+    private final int cols;
+    private final int eraseWrite;
+    private final ServerSocket server;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    public StubTn3270Host(StubHostScript script, int port) throws IOException {
+        this(script, port, ConfigManager.getInstance().getIntProperty("mainframe.tn3270.model", 2));
+    }
+
+    public StubTn3270Host(StubHostScript script, int port, int model) throws IOException {
+        PresentationSpace geometry = PresentationSpace.forModel(model);
+        this.script = script;
+        this.rows = geometry.getRows();
+        this.cols = geometry.getCols();
+        this.eraseWrite = rows == 24 && cols == 80 ? CMD_ERASE_WRITE_SNA : CMD_ERASE_WRITE_ALT_SNA;
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "tn3270-stub-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        LogManager.info("TN3270 stub host listening on port " + getPort());
+    }
+
+    /**
+     * Returns the host for a script and terminal model, starting it on a free port the first time.
+     */
+    public static StubTn3270Host startShared(String scriptLocation, int model) {
+        return sharedHosts.computeIfAbsent(scriptLocation + "#" + model, key -> {
+            try {
+                return new StubTn3270Host(StubHostScript.load(scriptLocation), 0, model);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start TN3270 stub host: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public String getStatistics() {
+        return "TN3270 stub host: connections=" + connections.get() + ", transactions=" + transactions.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> serve(socket), "tn3270-stub-session-" + connections.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (SocketException e) {
+                // Server socket closed
+                return;
+            } catch (IOException e) {
+                LogManager.warn("TN3270 stub host accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (TelnetConnection connection = new TelnetConnection(socket, null)) {
+            socket.setTcpNoDelay(true);
+            connection.sendHostNegotiation();
+            Map<String, String> values = new HashMap<>();
+            StubHostScript.ScreenDef current = script.getInitialScreen();
+            sendScreen(connection, current, values);
+
+            byte[] record;
+            while ((record = connection.readRecord()) != null) {
+                if (record.length == 0) {
+                    continue;
+                }
+                int aid = record[0] & 0xFF;
+                readFields(record, current, values);
+                StubHostScript.Rule rule = script.findRule(current.name, aidName(aid), values);
+                long delay = rule != null && rule.delayMillis >= 0 ? rule.delayMillis : script.getDefaultDelayMillis();
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                if (rule != null) {
+                    current = script.getScreen(rule.target);
+                }
+                transactions.incrementAndGet();
+                sendScreen(connection, current, values);
+            }
+        } catch (IOException e) {
+            LogManager.debug("TN3270 stub session ended: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores the values of the current screen's input fields from an inbound Read Modified record.
+     * Fields the terminal did not send are treated as empty.
+     */
+    private void readFields(byte[] record, StubHostScript.ScreenDef screen, Map<String, String> values) {
+        Map<Integer, String> received = new HashMap<>();
+        int i = isShortRead(record[0] & 0xFF) ? 1 : 3;
+        while (i < record.length) {
+            if ((record[i] & 0xFF) != ORDER_SBA || i + 2 >= record.length) {
+                i++;
+                continue;
+            }
+            int address = decodeAddress(record[i + 1] & 0xFF, record[i + 2] & 0xFF);
+            i += 3;
+            StringBuilder data = new StringBuilder();
+            while (i < record.length && (record[i] & 0xFF) != ORDER_SBA) {
+                data.append(toChar(record[i] & 0xFF));
+                i++;
+            }
+            received.put(address, data.toString().trim());
+        }
+        for (StubHostScript.Input input : screen.inputs) {
+            values.put(input.name, received.getOrDefault(address(input.row, input.col), ""));
+        }
+    }
+
+    private void sendScreen(TelnetConnection connection, StubHostScript.ScreenDef screen,
+                            Map<String, String> values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        out.write(eraseWrite);
+        out.write(encodeAttribute(WCC_KEYBOARD_RESTORE | WCC_RESET_MDT));
+        for (StubHostScript.Item item : screen.items) {
+            int start = address(item.row, item.col);
+            setBufferAddress(out, start - 1);
+            out.write(ORDER_SF);
+            out.write(encodeAttribute(FA_PROTECTED | (item.bright ? FA_INTENSIFIED : 0)));
+            writeText(out, substitute(item.text, values));
+        }
+        for (StubHostScript.Input input : screen.inputs) {
+            int start = address(input.row, input.col);
+            int attr = (input.numeric ? FA_NUMERIC : 0) | (input.hidden ? FA_NON_DISPLAY : 0);
+            setBufferAddress(out, start - 1);
+            out.write(ORDER_SF);
+            out.write(encodeAttribute(attr));
+            setBufferAddress(out, start + input.length);
+            out.write(ORDER_SF);
+            out.write(encodeAttribute(FA_PROTECTED));
+        }
+        if (screen.cursorRow > 0) {
+            setBufferAddress(out, address(screen.cursorRow, screen.cursorCol));
+        } else if (!screen.inputs.isEmpty()) {
+            setBufferAddress(out, address(screen.inputs.get(0).row, screen.inputs.get(0).col));
+        } else {
+            setBufferAddress(out, 0);
+        }
+        out.write(ORDER_IC);
+        byte[] data = out.toByteArray();
+        connection.writeRecord(data, data.length);
+    }
+
+    private static String substitute(String text, Map<String, String> values) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(values.getOrDefault(matcher.group(1), "")));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static void writeText(ByteArrayOutputStream out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.write(toEbcdic(text.charAt(i)));
+        }
+    }
+
+    private void setBufferAddress(ByteArrayOutputStream out, int address) {
+        int[] encoded = encodeAddress(Math.floorMod(address, rows * cols));
+        out.write(ORDER_SBA);
+        out.write(encoded[0]);
+        out.write(encoded[1]);
+    }
+
+    private int address(int row, int col) {
+        return (row - 1) * cols + (col - 1);
+    }
+}
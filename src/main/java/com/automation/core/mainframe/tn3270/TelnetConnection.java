@@ -0,0 +1,170 @@
+package com.automation.core.mainframe.tn3270;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Telnet framing for TN3270 (RFC 1576): option negotiation for TERMINAL-TYPE, BINARY and END-OF-RECORD,
+ * and 3270 records delimited by IAC EOR. Used by both the client backend and the stub host.
+ */
+public class TelnetConnection implements Closeable {
+    static final int IAC = 255;
+    static final int DONT = 254;
+    static final int DO = 253;
+    static final int WONT = 252;
+    static final int WILL = 251;
+    static final int SB = 250;
+    static final int SE = 240;
+    static final int EOR = 239;
+
+    static final int OPT_BINARY = 0;
+    static final int OPT_TERMINAL_TYPE = 24;
+    static final int OPT_EOR = 25;
+
+    static final int TTYPE_IS = 0;
+    static final int TTYPE_SEND = 1;
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final String terminalType;
+
+    /**
+     * @param terminalType terminal type reported to the host, or null on the host side
+     */
+    public TelnetConnection(Socket socket, String terminalType) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream());
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.terminalType = terminalType;
+    }
+
+    /**
+     * Reads the next 3270 record, answering option negotiation on the way. Returns null at end of stream.
+     */
+    public byte[] readRecord() throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(4096);
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                return null;
+            }
+            if (b != IAC) {
+                record.write(b);
+                continue;
+            }
+            int cmd = readByte();
+            switch (cmd) {
+                case IAC:
+                    record.write(IAC);
+                    break;
+                case EOR:
+                    return record.toByteArray();
+                case DO:
+                case DONT:
+                case WILL:
+                case WONT:
+                    negotiate(cmd, readByte());
+                    break;
+                case SB:
+                    subnegotiate();
+                    break;
+                default:
+                    // NOP, GA and other commands carry no data
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Writes a 3270 record, doubling IAC bytes and terminating it with IAC EOR.
+     */
+    public synchronized void writeRecord(byte[] data, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            int b = data[i] & 0xFF;
+            out.write(b);
+            if (b == IAC) {
+                out.write(IAC);
+            }
+        }
+        out.write(IAC);
+        out.write(EOR);
+        out.flush();
+    }
+
+    /**
+     * Host side: asks the terminal for its type and for binary/EOR mode.
+     */
+    public synchronized void sendHostNegotiation() throws IOException {
+        out.write(new byte[]{
+                (byte) IAC, (byte) DO, OPT_TERMINAL_TYPE,
+                (byte) IAC, (byte) SB, OPT_TERMINAL_TYPE, TTYPE_SEND, (byte) IAC, (byte) SE,
+                (byte) IAC, (byte) DO, OPT_EOR, (byte) IAC, (byte) WILL, OPT_EOR,
+                (byte) IAC, (byte) DO, OPT_BINARY, (byte) IAC, (byte) WILL, OPT_BINARY
+        });
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void negotiate(int cmd, int option) throws IOException {
+        boolean supported = option == OPT_BINARY || option == OPT_EOR
+                || (option == OPT_TERMINAL_TYPE && terminalType != null);
+        int reply;
+        if (cmd == DO) {
+            reply = supported ? WILL : WONT;
+        } else if (cmd == WILL) {
+            reply = supported && option != OPT_TERMINAL_TYPE ? DO : DONT;
+        } else {
+            // DONT/WONT need no answer
+            return;
+        }
+        synchronized (this) {
+            out.write(new byte[]{(byte) IAC, (byte) reply, (byte) option});
+            out.flush();
+        }
+    }
+
+    private void subnegotiate() throws IOException {
+        ByteArrayOutputStream sb = new ByteArrayOutputStream();
+        while (true) {
+            int b = readByte();
+            if (b == IAC) {
+                int next = readByte();
+                if (next == SE) {
+                    break;
+                }
+                sb.write(next);
+            } else {
+                sb.write(b);
+            }
+        }
+        byte[] data = sb.toByteArray();
+        if (data.length >= 2 && data[0] == OPT_TERMINAL_TYPE && data[1] == TTYPE_SEND && terminalType != null) {
+            synchronized (this) {
+                out.write(new byte[]{(byte) IAC, (byte) SB, OPT_TERMINAL_TYPE, TTYPE_IS});
+                out.write(terminalType.getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                out.write(new byte[]{(byte) IAC, (byte) SE});
+                out.flush();
+            }
+        }
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Connection closed during telnet command");
+        }
+        return b;
+    }
+}
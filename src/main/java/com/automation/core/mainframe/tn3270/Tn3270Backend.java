@@ -0,0 +1,539 @@
+package com.automation.core.mainframe.tn3270;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.exceptions.TimeoutException;
+import com.automation.core.logging.LogManager;
+import com.automation.core.mainframe.MainframeBackend;
+import com.automation.core.mainframe.Screen;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.automation.core.mainframe.tn3270.Tn3270Codec.*;
+
+/**
+ * Pure Java TN3270 backend: talks to the host over a socket, so no Windows emulator or EHLLAPI DLL is needed.
+ *
+ * Host address per session: mainframe.session.{id}.host/port, falling back to mainframe.host/mainframe.port.
+ * When mainframe.stub.script is set, an in-process StubTn3270Host is started and used instead.
+ * A reader thread applies host writes to the PresentationSpace and signals waiters when the keyboard unlocks,
+ * so waits are event driven rather than polling.
+ */
+public class Tn3270Backend implements MainframeBackend {
+    private static final long READER_JOIN_MILLIS = 2000;
+
+    private final String fixedHost;
+    private final int fixedPort;
+    private final int model;
+
+    private volatile TelnetConnection connection;
+    private PresentationSpace screen;
+    private Thread reader;
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final Condition stateChanged = stateLock.newCondition();
+    private boolean keyboardLocked;
+    private boolean connected;
+    private long updateCount;
+    private volatile IOException readerFailure;
+
+    /**
+     * Resolves the host from configuration when connecting.
+     */
+    public Tn3270Backend() {
+        this(null, 0);
+    }
+
+    /**
+     * Connects every session to the given host and port.
+     */
+    public Tn3270Backend(String host, int port) {
+        this(host, port, ConfigManager.getInstance().getIntProperty("mainframe.tn3270.model", 2));
+    }
+
+    /**
+     * Connects every session to the given host and port as the given 3278 terminal model.
+     */
+    public Tn3270Backend(String host, int port, int model) {
+        this.fixedHost = host;
+        this.fixedPort = port;
+        this.model = model;
+    }
+
+    @Override
+    public void connect(String sessionId) {
+        if (connection != null) {
+            disconnect(); // reconnecting: stop the previous reader before its state is reused
+        }
+        InetSocketAddress address = resolveAddress(sessionId);
+        int timeoutSeconds = ConfigManager.getInstance().getIntProperty("mainframe.timeout", 30);
+        String terminalType = "IBM-3278-" + model;
+        try {
+            Socket socket = new Socket();
+            socket.connect(address, timeoutSeconds * 1000);
+            socket.setTcpNoDelay(true);
+            connection = new TelnetConnection(socket, terminalType);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to connect to TN3270 host " + address + ": " + e.getMessage(), e);
+        }
+        PresentationSpace space = PresentationSpace.forModel(model);
+        screen = space;
+        stateLock.lock();
+        try {
+            // Keyboard stays locked until the host sends its first screen
+            keyboardLocked = true;
+            connected = true;
+            readerFailure = null;
+        } finally {
+            stateLock.unlock();
+        }
+        TelnetConnection opened = connection;
+        reader = new Thread(() -> readLoop(opened, space), "tn3270-reader-" + sessionId);
+        reader.setDaemon(true);
+        reader.start();
+        LogManager.info("TN3270 session " + sessionId + " connected to " + address + " as " + terminalType);
+        awaitUnlock(timeoutSeconds, true);
+    }
+
+    /**
+     * Closes the connection and waits (up to READER_JOIN_MILLIS) for its reader thread to finish, so a reconnect never
+     * races the old reader.
+     */
+    @Override
+    public void disconnect() {
+        TelnetConnection closing = connection;
+        Thread stopping = reader;
+        stateLock.lock();
+        try {
+            connection = null;
+            connected = false;
+            stateChanged.signalAll();
+        } finally {
+            stateLock.unlock();
+        }
+        if (closing != null) {
+            try {
+                closing.close();
+            } catch (IOException e) {
+                LogManager.debug("Error closing TN3270 connection: " + e.getMessage());
+            }
+        }
+        if (stopping != null && stopping != Thread.currentThread()) {
+            try {
+                stopping.join(READER_JOIN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (stopping.isAlive()) {
+                LogManager.warn("TN3270 reader " + stopping.getName() + " did not stop within " + READER_JOIN_MILLIS + " ms");
+            }
+        }
+    }
+
+    /**
+     * Types text and presses keys given as EHLLAPI mnemonics. Typing after an AID key waits for the host reply.
+     */
+    @Override
+    public void sendKeys(String keys) {
+        ensureConnected();
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+        while (i < keys.length()) {
+            char c = keys.charAt(i);
+            if (c != '@' || i + 1 >= keys.length()) {
+                text.append(c);
+                i++;
+                continue;
+            }
+            char next = keys.charAt(i + 1);
+            if (next == '@') {
+                text.append('@');
+                i += 2;
+                continue;
+            }
+            flushText(text);
+            i = pressKey(keys, i + 1);
+        }
+        flushText(text);
+    }
+
+    @Override
+    public String copyFromScreen(int row, int col, int length) {
+        ensureConnected();
+        awaitPendingReply();
+        return screen.getText(row, col, length);
+    }
+
+    @Override
+    public void moveCursor(int row, int col) {
+        ensureConnected();
+        awaitPendingReply();
+        screen.moveCursor(row, col);
+    }
+
+    @Override
+    public void waitForUnlock() {
+        ensureConnected();
+        awaitUnlock(ConfigManager.getInstance().getIntProperty("mainframe.screen.wait", 10), true);
+    }
+
+    @Override
+    public String getScreenText() {
+        ensureConnected();
+        awaitPendingReply();
+        return screen.getScreenText();
+    }
+
+    @Override
+    public Screen captureScreen() {
+        ensureConnected();
+        awaitPendingReply();
+        // Read the counter first: an update racing the snapshot only causes one extra capture later
+        return screen.snapshot(getUpdateCount());
+    }
+
+    @Override
+    public int[] getCursorPosition() {
+        ensureConnected();
+        int cursor = screen.getCursor();
+        return new int[]{cursor / screen.getCols() + 1, cursor % screen.getCols() + 1};
+    }
+
+    @Override
+    public boolean isKeyboardLocked() {
+        stateLock.lock();
+        try {
+            return keyboardLocked;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public long getUpdateCount() {
+        stateLock.lock();
+        try {
+            return updateCount;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Woken by the reader thread as soon as a host write has been applied.
+     */
+    @Override
+    public boolean awaitHostUpdate(long sinceUpdate, long timeoutMillis) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        stateLock.lock();
+        try {
+            while (updateCount == sinceUpdate && connected && remaining > 0) {
+                remaining = stateChanged.awaitNanos(remaining);
+            }
+            if (updateCount == sinceUpdate && !connected) {
+                throw new RuntimeException("TN3270 host closed the connection");
+            }
+            return updateCount != sinceUpdate;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTextAt(int row, int col, String text) {
+        ensureConnected();
+        return screen.isTextAt(row, col, text);
+    }
+
+    @Override
+    public boolean screenContains(String text) {
+        ensureConnected();
+        return screen.contains(text);
+    }
+
+    public PresentationSpace getPresentationSpace() {
+        return screen;
+    }
+
+    // ---------------------- Keys ----------------------
+
+    /**
+     * Handles the mnemonic starting at index (just after '@') and returns the index after it.
+     */
+    private int pressKey(String keys, int index) {
+        char key = keys.charAt(index);
+        switch (key) {
+            case 'E': sendAid(AID_ENTER); return index + 1;
+            case 'C':
+                awaitPendingReply();
+                screen.clear();
+                sendAid(AID_CLEAR);
+                return index + 1;
+            case 'T': screen.tab(); return index + 1;
+            case 'B': screen.backTab(); return index + 1;
+            case '0': screen.home(); return index + 1;
+            case 'N': screen.newLine(); return index + 1;
+            case 'F': screen.eraseEof(); return index + 1;
+            case 'D': screen.delete(); return index + 1;
+            case 'R':
+                // Reset clears an input-inhibited keyboard locally
+                setKeyboardLocked(false);
+                return index + 1;
+            case 'x': sendAid(AID_PA1); return index + 1;
+            case 'y': sendAid(AID_PA2); return index + 1;
+            case 'z': sendAid(AID_PA3); return index + 1;
+            case 'A':
+                // @A@H is SysReq; a bare @A (attention) is sent as SysReq as well
+                sendAid(AID_SYSREQ);
+                return keys.startsWith("@H", index + 1) ? index + 3 : index + 1;
+            case 'P':
+                if (keys.startsWith("PA", index) && index + 2 < keys.length()) {
+                    int pa = keys.charAt(index + 2) - '0';
+                    sendAid(pa == 1 ? AID_PA1 : pa == 2 ? AID_PA2 : AID_PA3);
+                    return index + 3;
+                }
+                if (keys.startsWith("PF", index)) {
+                    return pressPfKey(keys, index + 2);
+                }
+                break;
+            default:
+                if (Character.isDigit(key)) {
+                    return pressPfKey(keys, index);
+                }
+                if (key >= 'a' && key <= 'o') {
+                    // @a..@o are PF10..PF24 in EHLLAPI
+                    sendAid(pfAid(key - 'a' + 10));
+                    return index + 1;
+                }
+                break;
+        }
+        throw new RuntimeException("Unsupported key mnemonic '@" + key + "' in: " + keys);
+    }
+
+    private int pressPfKey(String keys, int index) {
+        int end = index;
+        int number = 0;
+        // Greedy two digits as long as the value is a valid PF key (@12 is PF12, @3 is PF3)
+        while (end < keys.length() && end - index < 2 && Character.isDigit(keys.charAt(end))) {
+            int candidate = number * 10 + (keys.charAt(end) - '0');
+            if (candidate > 24) {
+                break;
+            }
+            number = candidate;
+            end++;
+        }
+        if (number == 0) {
+            throw new RuntimeException("Invalid PF key mnemonic in: " + keys);
+        }
+        sendAid(pfAid(number));
+        return end;
+    }
+
+    private void flushText(StringBuilder text) {
+        if (text.length() > 0) {
+            awaitPendingReply();
+            screen.type(text.toString());
+            text.setLength(0);
+        }
+    }
+
+    private void sendAid(int aid) {
+        awaitPendingReply();
+        byte[] record = screen.buildReadModified(aid, false);
+        setKeyboardLocked(true);
+        try {
+            connection.writeRecord(record, record.length);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to send " + aidName(aid) + " to TN3270 host: " + e.getMessage(), e);
+        }
+        LogManager.debug("TN3270 sent " + aidName(aid) + " (" + record.length + " bytes)");
+    }
+
+    // ---------------------- Host updates ----------------------
+
+    /**
+     * Reads host records from the connection it was started for into that connection's screen. Session state
+     * (connected, readerFailure, updateCount) is only touched while that connection is still the current one, so a
+     * reader outliving disconnect() cannot mark a newer connection as closed.
+     */
+    private void readLoop(TelnetConnection connection, PresentationSpace screen) {
+        try {
+            byte[] record;
+            while ((record = connection.readRecord()) != null) {
+                if (record.length > 0) {
+                    handleRecord(connection, screen, record);
+                }
+            }
+        } catch (IOException e) {
+            if (isCurrent(connection) && isConnected()) {
+                readerFailure = e;
+                LogManager.error("TN3270 connection lost: " + e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            if (isCurrent(connection)) {
+                readerFailure = new IOException("Invalid 3270 data stream: " + e.getMessage(), e);
+            }
+            LogManager.error("TN3270 data stream error: " + e.getMessage(), e);
+        } finally {
+            stateLock.lock();
+            try {
+                if (connection == this.connection) {
+                    connected = false;
+                    stateChanged.signalAll();
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+    }
+
+    private boolean isCurrent(TelnetConnection connection) {
+        stateLock.lock();
+        try {
+            return connection == this.connection;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void handleRecord(TelnetConnection connection, PresentationSpace screen, byte[] record) throws IOException {
+        int cmd = record[0] & 0xFF;
+        switch (cmd) {
+            case CMD_READ_BUFFER:
+            case CMD_READ_BUFFER_SNA: {
+                byte[] reply = screen.buildReadBuffer(AID_NONE);
+                connection.writeRecord(reply, reply.length);
+                break;
+            }
+            case CMD_READ_MODIFIED:
+            case CMD_READ_MODIFIED_SNA:
+            case CMD_READ_MODIFIED_ALL:
+            case CMD_READ_MODIFIED_ALL_SNA: {
+                boolean all = cmd == CMD_READ_MODIFIED_ALL || cmd == CMD_READ_MODIFIED_ALL_SNA;
+                byte[] reply = screen.buildReadModified(AID_NONE, all);
+                connection.writeRecord(reply, reply.length);
+                break;
+            }
+            case CMD_WRITE:
+            case CMD_WRITE_SNA:
+            case CMD_ERASE_WRITE:
+            case CMD_ERASE_WRITE_SNA:
+            case CMD_ERASE_WRITE_ALT:
+            case CMD_ERASE_WRITE_ALT_SNA:
+            case CMD_ERASE_ALL_UNPROTECTED:
+            case CMD_ERASE_ALL_UNPROTECTED_SNA: {
+                int wcc = screen.processWrite(record);
+                stateLock.lock();
+                try {
+                    if (connection != this.connection) {
+                        break; // a write that arrived while disconnecting; the screen is no longer in use
+                    }
+                    updateCount++;
+                    if ((wcc & WCC_KEYBOARD_RESTORE) != 0) {
+                        keyboardLocked = false;
+                    }
+                    stateChanged.signalAll();
+                } finally {
+                    stateLock.unlock();
+                }
+                break;
+            }
+            default:
+                // Write Structured Field and unknown commands are not needed for screen scraping
+                LogManager.debug(String.format("TN3270 ignoring command 0x%02X", cmd));
+                break;
+        }
+    }
+
+    // ---------------------- Waiting ----------------------
+
+    private void setKeyboardLocked(boolean locked) {
+        stateLock.lock();
+        try {
+            keyboardLocked = locked;
+            stateChanged.signalAll();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the keyboard is unlocked. Returns false on timeout unless failOnTimeout is set.
+     */
+    private boolean awaitUnlock(int timeoutSeconds, boolean failOnTimeout) {
+        long remaining = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        stateLock.lock();
+        try {
+            while (keyboardLocked && connected) {
+                if (remaining <= 0) {
+                    if (failOnTimeout) {
+                        throw new TimeoutException("waiting for mainframe keyboard unlock", timeoutSeconds);
+                    }
+                    return false;
+                }
+                remaining = stateChanged.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            stateLock.unlock();
+        }
+        if (readerFailure != null) {
+            throw new RuntimeException("TN3270 connection failed: " + readerFailure.getMessage(), readerFailure);
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the reply to an outstanding AID so reads see the host's answer rather than the old screen.
+     */
+    private void awaitPendingReply() {
+        awaitUnlock(ConfigManager.getInstance().getIntProperty("mainframe.screen.wait", 10), false);
+    }
+
+    private boolean isConnected() {
+        stateLock.lock();
+        try {
+            return connected;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private void ensureConnected() {
+        if (connection == null) {
+            throw new IllegalStateException("TN3270 session not connected");
+        }
+        if (readerFailure != null) {
+            throw new RuntimeException("TN3270 connection failed: " + readerFailure.getMessage(), readerFailure);
+        }
+    }
+
+    private InetSocketAddress resolveAddress(String sessionId) {
+        if (fixedHost != null) {
+            return new InetSocketAddress(fixedHost, fixedPort);
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        String script = config.getProperty("mainframe.stub.script", "");
+        if (!script.isEmpty()) {
+            return new InetSocketAddress("localhost", StubTn3270Host.startShared(script, model).getPort());
+        }
+        String host = config.getProperty("mainframe.session." + sessionId + ".host",
+                config.getProperty("mainframe.host", ""));
+        int port = config.getIntProperty("mainframe.session." + sessionId + ".port",
+                config.getIntProperty("mainframe.port", 23));
+        if (host.isEmpty()) {
+            throw new RuntimeException("No TN3270 host configured for session " + sessionId
+                    + ". Set mainframe.host or mainframe.session." + sessionId + ".host");
+        }
+        return new InetSocketAddress(host, port);
+    }
+}
@@ -0,0 +1,163 @@
+package com.automation.core.mainframe.tn3270;
+
+import java.nio.charset.Charset;
+
+/**
+ * 3270 data stream constants plus EBCDIC (CP037) and buffer address conversion.
+ */
+public final class Tn3270Codec {
+
+    // Commands (host -> terminal), both CCW and SNA codes
+    public static final int CMD_WRITE = 0x01;
+    public static final int CMD_WRITE_SNA = 0xF1;
+    public static final int CMD_ERASE_WRITE = 0x05;
+    public static final int CMD_ERASE_WRITE_SNA = 0xF5;
+    public static final int CMD_ERASE_WRITE_ALT = 0x0D;
+    public static final int CMD_ERASE_WRITE_ALT_SNA = 0x7E;
+    public static final int CMD_READ_BUFFER = 0x02;
+    public static final int CMD_READ_BUFFER_SNA = 0xF2;
+    public static final int CMD_READ_MODIFIED = 0x06;
+    public static final int CMD_READ_MODIFIED_SNA = 0xF6;
+    public static final int CMD_READ_MODIFIED_ALL = 0x0E;
+    public static final int CMD_READ_MODIFIED_ALL_SNA = 0x6E;
+    public static final int CMD_ERASE_ALL_UNPROTECTED = 0x0F;
+    public static final int CMD_ERASE_ALL_UNPROTECTED_SNA = 0x6F;
+
+    // Orders
+    public static final int ORDER_SF = 0x1D;
+    public static final int ORDER_SFE = 0x29;
+    public static final int ORDER_SBA = 0x11;
+    public static final int ORDER_SA = 0x28;
+    public static final int ORDER_MF = 0x2C;
+    public static final int ORDER_IC = 0x13;
+    public static final int ORDER_PT = 0x05;
+    public static final int ORDER_RA = 0x3C;
+    public static final int ORDER_EUA = 0x12;
+    public static final int ORDER_GE = 0x08;
+
+    // Write control character bits
+    public static final int WCC_RESET_MDT = 0x01;
+    public static final int WCC_KEYBOARD_RESTORE = 0x02;
+
+    // Field attribute bits
+    public static final int FA_PROTECTED = 0x20;
+    public static final int FA_NUMERIC = 0x10;
+    public static final int FA_DISPLAY_MASK = 0x0C;
+    public static final int FA_INTENSIFIED = 0x08;
+    public static final int FA_NON_DISPLAY = 0x0C;
+    public static final int FA_MODIFIED = 0x01;
+
+    // Attention identifiers
+    public static final int AID_NONE = 0x60;
+    public static final int AID_ENTER = 0x7D;
+    public static final int AID_CLEAR = 0x6D;
+    public static final int AID_PA1 = 0x6C;
+    public static final int AID_PA2 = 0x6E;
+    public static final int AID_PA3 = 0x6B;
+    public static final int AID_SYSREQ = 0xF0;
+    private static final int[] AID_PF = {
+            0xF1, 0xF2, 0xF3, 0xF4, 0xF5, 0xF6, 0xF7, 0xF8, 0xF9, 0x7A, 0x7B, 0x7C,
+            0xC1, 0xC2, 0xC3, 0xC4, 0xC5, 0xC6, 0xC7, 0xC8, 0xC9, 0x4A, 0x4B, 0x4C
+    };
+
+    // 12-bit buffer address code table
+    private static final int[] ADDRESS_CODES = {
+            0x40, 0xC1, 0xC2, 0xC3, 0xC4, 0xC5, 0xC6, 0xC7, 0xC8, 0xC9, 0x4A, 0x4B, 0x4C, 0x4D, 0x4E, 0x4F,
+            0x50, 0xD1, 0xD2, 0xD3, 0xD4, 0xD5, 0xD6, 0xD7, 0xD8, 0xD9, 0x5A, 0x5B, 0x5C, 0x5D, 0x5E, 0x5F,
+            0x60, 0x61, 0xE2, 0xE3, 0xE4, 0xE5, 0xE6, 0xE7, 0xE8, 0xE9, 0x6A, 0x6B, 0x6C, 0x6D, 0x6E, 0x6F,
+            0xF0, 0xF1, 0xF2, 0xF3, 0xF4, 0xF5, 0xF6, 0xF7, 0xF8, 0xF9, 0x7A, 0x7B, 0x7C, 0x7D, 0x7E, 0x7F
+    };
+
+    private static final char[] EBCDIC_TO_CHAR = new char[256];
+    private static final byte[] CHAR_TO_EBCDIC = new byte[256];
+
+    static {
+        Charset cp037 = Charset.forName("IBM037");
+        byte[] all = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            all[i] = (byte) i;
+        }
+        String decoded = new String(all, cp037);
+        for (int i = 0; i < 256; i++) {
+            EBCDIC_TO_CHAR[i] = i < 0x40 ? '\0' : decoded.charAt(i);
+        }
+        EBCDIC_TO_CHAR[0x40] = ' ';
+        java.util.Arrays.fill(CHAR_TO_EBCDIC, (byte) 0x6F); // '?'
+        for (int i = 0x40; i < 256; i++) {
+            char c = EBCDIC_TO_CHAR[i];
+            if (c < 256) {
+                CHAR_TO_EBCDIC[c] = (byte) i;
+            }
+        }
+        CHAR_TO_EBCDIC[0] = 0;
+    }
+
+    private Tn3270Codec() {}
+
+    public static char toChar(int ebcdic) {
+        return EBCDIC_TO_CHAR[ebcdic & 0xFF];
+    }
+
+    public static int toEbcdic(char c) {
+        return c < 256 ? CHAR_TO_EBCDIC[c] & 0xFF : 0x6F;
+    }
+
+    /**
+     * Decodes a 12-bit or 14-bit buffer address.
+     */
+    public static int decodeAddress(int b1, int b2) {
+        if ((b1 & 0xC0) == 0) {
+            return ((b1 & 0x3F) << 8) | (b2 & 0xFF);
+        }
+        return ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+    }
+
+    /**
+     * Encodes a buffer address in 12-bit form (screens up to 4096 positions).
+     */
+    public static int[] encodeAddress(int address) {
+        return new int[]{ADDRESS_CODES[(address >> 6) & 0x3F], ADDRESS_CODES[address & 0x3F]};
+    }
+
+    /**
+     * Encodes the 6 significant bits of a field attribute or WCC as a graphic byte.
+     */
+    public static int encodeAttribute(int attribute) {
+        return ADDRESS_CODES[attribute & 0x3F];
+    }
+
+    public static int pfAid(int pfNumber) {
+        if (pfNumber < 1 || pfNumber > 24) {
+            throw new IllegalArgumentException("Invalid PF key: " + pfNumber);
+        }
+        return AID_PF[pfNumber - 1];
+    }
+
+    /**
+     * Returns a readable name (ENTER, CLEAR, PF3, PA1, ...) for an AID byte.
+     */
+    public static String aidName(int aid) {
+        switch (aid) {
+            case AID_ENTER: return "ENTER";
+            case AID_CLEAR: return "CLEAR";
+            case AID_PA1: return "PA1";
+            case AID_PA2: return "PA2";
+            case AID_PA3: return "PA3";
+            case AID_SYSREQ: return "SYSREQ";
+            default:
+                for (int i = 0; i < AID_PF.length; i++) {
+                    if (AID_PF[i] == aid) {
+                        return "PF" + (i + 1);
+                    }
+                }
+                return String.format("AID_%02X", aid);
+        }
+    }
+
+    /**
+     * Short-read AIDs send only the AID byte, without cursor address or field data.
+     */
+    public static boolean isShortRead(int aid) {
+        return aid == AID_CLEAR || aid == AID_PA1 || aid == AID_PA2 || aid == AID_PA3;
+    }
+}
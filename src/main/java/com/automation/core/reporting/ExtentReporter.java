@@ -3,6 +3,7 @@ package com.automation.core.reporting;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.automation.core.config.ConfigManager;
@@ -98,6 +99,15 @@ public class ExtentReporter {
         }
     }
 
+    /**
+     * Logs a table; the first row is the header.
+     */
+    public static void logTable(String[][] data) {
+        if (test.get() != null) {
+            test.get().info(MarkupHelper.createTable(data));
+        }
+    }
+
     /**
      * Attaches screenshot to the report.
      */
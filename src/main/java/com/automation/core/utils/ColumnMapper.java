@@ -0,0 +1,335 @@
+package com.automation.core.utils;
+
+import com.automation.core.interfaces.excel.Column;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds @Column-annotated DTO fields to Excel or CSV columns without reflection per cell. The mapper for a class is
+ * built once (and shared by ExcelUtils and CsvUtils): each field gets a MethodHandle setter adapted to a primitive
+ * type where the field is numeric or boolean, so ints, longs, doubles and booleans are parsed and stored without
+ * boxing. bind(headers) resolves column positions once per file; the Binding then fills one DTO per row.
+ *
+ * Conversions follow ExcelUtils: numbers are parsed as doubles and narrowed (so "3.0" and 3.0 both give 3 for an int),
+ * booleans use Boolean.parseBoolean, String fields take String.valueOf the cell and Date fields take Excel dates.
+ * Null cells, and empty CSV cells for non-String fields, leave the field untouched.
+ *
+ *   ColumnMapper.Binding<User> binding = ColumnMapper.forClass(User.class).bind(headers);
+ *   User user = binding.map(csvValues);
+ */
+public final class ColumnMapper<T> {
+    private static final Map<Class<?>, ColumnMapper<?>> mappers = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Map<String, Setter> setters;
+
+    private ColumnMapper(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            Map<String, Setter> fieldSetters = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Column.class) && !Modifier.isStatic(field.getModifiers())) {
+                    fieldSetters.put(field.getAnnotation(Column.class).value(),
+                            Setter.of(field, setterFor(lookup, field)));
+                }
+            }
+            this.setters = Collections.unmodifiableMap(fieldSetters);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Cannot build column mapper for " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Setter handle for a field. Final fields are opened with setAccessible first, which gives them the same write
+     * access Field.set has; those of records and hidden classes stay read-only and are rejected.
+     */
+    private static MethodHandle setterFor(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+        if (!Modifier.isFinal(field.getModifiers())) {
+            return lookup.unreflectSetter(field);
+        }
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("@Column field " + field.getDeclaringClass().getName() + "."
+                    + field.getName() + " is final and cannot be written; make it non-final", e);
+        }
+    }
+
+    /**
+     * The cached mapper for a DTO class (needs a no-arg constructor).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ColumnMapper<T> forClass(Class<T> type) {
+        return (ColumnMapper<T>) mappers.computeIfAbsent(type, ColumnMapper::new);
+    }
+
+    /**
+     * True when the class declares at least one @Column field.
+     */
+    public static boolean hasColumns(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Column.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Column names of the annotated fields, in declaration order.
+     */
+    public Set<String> getColumns() {
+        return setters.keySet();
+    }
+
+    /**
+     * Binds the mapped fields to the given header row; columns without a field and fields without a column are skipped.
+     */
+    public Binding<T> bind(List<String> headers) {
+        return new Binding<>(this, headers);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A mapper bound to one header row. All bound columns are composed into one MethodHandle per input kind, taking
+     * (target, row) and filling every field; the JIT customizes a handle invoked this often into straight-line code, so
+     * each cell costs its conversion and a field store without a virtual call or a non-constant handle per column.
+     */
+    public static final class Binding<T> {
+        private final ColumnMapper<T> mapper;
+        private final int[] positions;
+        private final Setter[] setters;
+        private final MethodHandle csvRow;
+        private final MethodHandle excelRow;
+
+        private Binding(ColumnMapper<T> mapper, List<String> headers) {
+            this.mapper = mapper;
+            int count = 0;
+            int[] columnPositions = new int[headers.size()];
+            Setter[] columnSetters = new Setter[headers.size()];
+            Set<String> bound = new HashSet<>();
+            for (int i = 0; i < headers.size(); i++) {
+                Setter setter = mapper.setters.get(headers.get(i));
+                if (setter != null && bound.add(headers.get(i))) {
+                    columnPositions[count] = i;
+                    columnSetters[count++] = setter;
+                }
+            }
+            this.positions = Arrays.copyOf(columnPositions, count);
+            this.setters = Arrays.copyOf(columnSetters, count);
+            this.csvRow = rowHandle(String[].class, CSV_CELL, true);
+            this.excelRow = rowHandle(ExcelStreamReader.Row.class, EXCEL_CELL, false);
+        }
+
+        /**
+         * A DTO from a streamed Excel row whose headers were passed to bind().
+         */
+        public T map(ExcelStreamReader.Row row) {
+            T target = mapper.newInstance();
+            try {
+                excelRow.invokeExact((Object) target, row);
+            } catch (Throwable e) {
+                // Repeat column by column to report the failing field
+                for (int i = 0; i < setters.length; i++) {
+                    Object value = row.getValue(positions[i]);
+                    if (value != null) {
+                        set(setters[i], target, value);
+                    }
+                }
+                throw failed(e);
+            }
+            return target;
+        }
+
+        /**
+         * A DTO from CSV values in header order; missing trailing values are treated as null.
+         */
+        public T map(String[] values) {
+            T target = mapper.newInstance();
+            try {
+                csvRow.invokeExact((Object) target, values);
+            } catch (Throwable e) {
+                // Repeat column by column to report the failing field
+                for (int i = 0; i < setters.length; i++) {
+                    String value = (String) csvCell(values, positions[i]);
+                    if (csvPresent(setters[i].acceptsEmpty, value)) {
+                        set(setters[i], target, value);
+                    }
+                }
+                throw failed(e);
+            }
+            return target;
+        }
+
+        /**
+         * (Object target, source row) -> void storing every bound column; cell is (source, int position) -> Object.
+         */
+        private MethodHandle rowHandle(Class<?> source, MethodHandle cell, boolean csv) {
+            MethodHandle row = MethodHandles.empty(MethodType.methodType(void.class, Object.class, source));
+            for (int i = setters.length - 1; i >= 0; i--) {
+                MethodHandle present = csv ? MethodHandles.insertArguments(CSV_PRESENT, 0, setters[i].acceptsEmpty)
+                        : PRESENT;
+                MethodHandle store = MethodHandles.guardWithTest(
+                        MethodHandles.dropArguments(present, 0, Object.class),
+                        setters[i].store,
+                        MethodHandles.empty(setters[i].store.type()));
+                MethodHandle column = MethodHandles.filterArguments(store, 1,
+                        MethodHandles.insertArguments(cell, 1, positions[i]));
+                row = MethodHandles.foldArguments(row, column);
+            }
+            return row;
+        }
+
+        private RuntimeException failed(Throwable e) {
+            if (e instanceof RuntimeException) {
+                return (RuntimeException) e;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return new RuntimeException("Cannot map " + mapper.type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+
+        private void set(Setter setter, Object target, Object value) {
+            try {
+                setter.store.invokeExact(target, value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cannot set " + mapper.type.getSimpleName() + "." + setter.name
+                        + " from '" + value + "': " + e.getMessage(), e);
+            } catch (Throwable e) {
+                throw new RuntimeException("Cannot set " + mapper.type.getSimpleName() + "." + setter.name, e);
+            }
+        }
+    }
+
+    static Object csvCell(String[] values, int position) {
+        return position < values.length ? values[position] : null;
+    }
+
+    static boolean csvPresent(boolean acceptsEmpty, Object value) {
+        return value != null && (acceptsEmpty || !((String) value).isEmpty());
+    }
+
+    static boolean present(Object value) {
+        return value != null;
+    }
+
+    static int toInt(Object value) {
+        return (int) toDouble(value);
+    }
+
+    static long toLong(Object value) {
+        return (long) toDouble(value);
+    }
+
+    static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    static float toFloat(Object value) {
+        return (float) toDouble(value);
+    }
+
+    static boolean toBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+    }
+
+    static Object checkType(Class<?> fieldType, Object value) {
+        if (!fieldType.isInstance(value)) {
+            throw new IllegalArgumentException("expected " + fieldType.getSimpleName());
+        }
+        return value;
+    }
+
+    private static final MethodHandle CSV_CELL = helper("csvCell", Object.class, String[].class, int.class);
+    private static final MethodHandle CSV_PRESENT = helper("csvPresent", boolean.class, boolean.class, Object.class);
+    private static final MethodHandle PRESENT = helper("present", boolean.class, Object.class);
+    private static final MethodHandle EXCEL_CELL;
+
+    static {
+        try {
+            EXCEL_CELL = MethodHandles.lookup().findVirtual(ExcelStreamReader.Row.class, "getValue",
+                    MethodType.methodType(Object.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle helper(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.lookup().findStatic(ColumnMapper.class, name,
+                    MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * One field's setter adapted to (Object target, Object cell) -> void: the cell is converted by a static helper
+     * returning the field's primitive type, so numbers and booleans are stored without a box.
+     */
+    private static final class Setter {
+        final String name;
+        final boolean acceptsEmpty;
+        final MethodHandle store;
+
+        private Setter(Field field, MethodHandle store, boolean acceptsEmpty) {
+            this.name = field.getName();
+            this.acceptsEmpty = acceptsEmpty;
+            this.store = store;
+        }
+
+        static Setter of(Field field, MethodHandle handle) {
+            Class<?> fieldType = field.getType();
+            if (fieldType == String.class) {
+                MethodHandle valueOf;
+                try {
+                    valueOf = MethodHandles.lookup().findStatic(String.class, "valueOf",
+                            MethodType.methodType(String.class, Object.class));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new Setter(field, converted(handle, valueOf), true);
+            }
+            MethodHandle converter;
+            if (fieldType == int.class || fieldType == Integer.class) converter = helper("toInt", int.class, Object.class);
+            else if (fieldType == long.class || fieldType == Long.class) converter = helper("toLong", long.class, Object.class);
+            else if (fieldType == double.class || fieldType == Double.class) converter = helper("toDouble", double.class, Object.class);
+            else if (fieldType == float.class || fieldType == Float.class) converter = helper("toFloat", float.class, Object.class);
+            else if (fieldType == boolean.class || fieldType == Boolean.class) converter = helper("toBoolean", boolean.class, Object.class);
+            else converter = MethodHandles.insertArguments(
+                        helper("checkType", Object.class, Class.class, Object.class), 0, fieldType);
+            return new Setter(field, converted(handle, converter), false);
+        }
+
+        private static MethodHandle converted(MethodHandle setter, MethodHandle converter) {
+            MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, converter.type().returnType()));
+            return MethodHandles.filterArguments(typed, 1, converter);
+        }
+    }
+}
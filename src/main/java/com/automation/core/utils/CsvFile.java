@@ -0,0 +1,776 @@
+package com.automation.core.utils;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming CSV reader over the raw bytes of a memory-mapped file. Records are parsed on demand as a lazy Stream and
+ * nothing is kept per row, so heap use stays flat however large the file is; only the pages that are read get loaded.
+ *
+ * A line without quote or backslash characters (almost every line of generated data) is split on the separator
+ * bytes and its fields are decoded to Strings only when read, so filtering on one column or projecting a few never
+ * builds the other values. Any other record is handed to OpenCSV's CSVParser line by line, so quoting, escapes and
+ * quoted line breaks come out exactly as CSVReader gives them.
+ *
+ * records() and where() apply the CSVReaderHeaderAware rule (every record has as many values as the header) and
+ * throw UncheckedIOException otherwise; rawRecords() returns every record, header included, as CSVReader.readAll()
+ * does. getRecord(index) seeks through a record offset index built by one scan and cached per file until it changes.
+ * parallelMap(mapper) parses and maps large files in chunks on the common fork/join pool.
+ *
+ * A CsvFile holds its mapping until close(), which unmaps it straight away instead of waiting for the garbage
+ * collector, so the file can be rewritten afterwards (Windows refuses to replace a mapped file, and truncating one
+ * elsewhere faults readers). Records are views over the mapping: copy them (toMap(), toArray()) before close(); reading
+ * one afterwards throws IllegalStateException. close() must not run while another thread is still reading.
+ *
+ *   CsvFile.open(path).where("status", "FAILED").map(record -> record.toMap(Arrays.asList("id", "error")))...
+ */
+public final class CsvFile implements AutoCloseable {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final int NEW_RECORD = 0;
+    private static final int IN_QUOTES = 1;
+    private static final int IN_QUOTES_IN_FIELD = 2;
+    private static final Map<String, RecordIndex> recordIndexes = new ConcurrentHashMap<>();
+    private static final MethodHandle UNMAP = unmapper();
+
+    private final String filePath;
+    private final char separator;
+    private final boolean fastPath;
+    private final ByteBuffer[] segments;
+    private final long length;
+    private final long[] stamp;
+    private final List<String> headers;
+    private final Map<String, Integer> columns;
+    private final long dataStart;
+    private volatile boolean closed;
+
+    private CsvFile(String filePath, char separator) throws IOException {
+        this.filePath = filePath;
+        this.separator = separator;
+        // multi-byte separators cannot be matched byte-wise; such files always take the parser
+        this.fastPath = separator < 0x80 && separator != '"' && separator != '\\';
+        Path path = Paths.get(filePath);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        this.stamp = new long[]{attributes.lastModifiedTime().toMillis(), attributes.size()};
+        this.length = attributes.size();
+        this.segments = map(path, length);
+
+        Cursor cursor = new Cursor(0);
+        String[] names;
+        try {
+            Record header = cursor.next(-1);
+            names = header == null ? new String[0] : header.toArray();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        Map<String, Integer> columnIndex = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columnIndex.put(names[i], i); // last duplicate wins, as in CSVReaderHeaderAware
+        }
+        this.headers = Collections.unmodifiableList(Arrays.asList(names));
+        this.columns = Collections.unmodifiableMap(columnIndex);
+        this.dataStart = cursor.position;
+    }
+
+    public static CsvFile open(String filePath) throws IOException {
+        return new CsvFile(filePath, ',');
+    }
+
+    public static CsvFile open(String filePath, char separator) throws IOException {
+        return new CsvFile(filePath, separator);
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Values every data record must have: the number of distinct header names, as CSVReaderHeaderAware counts them.
+     */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * Unmaps the file. Records read before must have been copied; later reads throw IllegalStateException.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer segment : segments) {
+            unmap(segment);
+        }
+    }
+
+    /**
+     * Data records in file order, each checked against the header length.
+     */
+    public Stream<Record> records() {
+        return stream(dataStart, true);
+    }
+
+    /**
+     * Data records whose column equals value; fields are compared as bytes, without decoding other rows' values.
+     */
+    public Stream<Record> where(String column, String value) {
+        Integer position = columns.get(column);
+        if (position == null) {
+            return records().filter(record -> false);
+        }
+        byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        return records().filter(record -> record.valueEquals(position, value, expected));
+    }
+
+    /**
+     * Every record including the header line, without a length check.
+     */
+    public Stream<String[]> rawRecords() {
+        return stream(0, false).map(Record::toArray);
+    }
+
+    /**
+     * Number of data records (builds the record index on first use).
+     */
+    public int size() {
+        return index().count;
+    }
+
+    /**
+     * The data record at a 0-based index, or null when out of range. Once the file's record index is cached, only the
+     * pages holding the header and that record are read.
+     */
+    public Record getRecord(int index) throws IOException {
+        RecordIndex recordIndex = index();
+        if (index < 0 || index >= recordIndex.count) {
+            return null;
+        }
+        Record record = new Cursor(recordIndex.offsets[index]).next(index);
+        checkLength(record);
+        return record;
+    }
+
+    /**
+     * Maps every data record (checked against the header length, as records() does) and returns the results in file
+     * order. Files of 2 MB and more are cut into byte ranges starting at line boundaries, parsed and mapped in parallel
+     * on the common fork/join pool; the mapper must not depend on call order. Smaller files, a single-threaded pool and
+     * quote or non-ASCII separators read sequentially.
+     *
+     * A range may start inside a quoted field that spans lines. Each range is first scanned for how it carries the
+     * parser's quote state from its first line to the next range, the scans are chained from the top of the file, and
+     * every range then starts parsing at its first real record start. The result is what a sequential read gives.
+     */
+    public <T> List<T> parallelMap(Function<? super Record, ? extends T> mapper) throws IOException {
+        checkOpen();
+        long dataLength = length - dataStart;
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunks = (int) Math.min(parallelism * 4L, dataLength / MIN_CHUNK);
+        if (parallelism < 2 || chunks < 2 || !fastPath) {
+            try {
+                return records().map(mapper).collect(Collectors.toCollection(ArrayList::new));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = dataStart;
+        bounds[chunks] = length;
+        for (int i = 1; i < chunks; i++) {
+            bounds[i] = Math.max(bounds[i - 1], lineStartAfter(dataStart + dataLength * i / chunks));
+        }
+        List<int[]> transitions = IntStream.range(0, chunks).parallel()
+                .mapToObj(i -> lineStates(bounds[i], bounds[i + 1]))
+                .collect(Collectors.toList());
+        int[] startStates = new int[chunks];
+        for (int i = 1; i < chunks; i++) {
+            startStates[i] = transitions.get(i - 1)[startStates[i - 1]];
+        }
+        List<Chunk<T>> parsed = IntStream.range(0, chunks).parallel()
+                .mapToObj(i -> new Chunk<T>(firstRecordStart(bounds[i], bounds[i + 1], startStates[i]), bounds[i + 1],
+                        mapper))
+                .collect(Collectors.toList());
+
+        List<T> results = new ArrayList<>();
+        long position = dataStart;
+        for (Chunk<T> chunk : parsed) {
+            if (chunk.start != position) {
+                if (position >= chunk.end) {
+                    continue; // the whole range lies inside a record parsed by an earlier one
+                }
+                // cannot happen while the scanner agrees with CSVParser; fall back to the sequential answer
+                chunk = new Chunk<>(position, chunk.end, mapper);
+            }
+            results.addAll(chunk.results);
+            if (chunk.mismatch) {
+                throw lengthMismatch(results.size());
+            }
+            if (chunk.error != null) {
+                throw chunk.error;
+            }
+            position = chunk.stop;
+        }
+        return results;
+    }
+
+    /**
+     * Parser state at the end of [start, end) for each possible state at start (indexed by NEW_RECORD, IN_QUOTES and
+     * IN_QUOTES_IN_FIELD).
+     */
+    private int[] lineStates(long start, long end) {
+        int[] states = {NEW_RECORD, IN_QUOTES, IN_QUOTES_IN_FIELD};
+        long position = start;
+        while (position < end) {
+            long lineEnd = position;
+            boolean plain = true;
+            for (byte b; lineEnd < length && (b = byteAt(lineEnd)) != '\n' && b != '\r'; lineEnd++) {
+                plain &= b != '"' && b != '\\';
+            }
+            for (int s = 0; s < states.length; s++) {
+                if (!plain) {
+                    states[s] = stateAfterLine(position, lineEnd, states[s]);
+                } else if (states[s] == IN_QUOTES && lineEnd > position) {
+                    states[s] = IN_QUOTES_IN_FIELD; // any character sets inField inside quotes
+                }
+            }
+            position = lineStartAfter(lineEnd);
+        }
+        return states;
+    }
+
+    /**
+     * First record start at or after start (given the parser state there), or end when none starts before it.
+     */
+    private long firstRecordStart(long start, long end, int state) {
+        long position = start;
+        while (state != NEW_RECORD && position < end) {
+            long lineEnd = lineEnd(position);
+            state = stateAfterLine(position, lineEnd, state);
+            position = lineStartAfter(lineEnd);
+        }
+        return Math.min(position, end);
+    }
+
+    /**
+     * Parser state after the line [start, end): CSVParser's quote and escape rules for the default quote and escape
+     * characters, tracking its inQuotes and inField flags. A line left in quotes continues the record on the next one.
+     */
+    private int stateAfterLine(long start, long end, int state) {
+        boolean inQuotes = state != NEW_RECORD;
+        boolean inField = state == IN_QUOTES_IN_FIELD;
+        byte sep = (byte) separator;
+        for (long p = start; p < end; p++) {
+            byte b = byteAt(p);
+            if (b == '\\') {
+                inField = true;
+                if (p + 1 < end && (byteAt(p + 1) == '"' || byteAt(p + 1) == '\\')) {
+                    p++;
+                }
+            } else if (b == '"') {
+                if ((inQuotes || inField) && p + 1 < end && byteAt(p + 1) == '"') {
+                    p++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            } else if (b == sep && !inQuotes) {
+                inField = false;
+            } else {
+                inField = true;
+            }
+        }
+        return !inQuotes ? NEW_RECORD : inField ? IN_QUOTES_IN_FIELD : IN_QUOTES;
+    }
+
+    /**
+     * Position of the line break (or end of file) ending the line that starts at position.
+     */
+    private long lineEnd(long position) {
+        while (position < length) {
+            byte b = byteAt(position);
+            if (b == '\n' || b == '\r') {
+                return position;
+            }
+            position++;
+        }
+        return length;
+    }
+
+    /**
+     * Start of the line after the one containing position.
+     */
+    private long lineStartAfter(long position) {
+        while (position < length) {
+            byte b = byteAt(position++);
+            if (b == '\n') {
+                return position;
+            }
+            if (b == '\r') {
+                return position < length && byteAt(position) == '\n' ? position + 1 : position;
+            }
+        }
+        return length;
+    }
+
+    private Stream<Record> stream(long start, boolean checked) {
+        Cursor cursor = new Cursor(start);
+        Spliterator<Record> spliterator = new Spliterators.AbstractSpliterator<Record>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int recordNum;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Record> action) {
+                try {
+                    Record record = cursor.next(recordNum++);
+                    if (record == null) {
+                        return false;
+                    }
+                    if (checked) {
+                        checkLength(record);
+                    }
+                    action.accept(record);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private void checkLength(Record record) throws IOException {
+        if (record.getValueCount() != getColumnCount()) {
+            throw lengthMismatch(record.index);
+        }
+    }
+
+    private IOException lengthMismatch(int recordIndex) {
+        return new IOException("Error on record number " + (recordIndex + 2) + " of " + filePath
+                + ": the number of data elements is not the same as the number of header elements");
+    }
+
+    private RecordIndex index() {
+        String key = filePath + "|" + separator;
+        RecordIndex current = recordIndexes.get(key);
+        if (current != null && current.matches(stamp)) {
+            return current;
+        }
+        long[] offsets = new long[1024];
+        int count = 0;
+        Cursor cursor = new Cursor(dataStart);
+        try {
+            while (cursor.position < length) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count] = cursor.position;
+                if (cursor.next(count) == null) {
+                    break;
+                }
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        RecordIndex built = new RecordIndex(Arrays.copyOf(offsets, count), count, stamp);
+        recordIndexes.put(key, built);
+        return built;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("CsvFile " + filePath + " is closed");
+        }
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private String decode(long start, long end) {
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read-only mappings of the file in 1 GB segments; the channel is closed again, the mappings stay until close().
+     */
+    private static ByteBuffer[] map(Path path, long length) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS)];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < buffers.length; i++) {
+                long offset = (long) i << SEGMENT_BITS;
+                buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(length - offset, 1L << SEGMENT_BITS));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ByteBuffer buffer : buffers) {
+                unmap(buffer);
+            }
+            throw e;
+        }
+        return buffers;
+    }
+
+    private static void unmap(ByteBuffer buffer) {
+        if (buffer != null && UNMAP != null) {
+            try {
+                UNMAP.invokeExact(buffer);
+            } catch (Throwable e) {
+                // left to the garbage collector
+            }
+        }
+    }
+
+    /**
+     * Unsafe.invokeCleaner, the only way to release a mapping before it is garbage collected on Java 11 and 17; null
+     * when the JVM does not offer it, in which case mappings are released by the collector as before.
+     */
+    private static MethodHandle unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads records from a byte offset. Line ends are \n, \r\n or \r, as for BufferedReader.readLine().
+     */
+    private final class Cursor {
+        private long position;
+        private int[] bounds = new int[16];
+        private CSVParser parser;
+
+        Cursor(long position) {
+            this.position = position;
+        }
+
+        Record next(int recordIndex) throws IOException {
+            checkOpen();
+            if (position >= length) {
+                return null;
+            }
+            long start = position;
+            long p = start;
+            int fields = 0;
+            boolean plain = fastPath;
+            byte sep = (byte) separator;
+            while (p < length) {
+                byte b = byteAt(p);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b == sep) {
+                    if (++fields == bounds.length) {
+                        bounds = Arrays.copyOf(bounds, fields * 2);
+                    }
+                    bounds[fields] = (int) (p + 1 - start);
+                } else if (b == '"' || b == '\\') {
+                    plain = false;
+                }
+                p++;
+            }
+            position = skipLineEnd(p);
+            if (plain) {
+                int[] fieldBounds = Arrays.copyOf(bounds, fields + 2);
+                fieldBounds[fields + 1] = (int) (p - start + 1); // virtual separator after the last field
+                return new Record(CsvFile.this, recordIndex, start, fieldBounds, null);
+            }
+            return new Record(CsvFile.this, recordIndex, start, null, parse(start, p));
+        }
+
+        private String[] parse(long start, long end) throws IOException {
+            if (parser == null) {
+                parser = new CSVParserBuilder().withSeparator(separator).build();
+            }
+            String[] values = parser.parseLineMulti(decode(start, end));
+            while (parser.isPending()) {
+                if (position >= length) {
+                    throw new IOException("Unterminated quoted field at end of " + filePath);
+                }
+                long lineStart = position;
+                long lineEnd = lineStart;
+                while (lineEnd < length && byteAt(lineEnd) != '\n' && byteAt(lineEnd) != '\r') {
+                    lineEnd++;
+                }
+                position = skipLineEnd(lineEnd);
+                String[] more = parser.parseLineMulti(decode(lineStart, lineEnd));
+                if (more.length > 0) {
+                    String[] combined = Arrays.copyOf(values, values.length + more.length);
+                    System.arraycopy(more, 0, combined, values.length, more.length);
+                    values = combined;
+                }
+            }
+            return values;
+        }
+
+        private long skipLineEnd(long p) {
+            if (p < length && byteAt(p++) == '\r' && p < length && byteAt(p) == '\n') {
+                p++;
+            }
+            return p;
+        }
+    }
+
+    /**
+     * One record as a read-only header -> value map; values are decoded on first read.
+     */
+    public static final class Record extends AbstractMap<String, String> {
+        private final CsvFile file;
+        private final int index;
+        private final long start;
+        private final int[] bounds;
+        private String[] values;
+
+        private Record(CsvFile file, int index, long start, int[] bounds, String[] values) {
+            this.file = file;
+            this.index = index;
+            this.start = start;
+            this.bounds = bounds;
+            this.values = values;
+        }
+
+        /**
+         * Number of values in this record (the map size differs only when header names repeat).
+         */
+        public int getValueCount() {
+            return bounds == null ? values.length : bounds.length - 1;
+        }
+
+        @Override
+        public int size() {
+            int count = getValueCount();
+            if (count >= file.headers.size()) {
+                return file.columns.size();
+            }
+            int size = 0;
+            for (int position : file.columns.values()) {
+                if (position < count) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        public String get(int position) {
+            if (values == null) {
+                values = new String[bounds.length - 1];
+            }
+            String value = values[position];
+            if (value == null && bounds != null) {
+                file.checkOpen();
+                value = file.decode(start + bounds[position], start + bounds[position + 1] - 1);
+                values[position] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public String get(Object column) {
+            Integer position = file.columns.get(column);
+            return position == null || position >= getValueCount() ? null : get((int) position);
+        }
+
+        @Override
+        public boolean containsKey(Object column) {
+            Integer position = file.columns.get(column);
+            return position != null && position < getValueCount();
+        }
+
+        public String[] toArray() {
+            String[] copy = new String[getValueCount()];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = get(i);
+            }
+            return copy;
+        }
+
+        /**
+         * A mutable copy in header order.
+         */
+        public Map<String, String> toMap() {
+            return new LinkedHashMap<>(this);
+        }
+
+        /**
+         * A mutable copy of the given columns only (columns missing from the header are left out).
+         */
+        public Map<String, String> toMap(Collection<String> columns) {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (String column : columns) {
+                if (containsKey(column)) {
+                    map.put(column, get(column));
+                }
+            }
+            return map;
+        }
+
+        private boolean valueEquals(int position, String value, byte[] expected) {
+            if (position >= getValueCount()) {
+                return false;
+            }
+            if (bounds == null || (values != null && values[position] != null)) {
+                return value.equals(get(position));
+            }
+            long from = start + bounds[position];
+            if (bounds[position + 1] - 1 - bounds[position] != expected.length) {
+                return false;
+            }
+            file.checkOpen();
+            for (int i = 0; i < expected.length; i++) {
+                if (file.byteAt(from + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Header columns this record has a value for, as CSVReaderHeaderAware.readMap() builds them.
+         */
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Map.Entry<String, Integer>> names = file.columns.entrySet().iterator();
+                    int count = getValueCount();
+                    return new Iterator<Entry<String, String>>() {
+                        private Map.Entry<String, Integer> nextColumn = advance();
+
+                        private Map.Entry<String, Integer> advance() {
+                            while (names.hasNext()) {
+                                Map.Entry<String, Integer> column = names.next();
+                                if (column.getValue() < count) {
+                                    return column;
+                                }
+                            }
+                            return null;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return nextColumn != null;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (nextColumn == null) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<String, Integer> column = nextColumn;
+                            nextColumn = advance();
+                            return new SimpleImmutableEntry<>(column.getKey(), get((int) column.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return Record.this.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Records mapped from one byte range: those starting before end, the first one at start.
+     */
+    private final class Chunk<T> {
+        final long start;
+        final long end;
+        final List<T> results = new ArrayList<>();
+        long stop;
+        boolean mismatch;
+        IOException error;
+
+        Chunk(long start, long end, Function<? super Record, ? extends T> mapper) {
+            this.start = start;
+            this.end = end;
+            Cursor cursor = new Cursor(start);
+            try {
+                while (cursor.position < end) {
+                    long recordStart = cursor.position;
+                    Record record = cursor.next(results.size());
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.getValueCount() != columns.size()) {
+                        mismatch = true;
+                        stop = recordStart;
+                        return;
+                    }
+                    results.add(mapper.apply(record));
+                }
+                stop = cursor.position;
+            } catch (IOException e) {
+                error = e;
+                stop = length;
+            }
+        }
+    }
+
+    private static final class RecordIndex {
+        final long[] offsets;
+        final int count;
+        final long[] stamp;
+
+        RecordIndex(long[] offsets, int count, long[] stamp) {
+            this.offsets = offsets;
+            this.count = count;
+            this.stamp = stamp;
+        }
+
+        boolean matches(long[] current) {
+            return stamp[0] == current[0] && stamp[1] == current[1];
+        }
+    }
+}
@@ -1,40 +1,41 @@
 package com.automation.core.utils;
 
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
 import com.opencsv.CSVWriter;
-import com.opencsv.CSVReaderHeaderAware;
 import com.opencsv.exceptions.CsvException;
 import com.opencsv.ICSVWriter;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Utility class for common CSV operations using OpenCSV.
+ * Utility class for common CSV operations. Reads go through the streaming CsvFile engine (OpenCSV parsing rules),
+ * so lookups, filters and column reads only decode what they need; writes use OpenCSV. Every read closes its CsvFile
+ * before returning, so the writers below can rewrite a file that was just read.
  */
 public class CsvUtils {
     /**
-     * Reads a CSV file and returns a list of maps (header -> value).
+     * Reads a CSV file and returns a list of maps (header -> value, in header order).
      */
     public static List<Map<String, String>> readCsvAsMap(String filePath) throws IOException, CsvException {
-        try (Reader reader = Files.newBufferedReader(Paths.get(filePath));
-             CSVReaderHeaderAware csvReader = new CSVReaderHeaderAware(reader)) {
-            List<Map<String, String>> records = new ArrayList<>();
-            Map<String, String> row;
-            while ((row = csvReader.readMap()) != null) {
-                records.add(row);
-            }
-            return records;
-        }
+        return query(filePath, csv -> csv.records().map(CsvFile.Record::toMap).collect(toArrayList()));
+    }
+
+    /**
+     * Streams the rows of a CSV file as read-only maps while the file is parsed. Close the stream (try-with-resources)
+     * to unmap the file; rows are only readable until then.
+     */
+    public static Stream<CsvFile.Record> streamCsv(String filePath) throws IOException {
+        CsvFile csv = CsvFile.open(filePath);
+        return csv.records().onClose(csv::close);
     }
 
     /**
@@ -66,14 +67,7 @@ public class CsvUtils {
      * Searches for rows matching a condition.
      */
     public static List<Map<String, String>> searchRows(String filePath, String column, String value) throws IOException, CsvException {
-        List<Map<String, String>> all = readCsvAsMap(filePath);
-        List<Map<String, String>> result = new ArrayList<>();
-        for (Map<String, String> row : all) {
-            if (value.equals(row.get(column))) {
-                result.add(row);
-            }
-        }
-        return result;
+        return query(filePath, csv -> csv.where(column, value).map(CsvFile.Record::toMap).collect(toArrayList()));
     }
 
     /**
@@ -93,60 +87,44 @@ public class CsvUtils {
      * Reads CSV with custom delimiter.
      */
     public static List<String[]> readCsvWithDelimiter(String filePath, char delimiter) throws IOException, CsvException {
-        try (Reader reader = Files.newBufferedReader(Paths.get(filePath));
-             CSVReader csvReader = new CSVReaderBuilder(reader)
-                     .withCSVParser(new com.opencsv.CSVParserBuilder().withSeparator(delimiter).build())
-                     .build()) {
-            return csvReader.readAll();
-        }
+        return query(CsvFile.open(filePath, delimiter), csv -> csv.rawRecords().collect(toArrayList()));
     }
 
     /**
      * Reads a CSV file and returns all rows as List<List<String>> (no header mapping).
      */
     public static List<List<String>> readCsvAsList(String filePath) throws IOException, CsvException {
-        try (Reader reader = Files.newBufferedReader(Paths.get(filePath));
-             CSVReader csvReader = new CSVReader(reader)) {
-            List<List<String>> rows = new ArrayList<>();
-            for (String[] row : csvReader.readAll()) {
-                rows.add(Arrays.asList(row));
-            }
-            return rows;
-        }
+        return query(filePath, csv -> csv.rawRecords().map(Arrays::asList).collect(toArrayList()));
     }
 
     /**
      * Gets all values from a specific column by name.
      */
     public static List<String> getColumnValues(String filePath, String columnName) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        List<String> values = new ArrayList<>();
-        for (Map<String, String> row : rows) {
-            values.add(row.getOrDefault(columnName, ""));
-        }
-        return values;
+        return query(filePath, csv -> csv.records().map(row -> row.getOrDefault(columnName, "")).collect(toArrayList()));
     }
 
     /**
-     * Gets a row by index (as Map<String, String>).
+     * Gets a row by index (as Map<String, String>). Seeks through the file's record offset index instead of
+     * reading every row; the index is built on first use and kept until the file changes.
      */
     public static Map<String, String> getRowByIndex(String filePath, int index) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        if (index < 0 || index >= rows.size()) return null;
-        return rows.get(index);
+        return query(filePath, csv -> {
+            CsvFile.Record row = csv.getRecord(index);
+            return row == null ? null : row.toMap();
+        });
     }
 
     /**
-     * Converts CSV to JSON Array (for API payloads).
+     * Converts CSV to JSON Array (for API payloads). Large files are parsed in parallel (see CsvFile.parallelMap).
      */
     public static JsonArray csvToJson(String filePath) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        Gson gson = new Gson();
         JsonArray array = new JsonArray();
-        for (Map<String, String> row : rows) {
-            JsonObject obj = gson.toJsonTree(row).getAsJsonObject();
-            array.add(obj);
-        }
+        query(filePath, csv -> csv.parallelMap(row -> {
+            JsonObject obj = new JsonObject();
+            row.forEach(obj::addProperty);
+            return obj;
+        })).forEach(array::add);
         return array;
     }
 
@@ -154,54 +132,49 @@ public class CsvUtils {
      * Validates CSV structure: header presence, row count, column count.
      */
     public static boolean validateCsv(String filePath, List<String> requiredHeaders, int minRows, int minColumns) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        if (rows.size() < minRows) return false;
-        Set<String> headers = rows.isEmpty() ? Collections.emptySet() : rows.get(0).keySet();
+        List<String> header = new ArrayList<>();
+        long rows = query(filePath, csv -> {
+            header.addAll(csv.getHeaders());
+            return csv.records().count();
+        });
+        if (rows < minRows) return false;
+        Set<String> headers = rows == 0 ? Collections.emptySet() : new HashSet<>(header);
         if (!headers.containsAll(requiredHeaders)) return false;
-        for (Map<String, String> row : rows) {
-            if (row.size() < minColumns) return false;
-        }
-        return true;
+        // every row has one value per distinct header (checked while reading)
+        return rows == 0 || headers.size() >= minColumns;
     }
 
     /**
-     * Filters rows by predicate (lambda).
+     * Filters rows by predicate (lambda). The predicate sees a read-only row that decodes only the columns it reads.
      */
     public static List<Map<String, String>> filterRows(String filePath, Predicate<Map<String, String>> predicate) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        List<Map<String, String>> result = new ArrayList<>();
-        for (Map<String, String> row : rows) {
-            if (predicate.test(row)) {
-                result.add(row);
-            }
-        }
-        return result;
+        return query(filePath, csv -> csv.records().filter(predicate).map(CsvFile.Record::toMap).collect(toArrayList()));
     }
 
     /**
      * Gets distinct values in a column.
      */
     public static Set<String> getDistinctColumnValues(String filePath, String columnName) throws IOException, CsvException {
-        List<String> values = getColumnValues(filePath, columnName);
-        return new HashSet<>(values);
+        return query(filePath, csv -> csv.records().map(row -> row.getOrDefault(columnName, ""))
+                .collect(Collectors.toCollection(HashSet::new)));
     }
 
     /**
-     * Merges multiple CSV files (same header) into one List<Map<String, String>>.
+     * Merges multiple CSV files (same header) into one List<Map<String, String>>. Large files are parsed in parallel.
      */
     public static List<Map<String, String>> mergeCsvFiles(List<String> filePaths) throws IOException, CsvException {
         List<Map<String, String>> merged = new ArrayList<>();
         for (String path : filePaths) {
-            merged.addAll(readCsvAsMap(path));
+            merged.addAll(query(path, csv -> csv.parallelMap(CsvFile.Record::toMap)));
         }
         return merged;
     }
 
     /**
-     * Splits a CSV file into chunks by row count.
+     * Splits a CSV file into chunks by row count. Large files are parsed in parallel.
      */
     public static List<List<Map<String, String>>> splitCsvByRows(String filePath, int chunkSize) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
+        List<Map<String, String>> rows = query(filePath, csv -> csv.parallelMap(CsvFile.Record::toMap));
         List<List<Map<String, String>>> chunks = new ArrayList<>();
         for (int i = 0; i < rows.size(); i += chunkSize) {
             chunks.add(rows.subList(i, Math.min(i + chunkSize, rows.size())));
@@ -210,19 +183,22 @@ public class CsvUtils {
     }
 
     /**
-     * Selects a random row (for random test data).
+     * Selects a random row (for random test data), read through the record offset index.
      */
     public static Map<String, String> getRandomRow(String filePath) throws IOException, CsvException {
-        List<Map<String, String>> rows = readCsvAsMap(filePath);
-        if (rows.isEmpty()) return null;
-        Random rand = new Random();
-        return rows.get(rand.nextInt(rows.size()));
+        return query(filePath, csv -> {
+            int size = csv.size();
+            return size == 0 ? null : csv.getRecord(new Random().nextInt(size)).toMap();
+        });
     }
 
     /**
-     * Maps CSV rows to POJO list (using reflection, basic version).
+     * Maps CSV rows to POJO list: @Column DTOs through ColumnMapper, other classes by field name (Gson).
      */
     public static <T> List<T> mapCsvToPojo(String filePath, Class<T> clazz) throws IOException, CsvException {
+        if (ColumnMapper.hasColumns(clazz)) {
+            return mapCsvToColumns(filePath, ColumnMapper.forClass(clazz));
+        }
         List<Map<String, String>> rows = readCsvAsMap(filePath);
         List<T> result = new ArrayList<>();
         Gson gson = new Gson();
@@ -233,6 +209,17 @@ public class CsvUtils {
         return result;
     }
 
+    /**
+     * @Column DTOs: values are bound straight from the parsed records, without a map or JSON per row. Records are
+     * checked against the header length, as for the map-based path.
+     */
+    private static <T> List<T> mapCsvToColumns(String filePath, ColumnMapper<T> mapper) throws IOException {
+        return query(filePath, csv -> {
+            ColumnMapper.Binding<T> binding = mapper.bind(csv.getHeaders());
+            return csv.records().map(record -> binding.map(record.toArray())).collect(toArrayList());
+        });
+    }
+
     /**
      * Writes CSV with custom delimiter.
      */
@@ -252,25 +239,9 @@ public class CsvUtils {
      */
     public static List<Map<String, String>> readExcelAsMap(String filePath, String sheetName) throws IOException {
         List<Map<String, String>> data = new ArrayList<>();
-        try (InputStream inp = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(inp)) {
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) return data;
-            Iterator<Row> rowIterator = sheet.iterator();
-            if (!rowIterator.hasNext()) return data;
-            Row headerRow = rowIterator.next();
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(cell.getStringCellValue());
-            }
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                Map<String, String> rowData = new LinkedHashMap<>();
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    rowData.put(headers.get(i), cell.toString());
-                }
-                data.add(rowData);
+        try (ExcelStreamReader reader = ExcelStreamReader.open(filePath, sheetName, null)) {
+            for (ExcelStreamReader.Row row : reader) {
+                data.add(row.toTextMap());
             }
         }
         return data;
@@ -280,20 +251,8 @@ public class CsvUtils {
      * Gets test data row by tc_id from CSV or Excel (sheetName required for Excel).
      */
     public static Map<String, String> getTestDataByTcId(String filePath, String tcId) throws IOException, CsvException {
-        if (filePath.endsWith(".csv")) {
-            List<Map<String, String>> rows = readCsvAsMap(filePath);
-            for (Map<String, String> row : rows) {
-                if (tcId.equals(row.get("tc_id"))) {
-                    return row;
-                }
-            }
-        } else if (filePath.endsWith(".xlsx")) {
-            List<Map<String, String>> rows = readExcelAsMap(filePath, "Sheet1"); // default sheet
-            for (Map<String, String> row : rows) {
-                if (tcId.equals(row.get("tc_id"))) {
-                    return row;
-                }
-            }
+        if (filePath.endsWith(".csv") || filePath.endsWith(".xlsx")) {
+            return TestDataRepository.table(filePath, "Sheet1").findFirst("tc_id", tcId); // default sheet
         }
         return null;
     }
@@ -302,22 +261,33 @@ public class CsvUtils {
      * Gets all test data rows matching a column value from CSV or Excel (sheetName required for Excel).
      */
     public static List<Map<String, String>> getTestDataRows(String filePath, String column, String value) throws IOException, CsvException {
-        List<Map<String, String>> result = new ArrayList<>();
-        if (filePath.endsWith(".csv")) {
-            List<Map<String, String>> rows = readCsvAsMap(filePath);
-            for (Map<String, String> row : rows) {
-                if (value.equals(row.get(column))) {
-                    result.add(row);
-                }
-            }
-        } else if (filePath.endsWith(".xlsx")) {
-            List<Map<String, String>> rows = readExcelAsMap(filePath, "Sheet1"); // default sheet
-            for (Map<String, String> row : rows) {
-                if (value.equals(row.get(column))) {
-                    result.add(row);
-                }
-            }
+        if (filePath.endsWith(".csv") || filePath.endsWith(".xlsx")) {
+            return TestDataRepository.table(filePath, "Sheet1").findAll(column, value); // default sheet
         }
-        return result;
+        return new ArrayList<>();
+    }
+
+    private interface CsvQuery<T> {
+        T run(CsvFile csv) throws IOException;
+    }
+
+    /**
+     * Runs a read on the engine and closes the file, turning its UncheckedIOException (malformed or short rows) back
+     * into IOException. The query must copy what it returns out of the records.
+     */
+    private static <T> T query(CsvFile file, CsvQuery<T> query) throws IOException {
+        try (CsvFile csv = file) {
+            return query.run(csv);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T query(String filePath, CsvQuery<T> query) throws IOException {
+        return query(CsvFile.open(filePath), query);
+    }
+
+    private static <T> Collector<T, ?, List<T>> toArrayList() {
+        return Collectors.toCollection(ArrayList::new);
     }
 }
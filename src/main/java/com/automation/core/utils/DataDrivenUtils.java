@@ -2,12 +2,11 @@ package com.automation.core.utils;
 
 import com.opencsv.CSVReaderHeaderAware;
 import com.opencsv.exceptions.CsvException;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Core utility for data-driven test support (CSV/Excel).
@@ -31,76 +30,46 @@ public class DataDrivenUtils {
 
     /**
      * Reads an Excel file and returns a list of maps (header -> value) for the given sheet.
+     * The sheet is streamed (see ExcelStreamReader), so large workbooks are never loaded whole.
      */
     public static List<Map<String, String>> readExcelAsMap(String filePath, String sheetName) throws IOException {
         List<Map<String, String>> data = new ArrayList<>();
-        try (InputStream inp = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(inp)) {
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) return data;
-            Iterator<Row> rowIterator = sheet.iterator();
-            if (!rowIterator.hasNext()) return data;
-            Row headerRow = rowIterator.next();
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(cell.getStringCellValue());
-            }
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                Map<String, String> rowData = new LinkedHashMap<>();
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    rowData.put(headers.get(i), cell.toString());
-                }
-                data.add(rowData);
+        try (ExcelStreamReader reader = ExcelStreamReader.open(filePath, sheetName, null)) {
+            for (ExcelStreamReader.Row row : reader) {
+                data.add(row.toTextMap());
             }
         }
         return data;
     }
 
     /**
-     * Gets test data row by tc_id from CSV or Excel (sheetName required for Excel).
+     * Streams the rows of an Excel sheet as maps (header -> value) while the file is being read.
+     * Close the stream (try-with-resources) when done.
+     */
+    public static Stream<Map<String, String>> streamExcelAsMap(String filePath, String sheetName) throws IOException {
+        return ExcelStreamReader.open(filePath, sheetName, null).rows().map(ExcelStreamReader.Row::toTextMap);
+    }
+
+    /**
+     * Gets test data row by tc_id from CSV or Excel (sheet "Sheet1"). The file is loaded and indexed once per run
+     * (see TestDataRepository); the returned row is read-only.
      */
     public static Map<String, String> getTestDataByTcId(String filePath, String tcId) throws IOException, CsvException {
-        if (filePath.endsWith(".csv")) {
-            List<Map<String, String>> rows = readCsvAsMap(filePath);
-            for (Map<String, String> row : rows) {
-                if (tcId.equals(row.get("tc_id"))) {
-                    return row;
-                }
-            }
-        } else if (filePath.endsWith(".xlsx")) {
-            List<Map<String, String>> rows = readExcelAsMap(filePath, "Sheet1"); // default sheet
-            for (Map<String, String> row : rows) {
-                if (tcId.equals(row.get("tc_id"))) {
-                    return row;
-                }
-            }
+        if (filePath.endsWith(".csv") || filePath.endsWith(".xlsx")) {
+            return TestDataRepository.table(filePath, "Sheet1").findFirst("tc_id", tcId); // default sheet
         }
         return null;
     }
 
     /**
-     * Gets all test data rows matching a column value from CSV or Excel (sheetName required for Excel).
+     * Gets all test data rows matching a column value from CSV or Excel (sheet "Sheet1"), read-only, via the
+     * column's index in TestDataRepository.
      */
     public static List<Map<String, String>> getTestDataRows(String filePath, String column, String value) throws IOException, CsvException {
-        List<Map<String, String>> result = new ArrayList<>();
-        if (filePath.endsWith(".csv")) {
-            List<Map<String, String>> rows = readCsvAsMap(filePath);
-            for (Map<String, String> row : rows) {
-                if (value.equals(row.get(column))) {
-                    result.add(row);
-                }
-            }
-        } else if (filePath.endsWith(".xlsx")) {
-            List<Map<String, String>> rows = readExcelAsMap(filePath, "Sheet1"); // default sheet
-            for (Map<String, String> row : rows) {
-                if (value.equals(row.get(column))) {
-                    result.add(row);
-                }
-            }
+        if (filePath.endsWith(".csv") || filePath.endsWith(".xlsx")) {
+            return TestDataRepository.table(filePath, "Sheet1").findAll(column, value); // default sheet
         }
-        return result;
+        return new ArrayList<>();
     }
 }
 
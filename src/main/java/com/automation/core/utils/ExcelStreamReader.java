@@ -0,0 +1,640 @@
+package com.automation.core.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming .xlsx reader on the XSSF event (SAX) model. The workbook is never loaded as a DOM: a background thread
+ * parses the sheet XML and hands rows over through a small queue, so memory stays flat whatever the sheet size and
+ * callers start on the first rows while the rest are still being read. Only the shared-strings table is held in memory.
+ *
+ * The first row is the header. Cell values follow the XSSF DOM: strings, Double, Date (date-formatted numbers),
+ * Boolean, formula text for formula cells, errors. getValue matches ExcelUtils (trimmed strings, null for blank and
+ * error cells), getText matches Cell.toString() as used by DataDrivenUtils. Shared formulas repeated down a column
+ * store their text only in the first cell; the other cells give their cached result instead.
+ *
+ * Always close the reader (or the stream from rows()); that also stops the background parser when a caller stops early.
+ *
+ *   try (ExcelStreamReader reader = ExcelStreamReader.open(path, "Users", Arrays.asList("id", "email"))) {
+ *       reader.rows().forEach(row -> process(row.getText("email")));
+ *   }
+ */
+public final class ExcelStreamReader implements AutoCloseable, Iterable<ExcelStreamReader.Row> {
+    private static final Object END = new Object();
+    private static final int QUEUE_SIZE = 512;
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final String description;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Collection<String> requestedColumns;
+    private final boolean sheetFound;
+    private volatile boolean closed;
+    private List<String> headers = Collections.emptyList();
+    private Map<String, Integer> positions = Collections.emptyMap();
+    private boolean headerRow;
+    // sheet column index -> position in headers; written and read by the parser thread only
+    private Map<Integer, Integer> columnToPosition = Collections.emptyMap();
+    private Object next;
+    private boolean finished;
+
+    private ExcelStreamReader(String description, Collection<String> requestedColumns, boolean sheetFound) {
+        this.description = description;
+        this.requestedColumns = requestedColumns;
+        this.sheetFound = sheetFound;
+    }
+
+    /**
+     * Opens the first sheet with all columns.
+     */
+    public static ExcelStreamReader open(String filePath) throws IOException {
+        return open(filePath, null, null);
+    }
+
+    /**
+     * Opens a sheet (null = first sheet) and reads only the given header names (null = all columns, in sheet order).
+     * A sheet that does not exist gives a reader without headers or rows (see hasSheet()).
+     */
+    public static ExcelStreamReader open(String filePath, String sheetName, Collection<String> columns) throws IOException {
+        String description = filePath + (sheetName == null ? "" : "#" + sheetName);
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new IOException("Cannot open Excel file " + filePath + ": " + e.getMessage(), e);
+        }
+        ExcelStreamReader reader;
+        try {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = xssfReader.getSheetIterator();
+            InputStream sheet = null;
+            while (sheets.hasNext()) {
+                InputStream candidate = sheets.next();
+                if (sheet == null && (sheetName == null || sheetName.equals(sheets.getSheetName()))) {
+                    sheet = candidate;
+                } else {
+                    candidate.close();
+                }
+            }
+            if (sheet == null) {
+                pkg.revert();
+                ExcelStreamReader empty = new ExcelStreamReader(description, columns, false);
+                empty.finished = true;
+                return empty;
+            }
+            reader = new ExcelStreamReader(description, columns, true);
+            SheetHandler handler = reader.new SheetHandler(new ReadOnlySharedStringsTable(pkg, false),
+                    xssfReader.getStylesTable(), isDate1904(xssfReader));
+            InputStream sheetData = sheet;
+            Thread parser = new Thread(() -> reader.parse(pkg, sheetData, handler),
+                    "excel-reader-" + threadCounter.incrementAndGet());
+            parser.setDaemon(true);
+            parser.start();
+        } catch (OpenXML4JException | SAXException e) {
+            pkg.revert();
+            throw new IOException("Cannot read Excel file " + filePath + ": " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+        // from here the parser thread owns the package and releases it when done
+        reader.awaitHeader();
+        return reader;
+    }
+
+    /**
+     * False when the requested sheet does not exist in the workbook.
+     */
+    public boolean hasSheet() {
+        return sheetFound;
+    }
+
+    /**
+     * Header names read, in output order: the requested columns that exist, or every header cell.
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * False when the sheet is missing or empty; with a column projection getHeaders() alone cannot tell this apart
+     * from a header row that holds none of the requested columns.
+     */
+    public boolean hasHeaderRow() {
+        return headerRow;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return fetch();
+            }
+
+            @Override
+            public Row next() {
+                if (!fetch()) {
+                    throw new NoSuchElementException();
+                }
+                Row row = (Row) next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Rows after the header as a sequential stream; closing the stream closes the reader.
+     */
+    public Stream<Row> rows() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear(); // unblocks the parser, which then sees closed and stops
+    }
+
+    private boolean fetch() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        Object item = take();
+        if (item == END) {
+            finished = true;
+            return false;
+        }
+        next = item;
+        return true;
+    }
+
+    private Object take() {
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading " + description, e);
+        }
+        if (item instanceof Throwable) {
+            finished = true;
+            throw new RuntimeException("Failed to read Excel sheet " + description + ": " + ((Throwable) item).getMessage(),
+                    (Throwable) item);
+        }
+        return item;
+    }
+
+    private void awaitHeader() {
+        if (take() == END) {
+            finished = true;
+        }
+    }
+
+    private void parse(OPCPackage pkg, InputStream sheet, SheetHandler handler) {
+        try (InputStream in = sheet) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            parser.parse(new InputSource(in));
+            if (!handler.headerDone) {
+                publishHeader(new TreeMap<>());
+            }
+            publish(END);
+        } catch (Stopped e) {
+            // closed by the consumer
+        } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+            try {
+                publish(e);
+            } catch (Stopped ignored) {
+                // closed by the consumer
+            }
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private void publish(Object item) {
+        try {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new Stopped();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Stopped();
+        }
+        if (closed) {
+            throw new Stopped();
+        }
+    }
+
+    /**
+     * Resolves the requested columns against the header row and hands the header to open().
+     */
+    private void publishHeader(Map<Integer, String> headerCells) {
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> namePositions = new LinkedHashMap<>();
+        Map<Integer, Integer> columnPositions = new HashMap<>();
+        if (requestedColumns == null) {
+            headerCells.forEach((column, name) -> {
+                if (!namePositions.containsKey(name)) {
+                    namePositions.put(name, names.size());
+                    names.add(name);
+                }
+                columnPositions.put(column, namePositions.get(name));
+            });
+        } else {
+            for (String requested : requestedColumns) {
+                headerCells.forEach((column, name) -> {
+                    if (name.equals(requested) && !namePositions.containsKey(name)) {
+                        namePositions.put(name, names.size());
+                        columnPositions.put(column, names.size());
+                        names.add(name);
+                    }
+                });
+            }
+        }
+        headerRow = !headerCells.isEmpty();
+        headers = Collections.unmodifiableList(names);
+        positions = Collections.unmodifiableMap(namePositions);
+        columnToPosition = columnPositions;
+        publish(Boolean.TRUE);
+    }
+
+    private static boolean isDate1904(XSSFReader xssfReader) throws IOException, OpenXML4JException, SAXException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = xssfReader.getWorkbookData()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+            parser.parse(new InputSource(workbook));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        return date1904[0];
+    }
+
+    /**
+     * Column index (0-based) of a cell reference such as "AB12".
+     */
+    static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * One data row; values are addressed by header name or by position in getHeaders().
+     */
+    public static final class Row {
+        private final int rowNum;
+        private final Map<String, Integer> positions;
+        private final Object[] values;
+
+        private Row(int rowNum, Map<String, Integer> positions, Object[] values) {
+            this.rowNum = rowNum;
+            this.positions = positions;
+            this.values = values;
+        }
+
+        /**
+         * 0-based row index in the sheet.
+         */
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public Object getValue(String header) {
+            Integer position = positions.get(header);
+            return position == null ? null : getValue(position);
+        }
+
+        /**
+         * Typed value as ExcelUtils reads it: trimmed String, Double, Date, Boolean, formula text; null when blank.
+         */
+        public Object getValue(int position) {
+            Object value = values[position];
+            if (value instanceof CellError) {
+                return null;
+            }
+            if (value instanceof CellDate) {
+                return ((CellDate) value).date;
+            }
+            return value instanceof String ? ((String) value).trim() : value;
+        }
+
+        public String getText(String header) {
+            Integer position = positions.get(header);
+            return position == null ? null : getText(position);
+        }
+
+        /**
+         * Text as Cell.toString() gives it: numbers like 1.0, dates in their cell format, TRUE/FALSE, "" when blank.
+         */
+        public String getText(int position) {
+            Object value = values[position];
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof Double) {
+                return Double.toString((Double) value);
+            }
+            if (value instanceof Boolean) {
+                return (Boolean) value ? "TRUE" : "FALSE";
+            }
+            return value.toString();
+        }
+
+        public Map<String, Object> toValueMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            positions.forEach((header, position) -> map.put(header, getValue(position)));
+            return map;
+        }
+
+        public Map<String, String> toTextMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            positions.forEach((header, position) -> map.put(header, getText(position)));
+            return map;
+        }
+
+        /**
+         * Texts in getHeaders() order.
+         */
+        public String[] toTextArray() {
+            String[] texts = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                texts[i] = getText(i);
+            }
+            return texts;
+        }
+    }
+
+    private static final class CellError {
+        private final String text;
+
+        CellError(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class CellDate {
+        private final Date date;
+        private final String text;
+
+        CellDate(Date date, String text) {
+            this.date = date;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class Stopped extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Stopped() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * SAX handler for one worksheet part: collects the header row, then turns each row into a Row of the projected
+     * columns, decoding only the cells that are read.
+     */
+    private final class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final boolean date1904;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+        private final DataFormatter formatter = new DataFormatter();
+        private final StringBuilder text = new StringBuilder();
+        private Map<Integer, String> headerCells = new TreeMap<>();
+        private boolean headerDone;
+        private int rowNum = -1;
+        private Object[] rowValues;
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private String value;
+        private String formula;
+        private String inlineText;
+        private boolean capturing;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, boolean date1904) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.date1904 = date1904;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    column = -1;
+                    if (headerDone) {
+                        rowValues = new Object[headers.size()];
+                    }
+                    break;
+                case "c":
+                    String reference = attributes.getValue("r");
+                    column = reference != null ? columnIndex(reference) : column + 1;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style == null ? 0 : Integer.parseInt(style);
+                    value = null;
+                    formula = null;
+                    inlineText = null;
+                    break;
+                case "v":
+                case "f":
+                case "t":
+                    text.setLength(0);
+                    capturing = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capturing) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                    value = text.toString();
+                    capturing = false;
+                    break;
+                case "f":
+                    formula = text.toString();
+                    capturing = false;
+                    break;
+                case "t":
+                    inlineText = inlineText == null ? text.toString() : inlineText + text;
+                    capturing = false;
+                    break;
+                case "c":
+                    endCell();
+                    break;
+                case "row":
+                    endRow();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endCell() {
+            if (!headerDone) {
+                Object header = cellValue();
+                headerCells.put(column, header == null || header instanceof CellError ? "" : header.toString().trim());
+                return;
+            }
+            Integer position = columnToPosition.get(column);
+            if (position != null) {
+                rowValues[position] = cellValue();
+            }
+        }
+
+        private void endRow() {
+            if (!headerDone) {
+                headerDone = true;
+                publishHeader(headerCells);
+                headerCells = null;
+            } else {
+                publish(new Row(rowNum, positions, rowValues));
+            }
+        }
+
+        private Object cellValue() {
+            if (formula != null && !formula.isEmpty()) {
+                return formula;
+            }
+            if ("inlineStr".equals(cellType)) {
+                return inlineText == null ? "" : inlineText;
+            }
+            if (value == null) {
+                return null;
+            }
+            if ("s".equals(cellType)) {
+                return sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+            }
+            if ("str".equals(cellType)) {
+                return value;
+            }
+            if ("b".equals(cellType)) {
+                return "1".equals(value) || "true".equalsIgnoreCase(value);
+            }
+            if ("e".equals(cellType)) {
+                return new CellError(errorText(value));
+            }
+            double number = Double.parseDouble(value);
+            if (isDateStyle(styleIndex) && DateUtil.isValidExcelDate(number)) {
+                XSSFCellStyle style = styles.getStyleAt(styleIndex);
+                return new CellDate(DateUtil.getJavaDate(number, date1904), formatter.formatRawCellContents(
+                        number, style.getDataFormat(), formatString(style), date1904));
+            }
+            return number;
+        }
+
+        private boolean isDateStyle(int index) {
+            if (styles == null) {
+                return false;
+            }
+            return dateStyles.computeIfAbsent(index, i -> {
+                if (i >= styles.getNumCellStyles()) {
+                    return false;
+                }
+                XSSFCellStyle style = styles.getStyleAt(i);
+                if (style == null) {
+                    return false;
+                }
+                return DateUtil.isADateFormat(style.getDataFormat(), formatString(style));
+            });
+        }
+
+        private String formatString(XSSFCellStyle style) {
+            String format = style.getDataFormatString();
+            return format == null ? BuiltinFormats.getBuiltinFormat(style.getDataFormat()) : format;
+        }
+
+        private String errorText(String code) {
+            try {
+                return FormulaError.forString(code).getString();
+            } catch (IllegalArgumentException e) {
+                return code;
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.automation.core.utils;
+
+import com.automation.core.logging.LogManager;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide store of CSV/Excel test data. Each file (and sheet) is read once and kept until its modification time
+ * or size changes; lookups by column value use a hash index built on first use of that column, so fetching one
+ * tc_id from a 50k-row sheet no longer re-reads and scans the whole file for every scenario.
+ *
+ * Rows are immutable Map views (copy them before changing values) and tables are safe to share between parallel
+ * scenarios.
+ */
+public final class TestDataRepository {
+    private static final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final AtomicLong loads = new AtomicLong();
+    private static final AtomicLong loadNanos = new AtomicLong();
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong lookupNanos = new AtomicLong();
+    private static final AtomicLong indexBuilds = new AtomicLong();
+
+    private TestDataRepository() {}
+
+    /**
+     * The table for a CSV file, or for a sheet of an .xlsx file (sheetName is ignored for CSV).
+     */
+    public static Table table(String filePath, String sheetName) throws IOException, CsvException {
+        boolean excel = filePath.endsWith(".xlsx");
+        String key = excel ? filePath + "#" + sheetName : filePath;
+        long[] stamp = stamp(filePath);
+        Table table = tables.get(key);
+        if (table != null && table.matches(stamp)) {
+            return table;
+        }
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            table = tables.get(key);
+            if (table != null && table.matches(stamp)) {
+                return table;
+            }
+            long start = System.nanoTime();
+            table = excel ? loadExcel(filePath, sheetName, stamp) : loadCsv(filePath, stamp);
+            long elapsed = System.nanoTime() - start;
+            loads.incrementAndGet();
+            loadNanos.addAndGet(elapsed);
+            tables.put(key, table);
+            LogManager.info("Loaded test data " + key + ": " + table.size() + " rows in " + elapsed / 1_000_000 + " ms");
+            return table;
+        }
+    }
+
+    public static String getStatistics() {
+        long count = lookups.get();
+        return String.format("Test data: %d table(s) loaded in %.1f ms, %d lookups (%.4f ms mean), %d index(es) built",
+                loads.get(), loadNanos.get() / 1_000_000.0, count,
+                count == 0 ? 0.0 : lookupNanos.get() / 1_000_000.0 / count, indexBuilds.get());
+    }
+
+    public static void logStatistics() {
+        if (loads.get() > 0) {
+            LogManager.info(getStatistics());
+        }
+    }
+
+    private static Table loadCsv(String filePath, long[] stamp) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvFile csv = CsvFile.open(filePath)) {
+            int columnCount = csv.getColumnCount();
+            csv.rawRecords().skip(1).forEach(values -> {
+                if (values.length != columnCount) {
+                    // same rule as CsvFile.records() and CSVReaderHeaderAware
+                    throw new UncheckedIOException(new IOException("Error on record number " + (rows.size() + 2) + " of "
+                            + filePath + ": the number of data elements is not the same as the number of header elements"));
+                }
+                rows.add(values);
+            });
+            return new Table(csvColumns(csv.getHeaders(), columnCount), rows, stamp);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Column positions as CsvFile maps them: the last duplicate header wins, and with duplicates the records hold only
+     * columnCount values, so later positions are never filled.
+     */
+    private static Map<String, Integer> csvColumns(List<String> headers, int columnCount) {
+        Map<String, Integer> columnIndex = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            columnIndex.put(headers.get(i), i);
+        }
+        columnIndex.values().removeIf(position -> position >= columnCount);
+        return columnIndex;
+    }
+
+    private static Table loadExcel(String filePath, String sheetName, long[] stamp) throws IOException {
+        try (ExcelStreamReader reader = ExcelStreamReader.open(filePath, sheetName, null)) {
+            List<String[]> rows = new ArrayList<>();
+            for (ExcelStreamReader.Row row : reader) {
+                rows.add(row.toTextArray());
+            }
+            return new Table(reader.getHeaders().toArray(new String[0]), rows, stamp);
+        }
+    }
+
+    private static long[] stamp(String filePath) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(Paths.get(filePath), BasicFileAttributes.class);
+        return new long[]{attributes.lastModifiedTime().toMillis(), attributes.size()};
+    }
+
+    /**
+     * Rows of one file or sheet with lazily built per-column indexes.
+     */
+    public static final class Table {
+        private final Map<String, Integer> columns;
+        private final List<Map<String, String>> rows;
+        private final Map<String, Map<String, List<Map<String, String>>>> indexes = new ConcurrentHashMap<>();
+        private final long[] stamp;
+
+        private Table(String[] header, List<String[]> values, long[] stamp) {
+            this(firstOccurrence(header), values, stamp);
+        }
+
+        private Table(Map<String, Integer> columnIndex, List<String[]> values, long[] stamp) {
+            this.columns = Collections.unmodifiableMap(columnIndex);
+            List<Map<String, String>> rowViews = new ArrayList<>(values.size());
+            for (String[] row : values) {
+                rowViews.add(new Row(columns, row));
+            }
+            this.rows = Collections.unmodifiableList(rowViews);
+            this.stamp = stamp;
+        }
+
+        private static Map<String, Integer> firstOccurrence(String[] header) {
+            Map<String, Integer> columnIndex = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                columnIndex.putIfAbsent(header[i], i);
+            }
+            return columnIndex;
+        }
+
+        public int size() {
+            return rows.size();
+        }
+
+        public Set<String> getColumns() {
+            return columns.keySet();
+        }
+
+        public List<Map<String, String>> getRows() {
+            return rows;
+        }
+
+        /**
+         * First row whose column equals value, or null.
+         */
+        public Map<String, String> findFirst(String column, String value) {
+            List<Map<String, String>> matches = findAll(column, value);
+            return matches.isEmpty() ? null : matches.get(0);
+        }
+
+        /**
+         * All rows whose column equals value, in file order (empty when none or the column does not exist).
+         */
+        public List<Map<String, String>> findAll(String column, String value) {
+            long start = System.nanoTime();
+            try {
+                List<Map<String, String>> matches = index(column).get(value);
+                return matches == null ? Collections.emptyList() : matches;
+            } finally {
+                lookups.incrementAndGet();
+                lookupNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        private Map<String, List<Map<String, String>>> index(String column) {
+            Map<String, List<Map<String, String>>> index = indexes.get(column);
+            if (index != null) {
+                return index;
+            }
+            return indexes.computeIfAbsent(column, name -> {
+                Integer position = columns.get(name);
+                if (position == null) {
+                    return Collections.emptyMap();
+                }
+                Map<String, List<Map<String, String>>> built = new HashMap<>();
+                for (Map<String, String> row : rows) {
+                    built.computeIfAbsent(((Row) row).values[position], v -> new ArrayList<>(1)).add(row);
+                }
+                built.replaceAll((value, matches) -> Collections.unmodifiableList(matches));
+                indexBuilds.incrementAndGet();
+                return built;
+            });
+        }
+
+        private boolean matches(long[] current) {
+            return stamp[0] == current[0] && stamp[1] == current[1];
+        }
+    }
+
+    /**
+     * Immutable header -> value view of one row; the header map is shared by all rows of a table.
+     */
+    private static final class Row extends AbstractMap<String, String> {
+        private final Map<String, Integer> columns;
+        private final String[] values;
+
+        Row(Map<String, Integer> columns, String[] values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer position = columns.get(key);
+            return position == null ? null : values[position];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columns.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Map.Entry<String, Integer>> names = columns.entrySet().iterator();
+                    return new Iterator<Entry<String, String>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return names.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!names.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<String, Integer> column = names.next();
+                            return new SimpleImmutableEntry<>(column.getKey(), values[column.getValue()]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columns.size();
+                }
+            };
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.automation.keywords;
 
 import com.automation.core.api.APIClient;
+import com.automation.core.api.ResponseDocument;
 import com.automation.core.logging.LogManager;
 import io.restassured.response.Response;
 
@@ -52,7 +53,7 @@ public class APIKeywords {
     }
     
     public static String getResponseField(String fieldName) {
-        String value = lastResponse.jsonPath().getString(fieldName);
+        String value = ResponseDocument.of(lastResponse).getString(fieldName);
         LogManager.info("Field '" + fieldName + "' value: " + value);
         return value;
     }
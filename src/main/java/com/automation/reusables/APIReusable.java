@@ -1,12 +1,14 @@
 package com.automation.reusables;
 
 import com.automation.core.api.APIClient;
+import com.automation.core.api.ResponseDocument;
 import com.automation.core.assertions.AssertUtils;
 //import com.automation.core.logging.LogManager;
 import com.automation.core.logging.UnifiedLogger;
 import io.restassured.response.Response;
 import org.json.JSONObject;
 import org.json.JSONArray;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -71,17 +73,17 @@ public class APIReusable {
     }
 
     protected void validateFieldValue(String fieldName, String expectedValue) {
-        String actualValue = response.jsonPath().getString(fieldName);
+        String actualValue = json().getString(fieldName);
         assertEquals(actualValue, expectedValue, "Field '" + fieldName + "' validation");
     }
 
     protected void validateFieldNotNull(String fieldName) {
-        Object value = response.jsonPath().get(fieldName);
+        Object value = json().get(fieldName);
         assertNotNull(value, "Field '" + fieldName + "' should not be null");
     }
 
     protected String getFieldValue(String fieldName) {
-        return response.jsonPath().getString(fieldName);
+        return json().getString(fieldName);
     }
 
     protected int getStatusCode() {
@@ -92,44 +94,44 @@ public class APIReusable {
     
     protected void validateJsonPath(String jsonPath, Object expectedValue) {
         UnifiedLogger.action("Validate JSON Path", jsonPath + " = " + expectedValue);
-        Object actualValue = response.jsonPath().get(jsonPath);
+        Object actualValue = json().get(jsonPath);
         assertEquals(actualValue, expectedValue, "JsonPath '" + jsonPath + "' validation");
     }
 
     protected void validateJsonPathContains(String jsonPath, String expectedText) {
         UnifiedLogger.action("Validate JSON Path Contains", jsonPath + " contains: " + expectedText);
-        String actualValue = response.jsonPath().getString(jsonPath);
+        String actualValue = json().getString(jsonPath);
         assertContains(actualValue, expectedText, "JsonPath '" + jsonPath + "' contains validation");
     }
 
     protected void validateJsonPathNotNull(String jsonPath) {
-        Object value = response.jsonPath().get(jsonPath);
+        Object value = json().get(jsonPath);
         assertNotNull(value, "JsonPath '" + jsonPath + "' should not be null");
     }
 
     protected void validateJsonPathIsNull(String jsonPath) {
-        Object value = response.jsonPath().get(jsonPath);
+        Object value = json().get(jsonPath);
         assertNull(value, "JsonPath '" + jsonPath + "' should be null");
     }
 
     protected void validateArraySize(String jsonPath, int expectedSize) {
         UnifiedLogger.action("Validate Array Size", jsonPath + " = " + expectedSize);
-        List<Object> array = response.jsonPath().getList(jsonPath);
+        List<Object> array = json().getList(jsonPath);
         assertEquals(array.size(), expectedSize, "Array size validation for '" + jsonPath + "'");
     }
 
     protected void validateArrayContains(String jsonPath, Object expectedValue) {
-        List<Object> array = response.jsonPath().getList(jsonPath);
+        List<Object> array = json().getList(jsonPath);
         assertTrue(array.contains(expectedValue), "Array '" + jsonPath + "' should contain: " + expectedValue);
     }
 
     protected void validateFieldGreaterThan(String jsonPath, Number expectedValue) {
-        Number actualValue = response.jsonPath().get(jsonPath);
+        Number actualValue = json().get(jsonPath);
         assertGreaterThan((int) actualValue.doubleValue(), (int) expectedValue.doubleValue(), "Field '" + jsonPath + "' should be greater than " + expectedValue);
     }
 
     protected void validateFieldLessThan(String jsonPath, Number expectedValue) {
-        Number actualValue = response.jsonPath().get(jsonPath);
+        Number actualValue = json().get(jsonPath);
         assertLessThan((int) actualValue.doubleValue(), (int) expectedValue.doubleValue(), "Field '" + jsonPath + "' should be less than " + expectedValue);
     }
 
@@ -337,13 +339,21 @@ public class APIReusable {
     // ========== UTILITY METHODS ==========
     
     protected Object getJsonPathValue(String jsonPath) {
-        Object value = response.jsonPath().get(jsonPath);
+        Object value = json().get(jsonPath);
         UnifiedLogger.info("Extracted JSON path '" + jsonPath + "' value: " + value);
         return value;
     }
 
     protected List<Object> getJsonPathList(String jsonPath) {
-        return response.jsonPath().getList(jsonPath);
+        List<Object> list = json().getList(jsonPath);
+        return list == null ? null : new ArrayList<>(list); // the parsed document is shared by later assertions
+    }
+
+    /**
+     * Parsed body of the current response; parsed once however many JSON path assertions use it.
+     */
+    protected ResponseDocument json() {
+        return ResponseDocument.of(response);
     }
 
     protected String getResponseBody() {
@@ -3,12 +3,22 @@ package com.automation.reusables;
 import com.automation.core.assertions.AssertUtils;
 import com.automation.core.logging.UnifiedLogger;
 import com.automation.core.mainframe.MainFrameDriver;
+import com.automation.core.mainframe.MainframeSessionPool;
+import com.automation.core.mainframe.Screen;
+import com.automation.core.mainframe.ScreenCondition;
+
+import java.util.List;
 
 public class MainframeReusable {
 
     private static final ThreadLocal<MainFrameDriver> mainframeDriver = new ThreadLocal<>();
 
     protected MainFrameDriver getMainframeDriver() {
+        if (MainframeSessionPool.isEnabled()) {
+            // Leased once per scenario (on first use) and returned by CucumberHooks
+            MainFrameDriver leased = MainframeSessionPool.current();
+            return leased != null ? leased : MainframeSessionPool.acquire();
+        }
         if (mainframeDriver.get() == null) {
             mainframeDriver.set(new MainFrameDriver());
         }
@@ -17,12 +27,23 @@ public class MainframeReusable {
 
     protected void connectToMainframe(String sessionId) {
         UnifiedLogger.action("Connect to Mainframe", "Session ID: " + sessionId);
+        if (MainframeSessionPool.isEnabled()) {
+            // The pool connects the session on lease; "*" takes any free one
+            MainframeSessionPool.acquire(sessionId);
+            UnifiedLogger.pass("Leased pooled mainframe session: " + MainframeSessionPool.currentSessionId());
+            return;
+        }
         getMainframeDriver().connect(sessionId);
         UnifiedLogger.pass("Connected to mainframe session: " + sessionId);
     }
 
     protected void disconnectFromMainframe() {
         UnifiedLogger.action("Disconnect from Mainframe", "Closing session");
+        if (MainframeSessionPool.isEnabled()) {
+            MainframeSessionPool.release();
+            UnifiedLogger.info("Returned mainframe session to pool");
+            return;
+        }
         getMainframeDriver().disconnect();
         UnifiedLogger.info("Disconnected from mainframe");
     }
@@ -35,6 +56,36 @@ public class MainframeReusable {
     protected void pressEnter() {
         UnifiedLogger.action("Press Enter", "Submitting screen");
         getMainframeDriver().enter();
+        logScreenChanges();
+    }
+
+    protected void logScreenChanges() {
+        List<String> changes = getMainframeDriver().getScreenChanges();
+        if (!changes.isEmpty()) {
+            UnifiedLogger.info("Screen changes (" + changes.size() + " rows):\n" + String.join("\n", changes));
+        }
+    }
+
+    protected void verifyFieldAttribute(int row, int col, String attribute) {
+        Screen.Field field = getMainframeDriver().getCurrentScreen().getFieldAt(row, col);
+        if (field == null) {
+            throw new AssertionError(String.format("No field at Row: %d, Col: %d", row, col));
+        }
+        boolean matches;
+        switch (attribute.toLowerCase()) {
+            case "protected": matches = field.isProtected(); break;
+            case "unprotected":
+            case "input": matches = !field.isProtected(); break;
+            case "numeric": matches = field.isNumeric(); break;
+            case "intensified": matches = field.isIntensified(); break;
+            case "hidden": matches = field.isHidden(); break;
+            case "modified": matches = field.isModified(); break;
+            default: throw new IllegalArgumentException("Unknown field attribute: " + attribute);
+        }
+        if (!matches) {
+            throw new AssertionError(String.format("Expected %s field at Row: %d, Col: %d but was %s", attribute, row, col, field));
+        }
+        UnifiedLogger.pass(String.format("Field at Row: %d, Col: %d is %s", row, col, attribute));
     }
 
     protected void sendKeys(String keys) {
@@ -70,6 +121,28 @@ public class MainframeReusable {
         return found;
     }
 
+    protected void waitForTextAtPosition(int row, int col, String expectedText, int timeoutSeconds) {
+        UnifiedLogger.action("Wait for Text", String.format("Expected: '%s' at Row: %d, Col: %d, Timeout: %ds",
+                expectedText, row, col, timeoutSeconds));
+        boolean found = getMainframeDriver().waitFor(timeoutSeconds,
+                ScreenCondition.textAt(row, col, expectedText), ScreenCondition.keyboardUnlocked());
+        if (!found) {
+            String actual = getMainframeDriver().getText(row, col, expectedText.length());
+            throw new AssertionError(String.format("Expected '%s' at Row: %d, Col: %d within %ds but was '%s'",
+                    expectedText, row, col, timeoutSeconds, actual));
+        }
+        UnifiedLogger.pass("Text found at Row: " + row + ", Col: " + col + ": " + expectedText);
+    }
+
+    protected void waitForCursorAt(int row, int col, int timeoutSeconds) {
+        UnifiedLogger.action("Wait for Cursor", String.format("Row: %d, Col: %d, Timeout: %ds", row, col, timeoutSeconds));
+        if (!getMainframeDriver().waitFor(timeoutSeconds, ScreenCondition.cursorAt(row, col))) {
+            int[] cursor = getMainframeDriver().getCursorPosition();
+            throw new AssertionError(String.format("Expected cursor at Row: %d, Col: %d within %ds but was Row: %d, Col: %d",
+                    row, col, timeoutSeconds, cursor[0], cursor[1]));
+        }
+    }
+
     protected void verifyTextOnScreen(String expectedText) {
         String screen = getFullScreen();
         AssertUtils.assertContains(screen, expectedText, "Verify text on mainframe screen");
@@ -81,6 +154,11 @@ public class MainframeReusable {
     }
 
     protected void closeMainframeSession() {
+        if (MainframeSessionPool.isEnabled()) {
+            MainframeSessionPool.release();
+            UnifiedLogger.info("Mainframe session returned to pool");
+            return;
+        }
         if (mainframeDriver.get() != null) {
             getMainframeDriver().close();
             mainframeDriver.remove();
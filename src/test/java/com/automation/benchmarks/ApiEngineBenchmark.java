@@ -0,0 +1,141 @@
+package com.automation.benchmarks;
+
+import com.automation.core.api.APIClient;
+import com.automation.core.api.ApiConnectionPool;
+import com.automation.core.api.AsyncAPIClient;
+import com.automation.core.logging.LogManager;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Compares the blocking RestAssured engine with AsyncAPIClient on the same endpoint: throughput, latency
+ * percentiles, peak live threads and peak heap for a batch of GET requests at a fixed concurrency.
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.ApiEngineBenchmark -Dexec.args="http://localhost:8080 /health"
+ *
+ * Arguments: baseUrl endpoint [requests=10000] [concurrency=64]
+ */
+public final class ApiEngineBenchmark {
+
+    private ApiEngineBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ApiEngineBenchmark <baseUrl> <endpoint> [requests] [concurrency]");
+        }
+        String endpoint = args[1];
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        APIClient.withCustomBaseUrl(args[0]);
+
+        RequestSpecification spec = APIClient.getRequestSpec();
+        try {
+            // warm up both engines so class loading and connection setup are not measured
+            runBlocking(spec, endpoint, Math.min(requests, 200), concurrency);
+            runAsync(endpoint, Math.min(requests, 200), concurrency);
+
+            LogManager.info(runBlocking(spec, endpoint, requests, concurrency));
+            LogManager.info(runAsync(endpoint, requests, concurrency));
+        } finally {
+            ApiConnectionPool.shutdown();
+            AsyncAPIClient.shutdown();
+        }
+    }
+
+    /**
+     * concurrency platform threads, each blocking on a RestAssured request.
+     */
+    static String runBlocking(RequestSpecification spec, String endpoint, int requests, int concurrency)
+            throws Exception {
+        long[] latencies = new long[requests];
+        Probe probe = new Probe();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    Response response = RestAssured.given().spec(spec).get(endpoint);
+                    latencies[index] = System.nanoTime() - start;
+                    return response.getStatusCode();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return probe.finish("restassured", requests, concurrency, latencies);
+    }
+
+    /**
+     * At most concurrency requests in flight on AsyncAPIClient; the calling thread only issues requests.
+     */
+    static String runAsync(String endpoint, int requests, int concurrency) throws Exception {
+        long[] latencies = new long[requests];
+        Probe probe = new Probe();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long start = System.nanoTime();
+            futures[i] = AsyncAPIClient.getAsync(endpoint).whenComplete((response, error) -> {
+                latencies[index] = System.nanoTime() - start;
+                inFlight.release();
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+        return probe.finish("async", requests, concurrency, latencies);
+    }
+
+    /**
+     * Wall time, peak threads and peak heap between construction and finish().
+     */
+    private static final class Probe {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        private final long start;
+
+        Probe() {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    heapPools.add(pool);
+                }
+            }
+            threads.resetPeakThreadCount();
+            start = System.nanoTime();
+        }
+
+        String finish(String engine, int requests, int concurrency, long[] latencies) {
+            long elapsedNanos = System.nanoTime() - start;
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format("%-12s %d requests, concurrency %d: %.0f req/s, p50=%.2f ms, p99=%.2f ms, "
+                            + "peak threads=%d, peak heap=%d MB (%d KB/request)",
+                    engine, requests, concurrency, requests / (elapsedNanos / 1e9),
+                    sorted[sorted.length / 2] / 1e6, sorted[(int) Math.min(sorted.length - 1, sorted.length * 0.99)] / 1e6,
+                    threads.getPeakThreadCount(), peakHeap / (1024 * 1024), peakHeap / 1024 / requests);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.automation.benchmarks;
+
+import com.automation.core.interfaces.excel.Column;
+import com.automation.core.logging.LogManager;
+import com.automation.core.utils.ColumnMapper;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row binding cost of ColumnMapper's composed MethodHandle against the Field.set binder ExcelUtils used before. Both
+ * sides map the same pre-parsed CSV rows of six mixed columns into a DTO, so only conversion and field writes are
+ * measured. Mapped rows are folded into a checksum instead of kept, so old-generation GC does not land on one side;
+ * the sides alternate which goes first, and the median of the timed rounds is reported after the warm-up rounds.
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.ColumnMapperBenchmark -Dexec.args="300000 11"
+ *
+ * Arguments: [rows=300000] [rounds=11]
+ */
+public final class ColumnMapperBenchmark {
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final List<String> HEADERS = Arrays.asList("id", "name", "count", "amount", "active", "total");
+
+    private ColumnMapperBenchmark() {}
+
+    public static final class Row {
+        @Column("id") private String id;
+        @Column("name") private String name;
+        @Column("count") private int count;
+        @Column("amount") private double amount;
+        @Column("active") private boolean active;
+        @Column("total") private long total;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 11;
+        String[][] records = records(rows);
+        ColumnMapper.Binding<Row> binding = ColumnMapper.forClass(Row.class).bind(HEADERS);
+        ReflectionBinder reflection = new ReflectionBinder(Row.class, HEADERS);
+        long expected = mapWithReflection(reflection, records);
+        if (mapWithMethodHandles(binding, records) != expected) {
+            throw new IllegalStateException("MethodHandle and Field.set binders mapped different values");
+        }
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            mapWithMethodHandles(binding, records);
+            mapWithReflection(reflection, records);
+        }
+        long[] handleTimes = new long[rounds];
+        long[] fieldTimes = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            if (i % 2 == 0) {
+                handleTimes[i] = timed(() -> mapWithMethodHandles(binding, records));
+                fieldTimes[i] = timed(() -> mapWithReflection(reflection, records));
+            } else {
+                fieldTimes[i] = timed(() -> mapWithReflection(reflection, records));
+                handleTimes[i] = timed(() -> mapWithMethodHandles(binding, records));
+            }
+            LogManager.info(String.format("ColumnMapper round %d: %d rows, MethodHandle %d ms, Field.set %d ms (%.2fx)",
+                    i + 1, rows, handleTimes[i] / 1_000_000, fieldTimes[i] / 1_000_000,
+                    (double) fieldTimes[i] / handleTimes[i]));
+        }
+        long handles = median(handleTimes);
+        long fields = median(fieldTimes);
+        LogManager.info(String.format("ColumnMapper median of %d rounds: MethodHandle %d ms, Field.set %d ms (%.2fx)",
+                rounds, handles / 1_000_000, fields / 1_000_000, (double) fields / handles));
+    }
+
+    private interface Mapping {
+        long run() throws Exception;
+    }
+
+    private static long timed(Mapping mapping) throws Exception {
+        long start = System.nanoTime();
+        mapping.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long mapWithMethodHandles(ColumnMapper.Binding<Row> binding, String[][] records) {
+        long checksum = 0;
+        for (String[] record : records) {
+            checksum += checksum(binding.map(record));
+        }
+        return checksum;
+    }
+
+    private static long mapWithReflection(ReflectionBinder binder, String[][] records) throws Exception {
+        long checksum = 0;
+        for (String[] record : records) {
+            checksum += checksum(binder.map(record));
+        }
+        return checksum;
+    }
+
+    private static long checksum(Row row) {
+        return row.id.length() + row.name.length() + row.count + (long) row.amount + (row.active ? 1 : 0) + row.total;
+    }
+
+    private static String[][] records(int rows) {
+        String[][] records = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            records[i] = new String[]{"TC" + i, "user" + (i % 100), String.valueOf(i), (i % 1000) + ".25",
+                    String.valueOf(i % 2 == 0), String.valueOf(i * 1000L)};
+        }
+        return records;
+    }
+
+    /**
+     * The per-cell reflective binding ExcelUtils did before ColumnMapper: Field.set with a boxed converted value.
+     */
+    private static final class ReflectionBinder {
+        private final Class<Row> type;
+        private final Field[] fields;
+
+        ReflectionBinder(Class<Row> type, List<String> headers) {
+            this.type = type;
+            Map<String, Field> columnFields = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Column.class)) {
+                    field.setAccessible(true);
+                    columnFields.put(field.getAnnotation(Column.class).value(), field);
+                }
+            }
+            this.fields = new Field[headers.size()];
+            for (int i = 0; i < headers.size(); i++) {
+                fields[i] = columnFields.get(headers.get(i));
+            }
+        }
+
+        Row map(String[] values) throws Exception {
+            Row row = type.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null && values[i] != null) {
+                    fields[i].set(row, convert(values[i], fields[i].getType()));
+                }
+            }
+            return row;
+        }
+
+        private static Object convert(String value, Class<?> targetType) {
+            if (targetType == String.class) return value;
+            if (targetType == int.class) return (int) Double.parseDouble(value);
+            if (targetType == long.class) return (long) Double.parseDouble(value);
+            if (targetType == double.class) return Double.parseDouble(value);
+            if (targetType == boolean.class) return Boolean.parseBoolean(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.automation.benchmarks;
+
+import com.automation.core.logging.LogManager;
+import com.automation.core.mainframe.tn3270.StubHostScript;
+import com.automation.core.mainframe.tn3270.StubTn3270Host;
+import com.automation.core.mainframe.tn3270.Tn3270Backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Throughput of the pure Java TN3270 backend against the local stub host, per terminal model. Each session signs on
+ * (type user id, ENTER), checks the MENU screen and returns with PF3, so every transaction is two host round trips
+ * plus a screen read. Runs on Linux CI; no emulator needed.
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.MainframeStubBenchmark -Dexec.args="8 500 2,3,4,5"
+ *
+ * Arguments: [sessions=8] [transactions per session=500] [models=2,3,4,5]
+ */
+public final class MainframeStubBenchmark {
+    private static final String SCRIPT = "mainframe/stub-benchmark.txt";
+
+    private MainframeStubBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int transactions = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        String models = args.length > 2 ? args[2] : "2,3,4,5";
+        StubHostScript script = StubHostScript.load(SCRIPT);
+        for (String model : models.split(",")) {
+            try (StubTn3270Host host = new StubTn3270Host(script, 0, Integer.parseInt(model.trim()))) {
+                run(host, Integer.parseInt(model.trim()), sessions, Math.min(transactions, 50)); // warm-up
+                LogManager.info(run(host, Integer.parseInt(model.trim()), sessions, transactions));
+            }
+        }
+    }
+
+    static String run(StubTn3270Host host, int model, int sessions, int transactions) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        try {
+            List<Callable<long[]>> tasks = new ArrayList<>();
+            for (int s = 0; s < sessions; s++) {
+                tasks.add(() -> session(host.getPort(), model, transactions));
+            }
+            long start = System.nanoTime();
+            List<long[]> latencies = new ArrayList<>();
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                latencies.add(future.get());
+            }
+            long elapsed = System.nanoTime() - start;
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return String.format("TN3270 model %d: %d sessions x %d transactions in %d ms, %.0f tx/s,"
+                            + " p50 %.2f ms, p99 %.2f ms", model, sessions, transactions, elapsed / 1_000_000,
+                    all.length * 1e9 / elapsed, percentile(all, 50), percentile(all, 99));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] session(int port, int model, int transactions) {
+        Tn3270Backend backend = new Tn3270Backend("localhost", port, model);
+        long[] latencies = new long[transactions];
+        backend.connect("A");
+        try {
+            backend.waitForUnlock();
+            for (int i = 0; i < transactions; i++) {
+                long start = System.nanoTime();
+                backend.sendKeys("USER" + (i % 100) + "@E");
+                backend.waitForUnlock();
+                if (!backend.isTextAt(1, 30, "MAIN MENU")) {
+                    throw new IllegalStateException("Expected MAIN MENU, got:\n" + backend.getScreenText());
+                }
+                backend.sendKeys("@3");
+                backend.waitForUnlock();
+                latencies[i] = System.nanoTime() - start;
+            }
+        } finally {
+            backend.disconnect();
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
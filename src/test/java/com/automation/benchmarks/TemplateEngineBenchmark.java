@@ -0,0 +1,98 @@
+package com.automation.benchmarks;
+
+import com.automation.core.context.ScenarioContext;
+import com.automation.core.context.TemplateEngine;
+import com.automation.core.logging.LogManager;
+
+import java.util.Map;
+
+/**
+ * ${variable} rendering of a JSON request body through TemplateEngine against the per-key String.replace loop the
+ * step classes used before. The loop is the variant without the per-replacement info log, so the gap shown is a lower
+ * bound. Both sides render the same body from the same ScenarioContext; each round is timed after the warm-up rounds.
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.TemplateEngineBenchmark -Dexec.args="200 50 20000 5"
+ *
+ * Arguments: [context keys=200] [placeholders in body=50] [renders per round=20000] [rounds=5]
+ */
+public final class TemplateEngineBenchmark {
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private TemplateEngineBenchmark() {}
+
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int placeholders = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int renders = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        for (int i = 0; i < keys; i++) {
+            ScenarioContext.set("var" + i, "value-" + i);
+        }
+        String body = body(keys, placeholders);
+        String expected = replaceLoop(body);
+        if (!expected.equals(TemplateEngine.render(body))) {
+            throw new IllegalStateException("TemplateEngine and the replace loop render the body differently");
+        }
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            renderWithEngine(body, renders);
+            renderWithReplaceLoop(body, renders);
+        }
+        for (int i = 1; i <= rounds; i++) {
+            long engine = renderWithEngine(body, renders);
+            long loop = renderWithReplaceLoop(body, renders);
+            LogManager.info(String.format("TemplateEngine round %d: %d renders of %d chars (%d placeholders, %d keys),"
+                            + " engine %d ms, replace loop %d ms (%.2fx)", i, renders, body.length(), placeholders,
+                    keys, engine / 1_000_000, loop / 1_000_000, (double) loop / engine));
+        }
+        ScenarioContext.clear();
+    }
+
+    private static long renderWithEngine(String body, int renders) {
+        long start = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < renders; i++) {
+            length += TemplateEngine.render(body).length();
+        }
+        return check(length, System.nanoTime() - start);
+    }
+
+    private static long renderWithReplaceLoop(String body, int renders) {
+        long start = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < renders; i++) {
+            length += replaceLoop(body).length();
+        }
+        return check(length, System.nanoTime() - start);
+    }
+
+    private static long check(int length, long elapsed) {
+        if (length <= 0) {
+            throw new IllegalStateException("Nothing rendered");
+        }
+        return elapsed;
+    }
+
+    /**
+     * The replaceVariables() the step classes had before TemplateEngine.
+     */
+    private static String replaceLoop(String text) {
+        String result = text;
+        for (Map.Entry<String, Object> entry : ScenarioContext.getAll().entrySet()) {
+            String placeholder = "${" + entry.getKey() + "}";
+            if (result.contains(placeholder)) {
+                result = result.replace(placeholder, String.valueOf(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static String body(int keys, int placeholders) {
+        StringBuilder body = new StringBuilder("{\n");
+        for (int i = 0; i < placeholders; i++) {
+            body.append("  \"field").append(i).append("\": \"${var").append((i * 7) % keys).append("}\",\n");
+        }
+        return body.append("  \"static\": \"no placeholders here\"\n}").toString();
+    }
+}
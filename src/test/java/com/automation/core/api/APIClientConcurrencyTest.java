@@ -0,0 +1,138 @@
+package com.automation.core.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test for APIClient's per-thread state: many threads alternate between two services at once, each with its
+ * own headers, basic auth and query params, and every response must echo exactly that thread's values.
+ */
+public class APIClientConcurrencyTest {
+    private static final int THREADS = 48;
+    private static final int REQUESTS_PER_THREAD = 25;
+
+    private HttpServer serviceA;
+    private HttpServer serviceB;
+    private final List<ExecutorService> serverExecutors = new ArrayList<>();
+
+    @BeforeClass
+    public void startServices() throws IOException {
+        serviceA = startEchoServer("A");
+        serviceB = startEchoServer("B");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServices() {
+        serviceA.stop(0);
+        serviceB.stop(0);
+        serverExecutors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    public void perThreadRequestsDoNotLeakBetweenThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int id = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    runClient(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void runClient(int id) {
+        String user = "user" + id;
+        try {
+            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                boolean useA = (id + i) % 2 == 0;
+                String expectedServer = useA ? "A" : "B";
+                APIClient.withCustomBaseUrl(baseUrl(useA ? serviceA : serviceB));
+                APIClient.setHeader("X-Client", user);
+                APIClient.getRequestSpec().auth().preemptive().basic(user, "secret" + id);
+
+                Response response = APIClient.get("/echo", Map.of("q", user + "-" + i));
+                assertEcho(response, expectedServer, user, "q=" + user + "-" + i);
+
+                // Query params are per request: the next request of the same thread must not carry them.
+                assertEcho(APIClient.get("/echo"), expectedServer, user, "");
+            }
+        } finally {
+            APIClient.clearRequestSpec();
+        }
+    }
+
+    private static void assertEcho(Response response, String server, String user, String query) {
+        Assert.assertEquals(response.getStatusCode(), 200);
+        Assert.assertEquals(response.jsonPath().getString("server"), server, "base URL leaked for " + user);
+        Assert.assertEquals(response.jsonPath().getString("client"), user, "header leaked for " + user);
+        Assert.assertEquals(response.jsonPath().getString("auth"), basic(user), "auth leaked for " + user);
+        Assert.assertEquals(response.jsonPath().getString("query"), query, "query leaked for " + user);
+    }
+
+    private static String basic(String user) {
+        String password = "secret" + user.substring("user".length());
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String baseUrl(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private HttpServer startEchoServer(String name) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        serverExecutors.add(executor);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> echo(exchange, name));
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    private static void echo(HttpExchange exchange, String name) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String body = "{\"server\":\"" + name + "\""
+                + ",\"client\":\"" + valueOf(exchange.getRequestHeaders().getFirst("X-Client")) + "\""
+                + ",\"auth\":\"" + valueOf(exchange.getRequestHeaders().getFirst("Authorization")) + "\""
+                + ",\"query\":\"" + valueOf(query) + "\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String valueOf(String value) {
+        return value == null ? "" : value;
+    }
+}
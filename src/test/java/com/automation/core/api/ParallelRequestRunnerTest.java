@@ -0,0 +1,131 @@
+package com.automation.core.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans requests out through ParallelRequestRunner after setting headers and auth on the calling thread's APIClient
+ * spec; every worker request must reach the server with exactly those values next to its own row headers.
+ */
+public class ParallelRequestRunnerTest {
+    private static final int REQUESTS = 40;
+    private static final int CONCURRENCY = 8;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", ParallelRequestRunnerTest::echo);
+        server.createContext("/challenge", exchange -> {
+            if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+                exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"test\"");
+                exchange.sendResponseHeaders(401, 0);
+                exchange.getResponseBody().close();
+            } else {
+                echo(exchange);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void clearClient() {
+        APIClient.clearRequestSpec();
+    }
+
+    @Test
+    public void callerHeadersAndPreemptiveAuthReachEveryRequest() {
+        APIClient.withCustomBaseUrl(baseUrl());
+        APIClient.setHeader("X-Client", "caller");
+        APIClient.getRequestSpec().auth().preemptive().basic("caller", "secret");
+
+        ParallelRequestRunner.Result result = ParallelRequestRunner.execute(requests("/echo"), CONCURRENCY);
+
+        for (int i = 0; i < result.size(); i++) {
+            assertEcho(result, i);
+        }
+    }
+
+    @Test
+    public void callerChallengedAuthReachesEveryRequest() {
+        APIClient.withCustomBaseUrl(baseUrl());
+        APIClient.setHeader("X-Client", "caller");
+        APIClient.getRequestSpec().auth().basic("caller", "secret");
+
+        ParallelRequestRunner.Result result = ParallelRequestRunner.execute(requests("/challenge"), CONCURRENCY);
+
+        for (int i = 0; i < result.size(); i++) {
+            assertEcho(result, i);
+        }
+    }
+
+    private static List<ParallelRequestRunner.Request> requests(String endpoint) {
+        List<ParallelRequestRunner.Request> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new ParallelRequestRunner.Request("GET", endpoint).header("X-Row", String.valueOf(i)));
+        }
+        return requests;
+    }
+
+    private static void assertEcho(ParallelRequestRunner.Result result, int index) {
+        Assert.assertNull(result.getError(index), "request " + index + " failed");
+        Response response = result.getResponse(index);
+        Assert.assertEquals(response.getStatusCode(), 200, "status of request " + index);
+        Assert.assertEquals(response.jsonPath().getString("client"), "caller", "caller header of request " + index);
+        Assert.assertEquals(response.jsonPath().getInt("clientCount"), 1, "caller header sent twice on " + index);
+        Assert.assertEquals(response.jsonPath().getString("auth"), basic(), "auth of request " + index);
+        Assert.assertEquals(response.jsonPath().getString("row"), String.valueOf(index), "row header of " + index);
+    }
+
+    private static String basic() {
+        return "Basic " + Base64.getEncoder().encodeToString("caller:secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void echo(HttpExchange exchange) throws IOException {
+        List<String> clients = exchange.getRequestHeaders().get("X-Client");
+        String body = "{\"client\":\"" + (clients == null ? "" : clients.get(0)) + "\""
+                + ",\"clientCount\":" + (clients == null ? 0 : clients.size())
+                + ",\"auth\":\"" + valueOf(exchange.getRequestHeaders().getFirst("Authorization")) + "\""
+                + ",\"row\":\"" + valueOf(exchange.getRequestHeaders().getFirst("X-Row")) + "\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String valueOf(String value) {
+        return value == null ? "" : value;
+    }
+}
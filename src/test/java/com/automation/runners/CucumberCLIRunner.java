@@ -1,5 +1,6 @@
 package com.automation.runners;
 
+import com.automation.core.load.LoadRunner;
 import io.cucumber.core.cli.Main;
 
 import java.io.InputStream;
@@ -28,9 +29,25 @@ public class CucumberCLIRunner {
             addFeaturePath(baseArgs);
         
         String[] finalArgs = args.length > 0 ? args : defaultArgs;
+        if (LoadRunner.isEnabled()) {
+            // -Dload.mode=true: repeat the selected scenarios as a load test (see LoadRunner / LoadProfile)
+            runLoad(finalArgs);
+            return;
+        }
         Main.main(finalArgs);
     }
     
+    /**
+     * Runs the load test and returns to the caller; failed iterations surface as an exception instead of ending the JVM.
+     */
+    private static void runLoad(String[] args) {
+        int status = LoadRunner.run(args);
+        if (status != 0) {
+            throw new IllegalStateException("Load run finished with failed iterations (exit status " + status
+                    + "); see the load report");
+        }
+    }
+
     private static String getThreadCount() {
         String systemProperty = System.getProperty("thread_count");
         if (systemProperty != null) {